@@ -1,17 +1,26 @@
 package com.example.evstation.api.ev_user_mobile.controller;
 
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilityRangeRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilityRangeResponseDTO;
 import com.example.evstation.api.ev_user_mobile.dto.AvailabilityResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.NextFreeSlotRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.NextFreeSlotResponseDTO;
 import com.example.evstation.booking.application.AvailabilityService;
+import com.example.evstation.booking.application.AvailabilityStreamService;
+import com.example.evstation.booking.application.NextFreeSlotService;
 import com.example.evstation.station.domain.PowerType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,6 +35,8 @@ import java.util.UUID;
 public class AvailabilityController {
     
     private final AvailabilityService availabilityService;
+    private final NextFreeSlotService nextFreeSlotService;
+    private final AvailabilityStreamService availabilityStreamService;
     
     @Operation(
         summary = "Get availability for a station",
@@ -58,5 +69,46 @@ public class AvailabilityController {
                 stationId, date, tz, slotMinutes, powerType, minPowerKw);
         return ResponseEntity.ok(response);
     }
+    
+    @Operation(
+        summary = "Stream availability changes of a station",
+        description = "Server-Sent Events: a \"slots\" event per booking change at the station, telling that " +
+                "the unit's slots overlapping [startTime, endTime) are now AVAILABLE, HELD or BOOKED. " +
+                "Open the stream first, then load the availability grid and apply events to it."
+    )
+    @GetMapping(value = "/{stationId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(
+            @Parameter(description = "Station ID", required = true)
+            @PathVariable UUID stationId) {
+        
+        return availabilityStreamService.subscribe(stationId);
+    }
+    
+    @Operation(
+        summary = "Get availability for several stations over a date range",
+        description = "Slot availability matrices of up to 20 stations for up to 14 days in one call, " +
+                "per station (request order) then per date. IDs that are not found or not published " +
+                "are listed in notFoundStationIds."
+    )
+    @PostMapping("/availability/range")
+    public ResponseEntity<AvailabilityRangeResponseDTO> getAvailabilityRange(
+            @RequestBody @Valid AvailabilityRangeRequestDTO request) {
+        
+        AvailabilityRangeResponseDTO response = availabilityService.getAvailabilityRange(request);
+        return ResponseEntity.ok(response);
+    }
+    
+    @Operation(
+        summary = "Find the earliest free slots near a location",
+        description = "Earliest bookable slot of the requested duration at each station within the radius " +
+                "(default 10 km), on active units matching the power filter. Returns the best stations " +
+                "(default 5) by start time, then distance, searching up to horizonHours (default 24) ahead."
+    )
+    @PostMapping("/availability/next-free")
+    public ResponseEntity<NextFreeSlotResponseDTO> findNextFreeSlots(
+            @RequestBody @Valid NextFreeSlotRequestDTO request) {
+        
+        NextFreeSlotResponseDTO response = nextFreeSlotService.findNextFreeSlots(request);
+        return ResponseEntity.ok(response);
+    }
 }
-
@@ -2,28 +2,61 @@ package com.example.evstation.api.ev_user_mobile.controller;
 
 import com.example.evstation.api.ev_user_mobile.dto.RecommendationRequestDTO;
 import com.example.evstation.api.ev_user_mobile.dto.RecommendationResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.RouteRecommendationRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.RouteRecommendationResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationBulkRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationBulkResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationChangesResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationClusterResponseDTO;
 import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
 import com.example.evstation.api.ev_user_mobile.dto.StationListItemDTO;
+import com.example.evstation.api.ev_user_mobile.dto.TripPlanRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.TripPlanResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.VehicleProfileDTO;
+import com.example.evstation.common.web.CursorPaginationResponse;
+import com.example.evstation.common.web.ETags;
 import com.example.evstation.common.web.PaginationRequest;
 import com.example.evstation.common.web.PaginationResponse;
 import com.example.evstation.station.application.RecommendationQueryService;
+import com.example.evstation.station.application.StationChangeFeedService;
+import com.example.evstation.station.application.StationETags;
+import com.example.evstation.station.application.StationSnapshotService;
 import com.example.evstation.station.application.StationQueryService;
+import com.example.evstation.station.application.StationTileService;
+import com.example.evstation.station.application.TripPlannerService;
+import com.example.evstation.station.application.port.StationDetailVersion;
+import com.example.evstation.station.application.port.StationVersionStamp;
+import com.example.evstation.station.infrastructure.snapshot.StationSnapshotFile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -35,6 +68,12 @@ public class EvUserMobileController {
     
     private final StationQueryService stationQueryService;
     private final RecommendationQueryService recommendationQueryService;
+    private final StationTileService stationTileService;
+    private final StationChangeFeedService stationChangeFeedService;
+    private final StationSnapshotService stationSnapshotService;
+    private final TripPlannerService tripPlannerService;
+
+    private static final MediaType MVT_MEDIA_TYPE = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
 
     @Operation(
         summary = "Search published stations within radius",
@@ -58,13 +97,126 @@ public class EvUserMobileController {
             @Parameter(description = "Filter stations that have AC ports")
             @RequestParam(required = false) Boolean hasAC,
             
-            PaginationRequest pagination) {
+            PaginationRequest pagination,
+            
+            @Parameter(description = "ETag of a previously received page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
-        Page<StationListItemDTO> page = stationQueryService.findStationsWithinRadius(
+        Page<StationVersionStamp> stamps = stationQueryService.findStationStampsWithinRadius(
                 lat, lng, radiusKm, minPowerKw, hasAC, pagination.toPageable()
         );
         
-        return ResponseEntity.ok(PaginationResponse.fromPage(page));
+        String etag = StationETags.forPage(stamps);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        
+        Page<StationListItemDTO> page = stationQueryService.loadStationListItems(stamps);
+        return ResponseEntity.ok().eTag(etag).body(PaginationResponse.fromPage(page));
+    }
+
+    @Operation(
+        summary = "Scroll published stations within radius (cursor pagination)",
+        description = "Same filters as /stations, ordered by distance. Pass nextCursor from the previous response to get the next page. " +
+                "Total count is only computed on the first page when withTotal=true."
+    )
+    @GetMapping("/stations/nearby")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<CursorPaginationResponse<StationListItemDTO>> scrollStations(
+            @Parameter(description = "Latitude", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "-90") @DecimalMax(value = "90") Double lat,
+            
+            @Parameter(description = "Longitude", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "-180") @DecimalMax(value = "180") Double lng,
+            
+            @Parameter(description = "Radius in kilometers", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "0.1") @DecimalMax(value = "100") Double radiusKm,
+            
+            @Parameter(description = "Minimum power in kW (DC ports only)")
+            @RequestParam(required = false) BigDecimal minPowerKw,
+            
+            @Parameter(description = "Filter stations that have AC ports")
+            @RequestParam(required = false) Boolean hasAC,
+            
+            @Parameter(description = "Cursor from the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            
+            @Parameter(description = "Page size (default: 20)")
+            @RequestParam(required = false, defaultValue = "20") @Min(1) @Max(100) Integer size,
+            
+            @Parameter(description = "Include total count (first page only)")
+            @RequestParam(required = false, defaultValue = "false") Boolean withTotal,
+            
+            @Parameter(description = "ETag of a previously received page")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        
+        CursorPaginationResponse<StationVersionStamp> stamps = stationQueryService.findStationStampsWithinRadiusAfter(
+                lat, lng, radiusKm, minPowerKw, hasAC, cursor, size, withTotal
+        );
+        
+        String etag = StationETags.forCursorPage(stamps);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        
+        return ResponseEntity.ok().eTag(etag).body(stationQueryService.loadStationListItems(stamps));
+    }
+
+    @Operation(
+        summary = "Get station clusters for a map viewport",
+        description = "Published stations in the bounding box aggregated into grid clusters for the zoom level " +
+                "(count, centroid, max DC power, total ports). Clusters with a single station carry its stationId. " +
+                "A box with minLng > maxLng crosses the antimeridian."
+    )
+    @GetMapping("/stations/clusters")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<StationClusterResponseDTO> getStationClusters(
+            @Parameter(description = "South edge latitude", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "-90") @DecimalMax(value = "90") Double minLat,
+            
+            @Parameter(description = "West edge longitude", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "-180") @DecimalMax(value = "180") Double minLng,
+            
+            @Parameter(description = "North edge latitude", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "-90") @DecimalMax(value = "90") Double maxLat,
+            
+            @Parameter(description = "East edge longitude", required = true)
+            @RequestParam @NotNull @DecimalMin(value = "-180") @DecimalMax(value = "180") Double maxLng,
+            
+            @Parameter(description = "Map zoom level (levels above 18 are served from level 18)", required = true)
+            @RequestParam @NotNull @Min(0) @Max(22) Integer zoom) {
+        
+        StationClusterResponseDTO response = stationQueryService.findStationClusters(
+                minLat, minLng, maxLat, maxLng, zoom
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get station vector tile",
+        description = "Mapbox Vector Tile (layer \"stations\") of published stations for tile z/x/y. " +
+                "Attributes: station_id, name, total_ports, max_power_kw, power_class (AC, DC, FAST, ULTRA), " +
+                "trust_band (LOW, MEDIUM, HIGH). An empty body means no stations in the tile."
+    )
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.mvt", produces = "application/vnd.mapbox-vector-tile")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<byte[]> getStationTile(
+            @Parameter(description = "Zoom level (0-22)", required = true)
+            @PathVariable int z,
+            
+            @Parameter(description = "Tile column", required = true)
+            @PathVariable int x,
+            
+            @Parameter(description = "Tile row (XYZ scheme, 0 = north)", required = true)
+            @PathVariable int y) {
+        
+        byte[] tile = stationTileService.getTile(z, x, y);
+        
+        return ResponseEntity.ok()
+                .contentType(MVT_MEDIA_TYPE)
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate())
+                .body(tile);
     }
 
     @Operation(
@@ -75,7 +227,10 @@ public class EvUserMobileController {
     @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
     public ResponseEntity<StationDetailDTO> getStationDetail(
             @Parameter(description = "Station ID", required = true)
-            @PathVariable UUID stationId) {
+            @PathVariable UUID stationId,
+            
+            @Parameter(description = "ETag of a previously received detail")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         // Debug logging
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -86,14 +241,101 @@ public class EvUserMobileController {
             log.warn("getStationDetail: stationId={}, authentication is null", stationId);
         }
         
-        return stationQueryService.findStationDetail(stationId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        // Tag the body with the version it was read from (cached with the detail)
+        Optional<StationDetailVersion> version = stationQueryService.findStationDetail(stationId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        String etag = StationETags.forStation(version.get().stamp());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(version.get().detail());
+    }
+
+    @Operation(
+        summary = "Get published station details in bulk",
+        description = "Details of up to 100 stations (e.g. favourites, recently viewed) in one call, in request order. " +
+                "IDs that are not found or not published are listed in notFoundStationIds."
+    )
+    @PostMapping("/stations/bulk")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<StationBulkResponseDTO> getStationDetailsBulk(
+            @RequestBody @jakarta.validation.Valid StationBulkRequestDTO request) {
+        
+        StationBulkResponseDTO response = stationQueryService.findStationDetails(request.getStationIds());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Get station changes since a sync token (delta sync)",
+        description = "Stations published, changed, trust-updated or removed since the given token, in commit order. " +
+                "Start with since=0 to get the whole catalog. Apply upserted and removedStationIds, then call again " +
+                "with syncToken; repeat immediately while hasMore is true."
+    )
+    @GetMapping("/stations/changes")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<StationChangesResponseDTO> getStationChanges(
+            @Parameter(description = "Sync token from the previous response (0 for a full sync)")
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Long since,
+            
+            @Parameter(description = "Maximum number of change entries to read (default: 500)")
+            @RequestParam(required = false, defaultValue = "500") @Min(1) @Max(1000) Integer limit) {
+        
+        StationChangesResponseDTO response = stationChangeFeedService.getChanges(since, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Download the full station catalog snapshot",
+        description = "Gzip-compressed binary snapshot of all published stations (ids, coordinates, port summaries, " +
+                "trust, name, address) for offline bootstrap. Supports Range requests to resume downloads " +
+                "(with If-Range: a different snapshot is returned whole with 200) and If-None-Match. " +
+                "X-Sync-Token holds the change-feed token to continue with /stations/changes?since=."
+    )
+    @GetMapping("/stations/snapshot")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<Resource> getStationSnapshot(
+            @Parameter(description = "ETag of a previously downloaded snapshot")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            
+            @Parameter(description = "ETag of the partially downloaded snapshot being resumed")
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange) throws IOException {
+        
+        Optional<StationSnapshotFile> snapshot = stationSnapshotService.getCurrentSnapshot();
+        if (snapshot.isEmpty()) {
+            // Not built yet (startup)
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        
+        StationSnapshotFile file = snapshot.get();
+        if (ETags.matches(ifNoneMatch, file.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(file.etag()).build();
+        }
+        
+        // Streamed from disk; Spring answers Range requests on Resource bodies with 206. When the
+        // client resumes a different snapshot, the body goes out as an InputStreamResource, which
+        // Spring never slices, so the client gets the whole new snapshot with 200
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .eTag(file.etag())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header("X-Sync-Token", Long.toString(file.syncToken()));
+        if (!ETags.rangeApplies(ifRange, file.etag())) {
+            return response
+                    .contentLength(file.sizeBytes())
+                    .body(new InputStreamResource(Files.newInputStream(file.path())));
+        }
+        return response.body(new FileSystemResource(file.path()));
     }
 
     @Operation(
         summary = "Search published stations by name",
-        description = "Search published charging stations by name (case-insensitive, partial match). Only returns PUBLISHED versions."
+        description = "Search published charging stations by name or address (case- and accent-insensitive, partial match). " +
+                "Ranked by name similarity, then by distance when lat/lng are given. Only returns PUBLISHED versions."
     )
     @GetMapping("/stations/search/by-name")
     @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
@@ -101,10 +343,16 @@ public class EvUserMobileController {
             @Parameter(description = "Search query for station name", required = true)
             @RequestParam @NotNull String name,
             
+            @Parameter(description = "User latitude (optional, used to rank equally similar results by distance)")
+            @RequestParam(required = false) @DecimalMin(value = "-90") @DecimalMax(value = "90") Double lat,
+            
+            @Parameter(description = "User longitude (optional, used to rank equally similar results by distance)")
+            @RequestParam(required = false) @DecimalMin(value = "-180") @DecimalMax(value = "180") Double lng,
+            
             PaginationRequest pagination) {
         
         Page<StationListItemDTO> page = stationQueryService.searchStationsByName(
-                name, pagination.toPageable()
+                name, lat, lng, pagination.toPageable()
         );
         
         return ResponseEntity.ok(PaginationResponse.fromPage(page));
@@ -122,5 +370,42 @@ public class EvUserMobileController {
         RecommendationResponseDTO response = recommendationQueryService.getRecommendations(request);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+        summary = "Get station recommendations along a route",
+        description = "Reachable stations within corridorKm of the route polyline (first point = current location), " +
+                "ranked by detour plus charge time from the arrival state of charge to the target level."
+    )
+    @PostMapping("/stations/recommendations/route")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<RouteRecommendationResponseDTO> getRouteRecommendations(
+            @RequestBody @jakarta.validation.Valid RouteRecommendationRequestDTO request) {
+        
+        RouteRecommendationResponseDTO response = recommendationQueryService.getRouteRecommendations(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Plan a multi-stop trip",
+        description = "Charging stops between origin and destination minimizing total drive + charge time over the " +
+                "published DC station graph. Every arrival keeps reservePercent; stops charge at most to maxChargePercent."
+    )
+    @PostMapping("/trips/plan")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<TripPlanResponseDTO> planTrip(
+            @RequestBody @jakarta.validation.Valid TripPlanRequestDTO request) {
+        
+        return ResponseEntity.ok(tripPlannerService.planTrip(request));
+    }
+
+    @Operation(
+        summary = "List vehicle profiles",
+        description = "Vehicle models with charge curves. Pass an id as vehicleProfileId in recommendation requests."
+    )
+    @GetMapping("/vehicle-profiles")
+    @PreAuthorize("hasRole('EV_USER') or hasRole('PROVIDER')")
+    public ResponseEntity<List<VehicleProfileDTO>> getVehicleProfiles() {
+        return ResponseEntity.ok(recommendationQueryService.findVehicleProfiles());
+    }
 }
 
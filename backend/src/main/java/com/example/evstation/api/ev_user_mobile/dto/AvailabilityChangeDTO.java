@@ -0,0 +1,26 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Slot diff pushed on the availability stream: every slot of the unit overlapping
+ * [startTime, endTime) now has the given status
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityChangeDTO {
+    private UUID stationId;
+    private UUID chargerUnitId;
+    private Instant startTime;
+    private Instant endTime;
+    private String status; // AVAILABLE, HELD, BOOKED
+    private Instant holdExpiresAt; // HELD only: the slots turn AVAILABLE at this time unless confirmed
+}
@@ -0,0 +1,35 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import com.example.evstation.station.domain.PowerType;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class AvailabilityRangeRequestDTO {
+    
+    @NotEmpty(message = "Station IDs are required")
+    @Size(max = 20, message = "At most 20 station IDs per request")
+    private List<@NotNull UUID> stationIds;
+    
+    @NotNull(message = "fromDate is required")
+    private LocalDate fromDate;
+    
+    @NotNull(message = "toDate is required")
+    private LocalDate toDate; // inclusive
+    
+    private String tz; // default Asia/Bangkok
+    
+    @Min(value = 5, message = "Slot duration must be >= 5 minutes")
+    @Max(value = 240, message = "Slot duration must be <= 240 minutes")
+    private Integer slotMinutes; // default 30
+    
+    private PowerType powerType;
+    
+    @Positive(message = "Minimum power must be positive")
+    private BigDecimal minPowerKw;
+}
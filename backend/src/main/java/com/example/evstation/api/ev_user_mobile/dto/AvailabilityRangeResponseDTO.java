@@ -0,0 +1,16 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class AvailabilityRangeResponseDTO {
+    private String fromDate; // YYYY-MM-DD
+    private String toDate; // YYYY-MM-DD, inclusive
+    private List<AvailabilityResponseDTO> results; // per station (request order), then per date
+    private List<UUID> notFoundStationIds; // not found or not published
+}
@@ -0,0 +1,46 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import com.example.evstation.station.domain.PowerType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+public class NextFreeSlotRequestDTO {
+    
+    @NotNull(message = "Current location is required")
+    @Valid
+    private RecommendationRequestDTO.LocationDTO currentLocation;
+    
+    @Positive(message = "Radius must be positive")
+    @Max(value = 50, message = "Radius must be <= 50 km")
+    private Double radiusKm; // default 10
+    
+    private PowerType powerType;
+    
+    @Positive(message = "Minimum power must be positive")
+    private BigDecimal minPowerKw;
+    
+    @Min(value = 15, message = "Duration must be >= 15 minutes")
+    @Max(value = 240, message = "Duration must be <= 240 minutes")
+    private Integer durationMinutes; // default 30
+    
+    private Instant earliestStart; // default now; never earlier than the booking lead time
+    
+    @Min(value = 1, message = "Horizon must be >= 1 hour")
+    @Max(value = 72, message = "Horizon must be <= 72 hours")
+    private Integer horizonHours; // default 24, counted from earliestStart
+    
+    @Min(value = 5, message = "Slot step must be >= 5 minutes")
+    @Max(value = 60, message = "Slot step must be <= 60 minutes")
+    private Integer slotMinutes; // default 15: start times are aligned to this step from local midnight
+    
+    private String tz; // default Asia/Bangkok
+    
+    @Min(value = 1, message = "Limit must be >= 1")
+    @Max(value = 20, message = "Limit must be <= 20")
+    private Integer limit; // default 5
+}
@@ -0,0 +1,30 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class NextFreeSlotResponseDTO {
+    private Instant searchedFrom; // first start time considered
+    private Instant searchedUntil; // slots end at or before this
+    private List<NextFreeSlotDTO> results; // by start time, then distance; at most one per station
+    
+    @Data
+    @Builder
+    public static class NextFreeSlotDTO {
+        private UUID stationId;
+        private String name;
+        private String address;
+        private Double lat;
+        private Double lng;
+        private Double distanceKm; // great-circle
+        private ChargerUnitDTO chargerUnit;
+        private Instant startTime;
+        private Instant endTime;
+    }
+}
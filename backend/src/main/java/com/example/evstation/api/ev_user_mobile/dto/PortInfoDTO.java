@@ -1,12 +1,16 @@
 package com.example.evstation.api.ev_user_mobile.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PortInfoDTO {
     private String powerType; // DC or AC
     private BigDecimal powerKw; // null for AC
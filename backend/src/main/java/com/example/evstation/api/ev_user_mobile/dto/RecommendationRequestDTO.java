@@ -31,8 +31,16 @@ public class RecommendationRequestDTO {
     private Double consumptionKwhPerKm; // default 0.18
     private Double averageSpeedKmph; // default 30
     private Double vehicleMaxChargeKw; // default 120
+    
+    @Min(value = 1, message = "Limit must be >= 1")
+    @Max(value = 50, message = "Limit must be <= 50")
     private Integer limit; // default 10
     
+    @Size(max = 64, message = "Vehicle profile id must be <= 64 characters")
+    private String vehicleProfileId; // optional: charge curve of the model instead of the flat model
+    
+    private Boolean penalizeUnavailable; // default false: rank stations with no free matching unit at arrival lower
+    
     @Data
     public static class LocationDTO {
         @NotNull(message = "Latitude is required")
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -23,6 +24,7 @@ public class RecommendationResponseDTO {
         private Double consumptionKwhPerKm;
         private Double averageSpeedKmph;
         private Double vehicleMaxChargeKw;
+        private String vehicleProfileId;
         private Integer limit;
         
         @Data
@@ -44,6 +46,7 @@ public class RecommendationResponseDTO {
         private Integer trustScore;
         private ChosenPortDTO chosenPort;
         private EstimateDTO estimate;
+        private AvailabilityDTO availability;
         private List<String> explain;
         private ChargingSummaryDTO chargingSummary;
         
@@ -55,6 +58,15 @@ public class RecommendationResponseDTO {
             private Double assumedEffectiveKw;
         }
         
+        @Data
+        @Builder
+        public static class AvailabilityDTO {
+            private Instant arrivalTime; // now + travel
+            private String powerType; // of the chosen port
+            private Integer totalUnits; // active units of that type, null if the station has none bookable
+            private Integer freeUnits; // without a booking/hold overlapping the arrival + charge window
+        }
+        
         @Data
         @Builder
         public static class EstimateDTO {
@@ -0,0 +1,48 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RouteRecommendationRequestDTO {
+    
+    @NotNull(message = "Route is required")
+    @Size(min = 2, max = 2000, message = "Route must have between 2 and 2000 points")
+    @Valid
+    private List<RecommendationRequestDTO.@NotNull LocationDTO> route; // starts at the current location
+    
+    @Positive(message = "Corridor must be positive")
+    @Max(value = 50, message = "Corridor must be <= 50 km")
+    private Double corridorKm; // default 5
+    
+    @NotNull(message = "Battery percent is required")
+    @Min(value = 0, message = "Battery percent must be >= 0")
+    @Max(value = 100, message = "Battery percent must be <= 100")
+    private Integer batteryPercent;
+    
+    @NotNull(message = "Battery capacity is required")
+    @Positive(message = "Battery capacity must be positive")
+    private Double batteryCapacityKwh;
+    
+    @Min(value = 0, message = "Target percent must be >= 0")
+    @Max(value = 100, message = "Target percent must be <= 100")
+    private Integer targetPercent; // default 80
+    
+    @Min(value = 0, message = "Reserve percent must be >= 0")
+    @Max(value = 50, message = "Reserve percent must be <= 50")
+    private Integer reservePercent; // default 10: minimum state of charge on arrival
+    
+    private Double consumptionKwhPerKm; // default 0.18
+    private Double averageSpeedKmph; // default 30
+    private Double vehicleMaxChargeKw; // default 120
+    
+    @Size(max = 64, message = "Vehicle profile id must be <= 64 characters")
+    private String vehicleProfileId; // optional: charge curve of the model instead of the flat model
+    
+    @Min(value = 1, message = "Limit must be >= 1")
+    @Max(value = 50, message = "Limit must be <= 50")
+    private Integer limit; // default 10
+}
@@ -0,0 +1,57 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class RouteRecommendationResponseDTO {
+    private RouteInputDTO input;
+    private Double routeKm;
+    private List<RouteRecommendationResultDTO> results;
+    
+    @Data
+    @Builder
+    public static class RouteInputDTO {
+        private Integer routePoints;
+        private Double corridorKm;
+        private Integer batteryPercent;
+        private Double batteryCapacityKwh;
+        private Integer targetPercent;
+        private Integer reservePercent;
+        private Double consumptionKwhPerKm;
+        private Double averageSpeedKmph;
+        private Double vehicleMaxChargeKw;
+        private String vehicleProfileId;
+        private Integer limit;
+    }
+    
+    @Data
+    @Builder
+    public static class RouteRecommendationResultDTO {
+        private String stationId;
+        private String name;
+        private String address;
+        private Double lat;
+        private Double lng;
+        private Integer trustScore;
+        private RecommendationResponseDTO.RecommendationResultDTO.ChosenPortDTO chosenPort;
+        private RouteEstimateDTO estimate;
+        private List<String> explain;
+        private ChargingSummaryDTO chargingSummary;
+    }
+    
+    @Data
+    @Builder
+    public static class RouteEstimateDTO {
+        private Double alongRouteKm; // from the route start to the point nearest the station
+        private Double detourKm; // off the route and back
+        private Integer detourMinutes;
+        private Integer arrivalPercent;
+        private Double neededKwh;
+        private Integer chargeMinutes;
+        private Integer totalMinutes; // detour + charge
+    }
+}
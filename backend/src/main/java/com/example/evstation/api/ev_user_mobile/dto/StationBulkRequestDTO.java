@@ -0,0 +1,17 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class StationBulkRequestDTO {
+    
+    @NotEmpty(message = "Station IDs are required")
+    @Size(max = 100, message = "At most 100 station IDs per request")
+    private List<@NotNull UUID> stationIds;
+}
@@ -0,0 +1,13 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StationBulkResponseDTO {
+    private List<StationDetailDTO> stations; // in request order
+    private List<String> notFoundStationIds; // not found or not published
+}
@@ -0,0 +1,15 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StationChangesResponseDTO {
+    private Long syncToken; // pass as since on the next call
+    private Boolean hasMore; // more changes after syncToken, call again right away
+    private List<StationDetailDTO> upserted; // published or changed stations (current state)
+    private List<String> removedStationIds; // deleted or no longer published
+}
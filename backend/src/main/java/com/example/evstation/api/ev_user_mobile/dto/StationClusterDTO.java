@@ -0,0 +1,19 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class StationClusterDTO {
+    private Double lat; // centroid of the stations in the cluster
+    private Double lng;
+    private Integer stationCount;
+    private Integer totalPorts; // installed ports
+    private Integer totalUnits; // active bookable charger units
+    private Integer availableUnits; // of those, not booked or held right now (refreshed every minute)
+    private BigDecimal maxPowerKw; // DC only, null if no DC ports
+    private String stationId; // only set when stationCount == 1
+}
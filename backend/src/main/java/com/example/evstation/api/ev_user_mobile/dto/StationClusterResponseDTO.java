@@ -0,0 +1,14 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StationClusterResponseDTO {
+    private Integer zoom; // zoom level the clusters were aggregated at
+    private Integer totalStations;
+    private List<StationClusterDTO> clusters;
+}
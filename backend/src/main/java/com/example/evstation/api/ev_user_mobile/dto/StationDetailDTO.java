@@ -1,13 +1,17 @@
 package com.example.evstation.api.ev_user_mobile.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.List;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class StationDetailDTO {
     private String stationId;
     private String name;
@@ -0,0 +1,41 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+@Data
+public class TripPlanRequestDTO {
+    
+    @NotNull(message = "Origin is required")
+    @Valid
+    private RecommendationRequestDTO.LocationDTO origin;
+    
+    @NotNull(message = "Destination is required")
+    @Valid
+    private RecommendationRequestDTO.LocationDTO destination;
+    
+    @NotNull(message = "Battery percent is required")
+    @Min(value = 0, message = "Battery percent must be >= 0")
+    @Max(value = 100, message = "Battery percent must be <= 100")
+    private Integer batteryPercent;
+    
+    @NotNull(message = "Battery capacity is required")
+    @Positive(message = "Battery capacity must be positive")
+    private Double batteryCapacityKwh;
+    
+    @Min(value = 10, message = "Max charge percent must be >= 10")
+    @Max(value = 100, message = "Max charge percent must be <= 100")
+    private Integer maxChargePercent; // default 80: charge stops charge at most to this level
+    
+    @Min(value = 0, message = "Reserve percent must be >= 0")
+    @Max(value = 50, message = "Reserve percent must be <= 50")
+    private Integer reservePercent; // default 10: minimum state of charge on every arrival
+    
+    private Double consumptionKwhPerKm; // default 0.18
+    private Double averageSpeedKmph; // default 60 (intercity)
+    private Double vehicleMaxChargeKw; // default 120
+    
+    @Size(max = 64, message = "Vehicle profile id must be <= 64 characters")
+    private String vehicleProfileId; // optional: charge curve of the model instead of the flat model
+}
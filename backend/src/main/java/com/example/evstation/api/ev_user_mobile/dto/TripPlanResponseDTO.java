@@ -0,0 +1,33 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TripPlanResponseDTO {
+    private Double totalKm; // road distance estimate
+    private Integer driveMinutes;
+    private Integer chargeMinutes; // including per-stop overhead
+    private Integer totalMinutes;
+    private Integer arrivalPercent; // at the destination
+    private List<TripStopDTO> stops; // charging stops in order, empty if no charge is needed
+    
+    @Data
+    @Builder
+    public static class TripStopDTO {
+        private String stationId;
+        private String name;
+        private String address;
+        private Double lat;
+        private Double lng;
+        private Double maxDcKw;
+        private Double distanceFromPreviousKm; // from the origin or the previous stop
+        private Integer driveMinutesFromPrevious;
+        private Integer arrivalPercent;
+        private Integer departurePercent;
+        private Integer chargeMinutes;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.evstation.api.ev_user_mobile.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class VehicleProfileDTO {
+    private String id;
+    private String name;
+    private Double batteryCapacityKwh;
+    private Double maxAcKw;
+    private Double maxDcKw;
+}
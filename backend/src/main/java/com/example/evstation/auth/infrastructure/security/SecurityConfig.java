@@ -1,6 +1,7 @@
 package com.example.evstation.auth.infrastructure.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +26,8 @@ import java.util.Map;
  * Spring Security Configuration
  * 
  * Security rules:
- * - Public: /healthz, /actuator/**, /swagger-ui/**, /v3/api-docs/**, /auth/**, /debug/**
+ * - Admin only: /actuator/metrics/**
+ * - Public: /healthz, /actuator/** (other than metrics), /swagger-ui/**, /v3/api-docs/**, /auth/**, /debug/**
  * - Authenticated: /api/** (role-based access controlled by @PreAuthorize)
  * 
  * JWT authentication is handled by JwtAuthenticationFilter which:
@@ -52,6 +54,12 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of already authorized requests (SSE streams completing)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        
+                        // Metrics (cache and query meters) - admins only, must be before /actuator/**
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
+                        
                         // Health and actuator - public
                         .requestMatchers("/healthz", "/actuator/**").permitAll()
                         
@@ -1,20 +1,18 @@
 package com.example.evstation.booking.application;
 
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilityRangeRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilityRangeResponseDTO;
 import com.example.evstation.api.ev_user_mobile.dto.AvailabilityResponseDTO;
 import com.example.evstation.api.ev_user_mobile.dto.AvailabilitySlotDTO;
 import com.example.evstation.api.ev_user_mobile.dto.ChargerUnitAvailabilityDTO;
 import com.example.evstation.api.ev_user_mobile.dto.ChargerUnitDTO;
-import com.example.evstation.booking.domain.BookingStatus;
 import com.example.evstation.booking.domain.ChargerUnitStatus;
-import com.example.evstation.booking.infrastructure.jpa.BookingEntity;
-import com.example.evstation.booking.infrastructure.jpa.BookingJpaRepository;
 import com.example.evstation.booking.infrastructure.jpa.ChargerUnitEntity;
 import com.example.evstation.booking.infrastructure.jpa.ChargerUnitJpaRepository;
 import com.example.evstation.common.error.BusinessException;
 import com.example.evstation.common.error.ErrorCode;
 import com.example.evstation.station.domain.PowerType;
-import com.example.evstation.station.domain.WorkflowStatus;
-import com.example.evstation.station.infrastructure.jpa.StationVersionJpaRepository;
+import com.example.evstation.station.infrastructure.jpa.PublishedStationJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,9 +28,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AvailabilityService {
     
+    private static final String DEFAULT_TIMEZONE = "Asia/Bangkok";
+    private static final int DEFAULT_SLOT_MINUTES = 30;
+    private static final int MAX_RANGE_DAYS = 14;
+    
     private final ChargerUnitJpaRepository chargerUnitRepository;
-    private final BookingJpaRepository bookingRepository;
-    private final StationVersionJpaRepository stationVersionRepository;
+    private final PublishedStationJpaRepository publishedStationRepository;
+    private final UnitOccupancyReader occupancyReader;
     
     /**
      * Get availability for a station on a specific date
@@ -50,9 +52,7 @@ public class AvailabilityService {
                 stationId, date, timezone, slotMinutes);
         
         // Validate station has published version
-        boolean stationPublished = stationVersionRepository
-                .findByStationIdAndWorkflowStatus(stationId, WorkflowStatus.PUBLISHED)
-                .isPresent();
+        boolean stationPublished = publishedStationRepository.existsById(stationId);
         
         if (!stationPublished) {
             throw new BusinessException(ErrorCode.NOT_FOUND, 
@@ -60,8 +60,8 @@ public class AvailabilityService {
         }
         
         // Parse timezone (default to Asia/Bangkok)
-        ZoneId zoneId = timezone != null ? ZoneId.of(timezone) : ZoneId.of("Asia/Bangkok");
-        int slotDuration = slotMinutes != null ? slotMinutes : 30;
+        ZoneId zoneId = timezone != null ? ZoneId.of(timezone) : ZoneId.of(DEFAULT_TIMEZONE);
+        int slotDuration = slotMinutes != null ? slotMinutes : DEFAULT_SLOT_MINUTES;
         
         // Build day range (start of day to end of day in timezone)
         ZonedDateTime dayStartZoned = date.atStartOfDay(zoneId);
@@ -98,21 +98,110 @@ public class AvailabilityService {
                 .collect(Collectors.toList());
         
         // Get bookings for these charger units in the day range
-        List<BookingEntity> bookings = bookingRepository.findBookingsForAvailability(
-                chargerUnitIds, dayStart, dayEnd);
+        Map<UUID, List<UnitOccupancy>> bookingsByUnit = occupancyReader.load(chargerUnitIds, dayStart, dayEnd);
         
         // Build slot times
-        List<Instant> slotTimes = new ArrayList<>();
-        ZonedDateTime current = dayStartZoned;
-        while (current.isBefore(dayEndZoned)) {
-            slotTimes.add(current.toInstant());
-            current = current.plusMinutes(slotDuration);
+        List<Instant> slotTimes = slotTimes(date, zoneId, slotDuration);
+        
+        // Build availability matrix: one sweep of each unit's bookings over the slot grid
+        return buildDay(stationId, date, slotTimes, new SlotGrid(slotTimes, slotDuration),
+                chargerUnits, bookingsByUnit, Instant.now());
+    }
+    
+    /**
+     * Get availability for several stations over a date range.
+     * Units and overlapping bookings of all stations are loaded once for the whole window
+     * and sliced per station and day in memory.
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityRangeResponseDTO getAvailabilityRange(AvailabilityRangeRequestDTO request) {
+        LocalDate fromDate = request.getFromDate();
+        LocalDate toDate = request.getToDate();
+        if (toDate.isBefore(fromDate)) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "toDate must be >= fromDate");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) + 1 > MAX_RANGE_DAYS) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "Date range must be at most " + MAX_RANGE_DAYS + " days");
         }
         
-        // Build availability matrix
+        ZoneId zoneId = ZoneId.of(request.getTz() != null ? request.getTz() : DEFAULT_TIMEZONE);
+        int slotDuration = request.getSlotMinutes() != null ? request.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+        PowerType powerType = request.getPowerType();
+        java.math.BigDecimal minPowerKw = request.getMinPowerKw();
+        
+        log.debug("Getting availability range: stations={}, from={}, to={}, slotMinutes={}",
+                request.getStationIds().size(), fromDate, toDate, slotDuration);
+        
+        // Published stations, in request order without duplicates
+        Set<UUID> requested = new LinkedHashSet<>(request.getStationIds());
+        Set<UUID> published = new HashSet<>(publishedStationRepository.findPublishedStationIds(requested));
+        List<UUID> notFound = requested.stream().filter(id -> !published.contains(id)).toList();
+        List<UUID> stationIds = requested.stream().filter(published::contains).toList();
+        
+        // Active units of all stations, filtered as the single-station query does
+        Map<UUID, List<ChargerUnitEntity>> unitsByStation = new HashMap<>();
+        List<UUID> chargerUnitIds = new ArrayList<>();
+        if (!stationIds.isEmpty()) {
+            for (ChargerUnitEntity unit : chargerUnitRepository.findByStationIdInAndStatusOrderByLabel(
+                    stationIds, ChargerUnitStatus.ACTIVE)) {
+                if (matchesPowerFilter(unit, powerType, minPowerKw)) {
+                    unitsByStation.computeIfAbsent(unit.getStationId(), id -> new ArrayList<>()).add(unit);
+                    chargerUnitIds.add(unit.getId());
+                }
+            }
+        }
+        
+        // Bookings overlapping the whole window, sorted by unit and start time
+        Instant rangeStart = fromDate.atStartOfDay(zoneId).toInstant();
+        Instant rangeEnd = toDate.plusDays(1).atStartOfDay(zoneId).toInstant();
+        Map<UUID, List<UnitOccupancy>> bookingsByUnit = chargerUnitIds.isEmpty()
+                ? Map.of()
+                : occupancyReader.load(chargerUnitIds, rangeStart, rangeEnd);
+        
+        // One slot grid per day, shared by all stations
         Instant now = Instant.now();
-        Map<UUID, List<BookingEntity>> bookingsByUnit = bookings.stream()
-                .collect(Collectors.groupingBy(BookingEntity::getChargerUnitId));
+        List<LocalDate> dates = fromDate.datesUntil(toDate.plusDays(1)).toList();
+        List<List<Instant>> slotTimesByDay = new ArrayList<>(dates.size());
+        List<SlotGrid> grids = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            List<Instant> slotTimes = slotTimes(date, zoneId, slotDuration);
+            slotTimesByDay.add(slotTimes);
+            grids.add(new SlotGrid(slotTimes, slotDuration));
+        }
+        
+        List<AvailabilityResponseDTO> results = new ArrayList<>(stationIds.size() * dates.size());
+        for (UUID stationId : stationIds) {
+            List<ChargerUnitEntity> units = unitsByStation.getOrDefault(stationId, List.of());
+            for (int day = 0; day < dates.size(); day++) {
+                results.add(units.isEmpty()
+                        ? AvailabilityResponseDTO.builder()
+                                .stationId(stationId)
+                                .date(dates.get(day).toString())
+                                .slotTimes(List.of())
+                                .availability(List.of())
+                                .build()
+                        : buildDay(stationId, dates.get(day), slotTimesByDay.get(day), grids.get(day),
+                                units, bookingsByUnit, now));
+            }
+        }
+        
+        return AvailabilityRangeResponseDTO.builder()
+                .fromDate(fromDate.toString())
+                .toDate(toDate.toString())
+                .results(results)
+                .notFoundStationIds(notFound)
+                .build();
+    }
+    
+    private AvailabilityResponseDTO buildDay(
+            UUID stationId,
+            LocalDate date,
+            List<Instant> slotTimes,
+            SlotGrid grid,
+            List<ChargerUnitEntity> chargerUnits,
+            Map<UUID, List<UnitOccupancy>> bookingsByUnit,
+            Instant now) {
         
         List<ChargerUnitAvailabilityDTO> availability = chargerUnits.stream()
                 .map(unit -> {
@@ -126,8 +215,8 @@ public class AvailabilityService {
                             .status(unit.getStatus().name())
                             .build();
                     
-                    List<BookingEntity> unitBookings = bookingsByUnit.getOrDefault(unit.getId(), List.of());
-                    List<AvailabilitySlotDTO> slots = buildSlots(slotTimes, slotDuration, unitBookings, now, zoneId);
+                    List<UnitOccupancy> unitBookings = bookingsByUnit.getOrDefault(unit.getId(), List.of());
+                    List<AvailabilitySlotDTO> slots = grid.toSlots(grid.sweep(unitBookings, now));
                     
                     return ChargerUnitAvailabilityDTO.builder()
                             .chargerUnit(unitDTO)
@@ -144,53 +233,30 @@ public class AvailabilityService {
                 .build();
     }
     
-    private List<AvailabilitySlotDTO> buildSlots(
-            List<Instant> slotTimes,
-            int slotDurationMinutes,
-            List<BookingEntity> bookings,
-            Instant now,
-            ZoneId zoneId) {
-        
-        List<AvailabilitySlotDTO> slots = new ArrayList<>();
-        
-        for (int i = 0; i < slotTimes.size(); i++) {
-            Instant slotStart = slotTimes.get(i);
-            Instant slotEnd = i < slotTimes.size() - 1 
-                    ? slotTimes.get(i + 1)
-                    : slotStart.plus(slotDurationMinutes, ChronoUnit.MINUTES);
-            
-            String status = determineSlotStatus(slotStart, slotEnd, bookings, now);
-            
-            slots.add(AvailabilitySlotDTO.builder()
-                    .startTime(slotStart)
-                    .endTime(slotEnd)
-                    .status(status)
-                    .build());
+    /**
+     * Slot start times from the start of the day to the start of the next day in the timezone
+     */
+    private static List<Instant> slotTimes(LocalDate date, ZoneId zoneId, int slotDuration) {
+        ZonedDateTime dayEndZoned = date.plusDays(1).atStartOfDay(zoneId);
+        List<Instant> slotTimes = new ArrayList<>();
+        ZonedDateTime current = date.atStartOfDay(zoneId);
+        while (current.isBefore(dayEndZoned)) {
+            slotTimes.add(current.toInstant());
+            current = current.plusMinutes(slotDuration);
         }
-        
-        return slots;
+        return slotTimes;
     }
     
-    private String determineSlotStatus(
-            Instant slotStart,
-            Instant slotEnd,
-            List<BookingEntity> bookings,
-            Instant now) {
-        
-        for (BookingEntity booking : bookings) {
-            // Check if slot overlaps with booking
-            if (slotStart.isBefore(booking.getEndTime()) && slotEnd.isAfter(booking.getStartTime())) {
-                if (booking.getStatus() == BookingStatus.CONFIRMED) {
-                    return "BOOKED";
-                } else if (booking.getStatus() == BookingStatus.HOLD && 
-                          booking.getHoldExpiresAt().isAfter(now)) {
-                    return "HELD";
-                }
-                // EXPIRED or CANCELLED bookings don't block
-            }
+    /**
+     * Same rule as findByStationIdAndPowerType when a power type is given (units without a
+     * known power are excluded by minPowerKw), otherwise as the in-memory minPowerKw filter
+     */
+    private static boolean matchesPowerFilter(ChargerUnitEntity unit, PowerType powerType,
+                                              java.math.BigDecimal minPowerKw) {
+        if (powerType == null) {
+            return minPowerKw == null || unit.getPowerKw() == null || unit.getPowerKw().compareTo(minPowerKw) >= 0;
         }
-        
-        return "AVAILABLE";
+        return unit.getPowerType() == powerType
+                && (minPowerKw == null || (unit.getPowerKw() != null && unit.getPowerKw().compareTo(minPowerKw) >= 0));
     }
 }
-
@@ -0,0 +1,271 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilityChangeDTO;
+import com.example.evstation.booking.application.event.BookingChangedEvent;
+import com.example.evstation.booking.domain.BookingStatus;
+import com.example.evstation.common.error.BusinessException;
+import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.station.infrastructure.jpa.PublishedStationJpaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Event streams of slot changes, per station, held by this node.
+ *
+ * Changes reach every node through the availability change relay and are written to the streams of
+ * their station only, so pushes scale with booking changes rather than with open booking screens.
+ * A stream only carries changes made after it opened: clients load the availability grid once
+ * the stream is open and apply each "slots" event to it. Idle streams get a comment line every
+ * heartbeat-interval so proxies keep them open; streams end after the timeout and the client reopens them.
+ *
+ * Writes to slow clients can block, so neither the Redis listener thread nor the heartbeat thread
+ * writes to a stream: each stream queues its events and a bounded pool of delivery threads writes
+ * them, one drain at a time per stream so events stay in order. A stream whose queue exceeds
+ * max-pending-events, or that the saturated pool cannot take, is dropped and completed; its client
+ * reopens it and reloads the grid.
+ */
+@Slf4j
+@Service
+public class AvailabilityStreamService {
+
+    private static final String EVENT_NAME = "slots";
+
+    private final PublishedStationJpaRepository publishedStationRepository;
+    private final Map<UUID, Set<Subscriber>> subscribersByStation = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-stream-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger deliveryThreads = new AtomicInteger();
+    private ThreadPoolExecutor deliveryExecutor;
+
+    @Value("${app.availability-stream.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.availability-stream.heartbeat-interval-ms:25000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${app.availability-stream.delivery-threads:4}")
+    private int deliveryThreadCount;
+
+    @Value("${app.availability-stream.delivery-queue-capacity:10000}")
+    private int deliveryQueueCapacity;
+
+    @Value("${app.availability-stream.max-pending-events:64}")
+    private int maxPendingEvents;
+
+    public AvailabilityStreamService(PublishedStationJpaRepository publishedStationRepository,
+                                     MeterRegistry meterRegistry) {
+        this.publishedStationRepository = publishedStationRepository;
+        Gauge.builder("availability.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Open availability streams on this node")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        deliveryExecutor = new ThreadPoolExecutor(deliveryThreadCount, deliveryThreadCount, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(deliveryQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "availability-stream-delivery-" + deliveryThreads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMs, heartbeatIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeatExecutor.shutdownNow();
+        deliveryExecutor.shutdownNow();
+    }
+
+    /**
+     * Open a stream of the station's slot changes
+     */
+    public SseEmitter subscribe(UUID stationId) {
+        if (!publishedStationRepository.existsById(stationId)) {
+            throw new BusinessException(ErrorCode.NOT_FOUND,
+                    "Station not found or does not have a published version");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(stationId, emitter);
+        subscribersByStation.compute(stationId, (id, set) -> {
+            Set<Subscriber> updated = set != null ? set : new CopyOnWriteArraySet<>();
+            updated.add(subscriber);
+            return updated;
+        });
+        subscribers.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+
+        log.debug("Availability stream opened: stationId={}", stationId);
+        return emitter;
+    }
+
+    /**
+     * Slot diff of a booking change: its range turns HELD, BOOKED or, once cancelled or expired, AVAILABLE
+     */
+    public static AvailabilityChangeDTO toChange(BookingChangedEvent event) {
+        String status = switch (event.getStatus()) {
+            case HOLD -> SlotGrid.HELD;
+            case CONFIRMED -> SlotGrid.BOOKED;
+            default -> SlotGrid.AVAILABLE;
+        };
+        return AvailabilityChangeDTO.builder()
+                .stationId(event.getStationId())
+                .chargerUnitId(event.getChargerUnitId())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .status(status)
+                .holdExpiresAt(event.getStatus() == BookingStatus.HOLD ? event.getHoldExpiresAt() : null)
+                .build();
+    }
+
+    /**
+     * Queue a change on the streams of its station on this node; delivery threads write it
+     */
+    public void deliver(AvailabilityChangeDTO change) {
+        Set<Subscriber> set = subscribersByStation.get(change.getStationId());
+        if (set == null) {
+            return;
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(EVENT_NAME).data(change);
+        for (Subscriber subscriber : set) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    void heartbeat() {
+        try {
+            SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+            subscribersByStation.values().forEach(set -> set.forEach(subscriber -> subscriber.enqueue(ping)));
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task
+            log.warn("Availability stream heartbeat failed: error={}", e.getMessage());
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribersByStation.computeIfPresent(subscriber.stationId, (id, set) -> {
+            removed[0] = set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        if (removed[0]) {
+            subscribers.decrementAndGet();
+            log.debug("Availability stream closed: stationId={}", subscriber.stationId);
+        }
+    }
+
+    /**
+     * One open stream and its queue of unsent events
+     */
+    private final class Subscriber {
+
+        private final UUID stationId;
+        private final SseEmitter emitter;
+        private final ConcurrentLinkedQueue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        Subscriber(UUID stationId, SseEmitter emitter) {
+            this.stationId = stationId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (dropped) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPendingEvents) {
+                log.debug("Availability stream backed up, dropping it: stationId={}", stationId);
+                drop();
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        /**
+         * Stop queuing to this stream; the delivery thread completes the emitter, since completing
+         * waits for a send in progress
+         */
+        private void drop() {
+            dropped = true;
+            remove(this);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                deliveryExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Pool saturated or shutting down: no send is in progress, so complete here;
+                // the client reopens the stream
+                dropped = true;
+                remove(this);
+                pending.clear();
+                draining.set(false);
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!dropped && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // Client gone (the container completes the emitter) or stream already completed
+                        dropped = true;
+                        remove(this);
+                    }
+                }
+                if (dropped) {
+                    pending.clear();
+                    emitter.complete();
+                    return;
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
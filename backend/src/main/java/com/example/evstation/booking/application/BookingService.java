@@ -1,5 +1,6 @@
 package com.example.evstation.booking.application;
 
+import com.example.evstation.booking.application.event.BookingChangedEvent;
 import com.example.evstation.booking.domain.BookingStatus;
 import com.example.evstation.booking.domain.ChargerUnitStatus;
 import com.example.evstation.booking.infrastructure.jpa.BookingEntity;
@@ -14,6 +15,7 @@ import com.example.evstation.station.infrastructure.jpa.AuditLogJpaRepository;
 import com.example.evstation.station.infrastructure.jpa.StationVersionJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -37,11 +39,13 @@ public class BookingService {
     private final StationVersionJpaRepository stationVersionRepository;
     private final AuditLogJpaRepository auditLogRepository;
     private final ChargerUnitJpaRepository chargerUnitRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
     
     private static final Duration HOLD_DURATION = Duration.ofMinutes(10);
-    private static final int MIN_BOOKING_DURATION_MINUTES = 15;
-    private static final int MAX_BOOKING_DURATION_HOURS = 4;
+    public static final int MIN_START_LEAD_MINUTES = 30;
+    public static final int MIN_BOOKING_DURATION_MINUTES = 15;
+    public static final int MAX_BOOKING_DURATION_HOURS = 4;
     
     /**
      * Create a new booking with HOLD status
@@ -82,7 +86,7 @@ public class BookingService {
         }
         
         // Validate time range - must be at least 30 minutes in the future
-        Instant minStartTime = now.plus(Duration.ofMinutes(30));
+        Instant minStartTime = now.plus(Duration.ofMinutes(MIN_START_LEAD_MINUTES));
         if (request.getStartTime().isBefore(minStartTime)) {
             throw new BusinessException(ErrorCode.INVALID_TIME_RANGE, 
                     "startTime must be at least 30 minutes in the future");
@@ -162,6 +166,8 @@ public class BookingService {
                         "holdExpiresAt", entity.getHoldExpiresAt().toString()
                 ));
         
+        eventPublisher.publishEvent(BookingChangedEvent.of(entity, null));
+        
         return toDTO(entity);
     }
     
@@ -234,6 +240,8 @@ public class BookingService {
                         "previousStatus", previousStatus.toString()
                 ));
         
+        eventPublisher.publishEvent(BookingChangedEvent.of(entity, previousStatus));
+        
         return toDTO(entity);
     }
     
@@ -259,6 +267,7 @@ public class BookingService {
                     "BOOKING", entity.getId(), Map.of(
                             "holdExpiresAt", entity.getHoldExpiresAt().toString()
                     ));
+            eventPublisher.publishEvent(BookingChangedEvent.of(entity, BookingStatus.HOLD));
             
             count++;
             log.debug("Expired booking: id={}, userId={}", entity.getId(), entity.getUserId());
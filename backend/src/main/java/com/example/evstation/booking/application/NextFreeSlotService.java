@@ -0,0 +1,276 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.api.ev_user_mobile.dto.ChargerUnitDTO;
+import com.example.evstation.api.ev_user_mobile.dto.NextFreeSlotRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.NextFreeSlotResponseDTO;
+import com.example.evstation.booking.domain.ChargerUnitStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Earliest free booking slots near a location, across stations and their charger units.
+ *
+ * Active units of published stations within the radius come from one spatial query, nearest station
+ * first. Units are then scanned in batches: each batch loads its units' bookings over the search
+ * window, and each unit's bookings (sorted by start time) are walked once to find the first gap that
+ * fits the duration. The best K stations are kept in a bounded heap; a unit's walk stops as soon as it
+ * can no longer beat the current K-th slot, and the scan stops once K slots start at the earliest
+ * possible time, since farther stations cannot improve on them. Later batches are then never loaded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NextFreeSlotService {
+
+    private static final String DEFAULT_TIMEZONE = "Asia/Bangkok";
+    private static final double DEFAULT_RADIUS_KM = 10.0;
+    private static final int DEFAULT_DURATION_MINUTES = 30;
+    private static final int DEFAULT_HORIZON_HOURS = 24;
+    private static final int DEFAULT_SLOT_MINUTES = 15;
+    private static final int DEFAULT_LIMIT = 5;
+    private static final int UNIT_BATCH_SIZE = 200;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    private final UnitOccupancyReader occupancyReader;
+    private final Clock clock;
+
+    /**
+     * Slot found at one station: its earliest start over the station's units
+     */
+    private record Found(Object[] unitRow, long startMillis, double distanceKm) {
+    }
+
+    @Transactional(readOnly = true)
+    public NextFreeSlotResponseDTO findNextFreeSlots(NextFreeSlotRequestDTO request) {
+        double lat = request.getCurrentLocation().getLat();
+        double lng = request.getCurrentLocation().getLng();
+        double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : DEFAULT_RADIUS_KM;
+        int durationMinutes = request.getDurationMinutes() != null
+                ? request.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+        int horizonHours = request.getHorizonHours() != null ? request.getHorizonHours() : DEFAULT_HORIZON_HOURS;
+        int slotMinutes = request.getSlotMinutes() != null ? request.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+        ZoneId zoneId = ZoneId.of(request.getTz() != null ? request.getTz() : DEFAULT_TIMEZONE);
+
+        // Search window: from the first bookable aligned start, for horizonHours
+        Instant now = clock.instant();
+        Instant minStart = now.plus(Duration.ofMinutes(BookingService.MIN_START_LEAD_MINUTES));
+        Instant requestedStart = request.getEarliestStart();
+        long stepMillis = slotMinutes * 60_000L;
+        long from = align(requestedStart != null && requestedStart.isAfter(minStart) ? requestedStart : minStart,
+                zoneId, stepMillis);
+        long until = from + horizonHours * 3_600_000L;
+        long durationMillis = durationMinutes * 60_000L;
+
+        log.debug("Finding next free slots: lat={}, lng={}, radiusKm={}, durationMinutes={}, from={}, limit={}",
+                lat, lng, radiusKm, durationMinutes, Instant.ofEpochMilli(from), limit);
+
+        List<Object[]> units = findUnitRows(lat, lng, radiusKm, request);
+
+        // Worst of the best K on top: later start first, then farther
+        PriorityQueue<Found> best = new PriorityQueue<>(Comparator
+                .comparingLong(Found::startMillis)
+                .thenComparingDouble(Found::distanceKm)
+                .reversed());
+
+        int scanned = 0;
+        int batchStart = 0;
+        search:
+        while (batchStart < units.size() && !settled(best, limit, from)) {
+            // Next batch, extended to the end of its last station so no station is split
+            int batchEnd = Math.min(batchStart + UNIT_BATCH_SIZE, units.size());
+            while (batchEnd < units.size() && units.get(batchEnd)[0].equals(units.get(batchEnd - 1)[0])) {
+                batchEnd++;
+            }
+            List<UUID> unitIds = new ArrayList<>(batchEnd - batchStart);
+            for (int i = batchStart; i < batchEnd; i++) {
+                unitIds.add((UUID) units.get(i)[6]);
+            }
+            Map<UUID, List<UnitOccupancy>> bookingsByUnit = occupancyReader.load(
+                    unitIds, Instant.ofEpochMilli(from), Instant.ofEpochMilli(until));
+
+            int stationStart = batchStart;
+            while (stationStart < batchEnd) {
+                if (settled(best, limit, from)) {
+                    break search;
+                }
+                int stationEnd = stationStart + 1;
+                while (stationEnd < batchEnd && units.get(stationEnd)[0].equals(units.get(stationStart)[0])) {
+                    stationEnd++;
+                }
+
+                // Latest start still worth finding: must beat the K-th slot, and fit before the horizon
+                long latestStart = best.size() == limit
+                        ? Math.min(best.peek().startMillis() - 1, until - durationMillis)
+                        : until - durationMillis;
+                Object[] stationUnit = null;
+                long stationStartMillis = -1;
+                for (int i = stationStart; i < stationEnd && stationStartMillis != from; i++) {
+                    Object[] unit = units.get(i);
+                    long start = earliestStart(bookingsByUnit.getOrDefault((UUID) unit[6], List.of()),
+                            from, latestStart, durationMillis, zoneId, stepMillis, now);
+                    scanned++;
+                    if (start >= 0) {
+                        stationUnit = unit;
+                        stationStartMillis = start;
+                        latestStart = start - 1;
+                    }
+                }
+
+                if (stationUnit != null) {
+                    best.add(new Found(stationUnit, stationStartMillis, ((Number) stationUnit[5]).doubleValue()));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+                stationStart = stationEnd;
+            }
+            batchStart = batchEnd;
+        }
+
+        List<Found> found = new ArrayList<>(best);
+        found.sort(Comparator.comparingLong(Found::startMillis).thenComparingDouble(Found::distanceKm));
+        List<NextFreeSlotResponseDTO.NextFreeSlotDTO> results = found.stream()
+                .map(f -> buildResult(f, durationMillis))
+                .toList();
+
+        log.debug("Next free slots found: units={}, scanned={}, results={}", units.size(), scanned, results.size());
+
+        return NextFreeSlotResponseDTO.builder()
+                .searchedFrom(Instant.ofEpochMilli(from))
+                .searchedUntil(Instant.ofEpochMilli(until))
+                .results(results)
+                .build();
+    }
+
+    /**
+     * True once K slots start at the earliest start: remaining stations are farther and cannot beat them
+     */
+    private static boolean settled(PriorityQueue<Found> best, int limit, long from) {
+        return best.size() == limit && best.peek().startMillis() == from;
+    }
+
+    /**
+     * Active units of published stations within the radius, matching the power filter.
+     *
+     * Row: station_id, name, address, lat, lng, distance_km, unit id, label, power_type, power_kw,
+     * price_per_slot; ordered by distance, then station and label.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> findUnitRows(double lat, double lng, double radiusKm, NextFreeSlotRequestDTO request) {
+        String query = """
+            SELECT
+                ps.station_id,
+                ps.name,
+                ps.address,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+                CAST(ST_Distance(
+                    ps.location,
+                    CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography)
+                ) AS DOUBLE PRECISION) / 1000.0 as distance_km,
+                cu.id,
+                cu.label,
+                CAST(cu.power_type AS TEXT) as power_type,
+                cu.power_kw,
+                cu.price_per_slot
+            FROM published_station ps
+            JOIN charger_unit cu ON cu.station_id = ps.station_id
+            WHERE cu.status = 'ACTIVE'
+            AND ST_DWithin(
+                ps.location,
+                CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography),
+                :radiusMeters
+            )
+            """
+                + (request.getPowerType() != null ? "AND CAST(cu.power_type AS TEXT) = :powerType\n" : "")
+                + (request.getMinPowerKw() != null ? "AND cu.power_kw >= :minPowerKw\n" : "")
+                + "ORDER BY distance_km, ps.station_id, cu.label";
+
+        Query nativeQuery = entityManager.createNativeQuery(query);
+        nativeQuery.setParameter("lat", lat);
+        nativeQuery.setParameter("lng", lng);
+        nativeQuery.setParameter("radiusMeters", radiusKm * 1000);
+        if (request.getPowerType() != null) {
+            nativeQuery.setParameter("powerType", request.getPowerType().name());
+        }
+        if (request.getMinPowerKw() != null) {
+            nativeQuery.setParameter("minPowerKw", request.getMinPowerKw());
+        }
+        return nativeQuery.getResultList();
+    }
+
+    /**
+     * First aligned start in [from, latestStart] where the unit is free for the duration
+     * @param bookings The unit's bookings, sorted by start time
+     * @return Start in epoch millis, -1 if there is none
+     */
+    static long earliestStart(List<UnitOccupancy> bookings, long from, long latestStart,
+                              long durationMillis, ZoneId zoneId, long stepMillis, Instant now) {
+        long start = from;
+        for (UnitOccupancy booking : bookings) {
+            if (start > latestStart) {
+                return -1;
+            }
+            if (!booking.blocks(now)) {
+                continue;
+            }
+            long bookingStart = booking.startTime().toEpochMilli();
+            long bookingEnd = booking.endTime().toEpochMilli();
+            if (bookingEnd <= start) {
+                continue;
+            }
+            if (bookingStart >= start + durationMillis) {
+                break; // gap before this booking fits; later bookings start later still
+            }
+            start = align(Instant.ofEpochMilli(bookingEnd), zoneId, stepMillis);
+        }
+        return start <= latestStart ? start : -1;
+    }
+
+    /**
+     * Round up to the next step boundary counted from local midnight
+     */
+    private static long align(Instant instant, ZoneId zoneId, long stepMillis) {
+        long midnight = instant.atZone(zoneId).toLocalDate().atStartOfDay(zoneId).toInstant().toEpochMilli();
+        long offset = instant.toEpochMilli() - midnight;
+        return midnight + (offset + stepMillis - 1) / stepMillis * stepMillis;
+    }
+
+    private static NextFreeSlotResponseDTO.NextFreeSlotDTO buildResult(Found found, long durationMillis) {
+        Object[] row = found.unitRow();
+        UUID stationId = (UUID) row[0];
+        ChargerUnitDTO unit = ChargerUnitDTO.builder()
+                .id((UUID) row[6])
+                .stationId(stationId)
+                .label((String) row[7])
+                .powerType((String) row[8])
+                .powerKw((BigDecimal) row[9])
+                .pricePerSlot(((Number) row[10]).intValue())
+                .status(ChargerUnitStatus.ACTIVE.name())
+                .build();
+
+        return NextFreeSlotResponseDTO.NextFreeSlotDTO.builder()
+                .stationId(stationId)
+                .name((String) row[1])
+                .address((String) row[2])
+                .lat(((Number) row[3]).doubleValue())
+                .lng(((Number) row[4]).doubleValue())
+                .distanceKm(Math.round(found.distanceKm() * 100) / 100.0)
+                .chargerUnit(unit)
+                .startTime(Instant.ofEpochMilli(found.startMillis()))
+                .endTime(Instant.ofEpochMilli(found.startMillis() + durationMillis))
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilitySlotDTO;
+import com.example.evstation.booking.domain.BookingStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Slot grid of one availability day, and the sweep that marks a unit's slots.
+ * Bookings outside the day are skipped, so one booking list can be swept over several days.
+ *
+ * Slot boundaries are kept as epoch millis. A unit's bookings, sorted by start time, are swept once
+ * with a forward-only slot cursor, setting the slots each blocking booking overlaps in a BOOKED or
+ * HELD bitset; slot DTOs are then read off the bitsets. CONFIRMED bookings block as BOOKED, unexpired
+ * HOLDs as HELD; BOOKED wins where both overlap a slot.
+ */
+final class SlotGrid {
+
+    static final String AVAILABLE = "AVAILABLE";
+    static final String HELD = "HELD";
+    static final String BOOKED = "BOOKED";
+
+    private final Instant[] starts;
+    private final Instant[] ends;
+    private final long[] bounds; // bounds[i] = start of slot i, bounds[size] = end of the last slot
+
+    SlotGrid(List<Instant> slotTimes, int slotDurationMinutes) {
+        int size = slotTimes.size();
+        this.starts = slotTimes.toArray(new Instant[0]);
+        this.ends = new Instant[size];
+        this.bounds = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            ends[i] = i < size - 1 ? starts[i + 1] : starts[i].plusSeconds(slotDurationMinutes * 60L);
+            bounds[i] = starts[i].toEpochMilli();
+        }
+        if (size > 0) {
+            bounds[size] = ends[size - 1].toEpochMilli();
+        }
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    /**
+     * Mark the slots blocked by a unit's bookings
+     * @param bookings The unit's bookings, sorted by start time
+     */
+    UnitSlots sweep(List<UnitOccupancy> bookings, Instant now) {
+        int size = starts.length;
+        BitSet booked = new BitSet(size);
+        BitSet held = new BitSet(size);
+
+        int first = 0;
+        for (UnitOccupancy booking : bookings) {
+            if (!booking.blocks(now)) {
+                continue; // EXPIRED, CANCELLED or expired HOLD bookings don't block
+            }
+            boolean confirmed = booking.status() == BookingStatus.CONFIRMED;
+            long start = booking.startTime().toEpochMilli();
+            long end = booking.endTime().toEpochMilli();
+            if (start >= bounds[size]) {
+                break; // this and all later bookings start after the grid
+            }
+
+            // First slot ending after the booking starts; starts are sorted, so never moves back
+            while (first < size && bounds[first + 1] <= start) {
+                first++;
+            }
+            // Slots starting before the booking ends
+            int last = first;
+            while (last < size && bounds[last] < end) {
+                last++;
+            }
+            if (last > first) {
+                (confirmed ? booked : held).set(first, last);
+            }
+        }
+
+        held.andNot(booked);
+        return new UnitSlots(booked, held);
+    }
+
+    List<AvailabilitySlotDTO> toSlots(UnitSlots unitSlots) {
+        List<AvailabilitySlotDTO> slots = new ArrayList<>(starts.length);
+        for (int i = 0; i < starts.length; i++) {
+            slots.add(AvailabilitySlotDTO.builder()
+                    .startTime(starts[i])
+                    .endTime(ends[i])
+                    .status(unitSlots.status(i))
+                    .build());
+        }
+        return slots;
+    }
+
+    /**
+     * Blocked slots of one unit
+     */
+    record UnitSlots(BitSet booked, BitSet held) {
+
+        String status(int slot) {
+            if (booked.get(slot)) {
+                return BOOKED;
+            }
+            return held.get(slot) ? HELD : AVAILABLE;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.station.domain.PowerType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Free charger-unit counts of several stations, each for its own time window, in one query.
+ *
+ * A unit is free in a window if it is ACTIVE and no CONFIRMED booking or unexpired HOLD overlaps
+ * the window (the same rule as the availability grid of {@link AvailabilityService}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationFreeUnitService {
+    
+    @PersistenceContext
+    private final EntityManager entityManager;
+    
+    private final Clock clock;
+    
+    /**
+     * Window to check at one station, for units of one power type
+     */
+    public record StationWindow(UUID stationId, PowerType powerType, Instant start, Instant end) {
+    }
+    
+    /**
+     * @param totalUnits Active units of the power type
+     * @param freeUnits Of those, units without an active booking overlapping the window
+     */
+    public record FreeUnits(int totalUnits, int freeUnits) {
+    }
+    
+    /**
+     * Count free units per station. Stations without active units of the power type are absent.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, FreeUnits> countFreeUnits(Collection<StationWindow> windows) {
+        Map<UUID, FreeUnits> counts = new HashMap<>();
+        if (windows.isEmpty()) {
+            return counts;
+        }
+        
+        Map<UUID, StationWindow> windowByStation = new HashMap<>();
+        Instant rangeStart = null;
+        Instant rangeEnd = null;
+        for (StationWindow window : windows) {
+            windowByStation.put(window.stationId(), window);
+            rangeStart = rangeStart == null || window.start().isBefore(rangeStart) ? window.start() : rangeStart;
+            rangeEnd = rangeEnd == null || window.end().isAfter(rangeEnd) ? window.end() : rangeEnd;
+        }
+        
+        // Active units of all stations with their bookings in the union of the windows
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+            SELECT
+                cu.station_id,
+                cu.id,
+                CAST(cu.power_type AS TEXT) as power_type,
+                b.start_time,
+                b.end_time
+            FROM charger_unit cu
+            LEFT JOIN booking b ON b.charger_unit_id = cu.id
+                AND (b.status = 'CONFIRMED' OR (b.status = 'HOLD' AND b.hold_expires_at > :now))
+                AND b.start_time < :rangeEnd
+                AND b.end_time > :rangeStart
+            WHERE cu.station_id IN (:stationIds)
+            AND cu.status = 'ACTIVE'
+            ORDER BY cu.station_id, cu.id
+            """)
+                .setParameter("stationIds", windowByStation.keySet())
+                .setParameter("now", clock.instant())
+                .setParameter("rangeStart", rangeStart)
+                .setParameter("rangeEnd", rangeEnd)
+                .getResultList();
+        
+        // Rows are grouped by unit: a unit is busy if any of its bookings overlaps its station's window
+        Map<UUID, int[]> totals = new HashMap<>(); // station -> [total, busy]
+        UUID currentUnit = null;
+        boolean currentBusy = false;
+        UUID currentStation = null;
+        for (Object[] row : rows) {
+            UUID stationId = (UUID) row[0];
+            StationWindow window = windowByStation.get(stationId);
+            if (!window.powerType().name().equals(row[2])) {
+                continue;
+            }
+            UUID unitId = (UUID) row[1];
+            if (!unitId.equals(currentUnit)) {
+                countUnit(totals, currentStation, currentUnit, currentBusy);
+                currentUnit = unitId;
+                currentStation = stationId;
+                currentBusy = false;
+            }
+            if (row[3] != null && overlaps(window,
+                    ((java.sql.Timestamp) row[3]).toInstant(), ((java.sql.Timestamp) row[4]).toInstant())) {
+                currentBusy = true;
+            }
+        }
+        countUnit(totals, currentStation, currentUnit, currentBusy);
+        
+        totals.forEach((stationId, count) -> counts.put(stationId, new FreeUnits(count[0], count[0] - count[1])));
+        log.debug("Counted free units: stations={}, withUnits={}", windows.size(), counts.size());
+        return counts;
+    }
+    
+    private static void countUnit(Map<UUID, int[]> totals, UUID stationId, UUID unitId, boolean busy) {
+        if (unitId == null) {
+            return;
+        }
+        int[] count = totals.computeIfAbsent(stationId, id -> new int[2]);
+        count[0]++;
+        if (busy) {
+            count[1]++;
+        }
+    }
+    
+    private static boolean overlaps(StationWindow window, Instant bookingStart, Instant bookingEnd) {
+        return window.start().isBefore(bookingEnd) && window.end().isAfter(bookingStart);
+    }
+}
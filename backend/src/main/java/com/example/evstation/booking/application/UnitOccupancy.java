@@ -0,0 +1,34 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.booking.domain.BookingStatus;
+import com.example.evstation.booking.infrastructure.jpa.BookingEntity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Booking of a charger unit as seen by availability: its time range and what blocks it
+ */
+public record UnitOccupancy(UUID bookingId, UUID chargerUnitId, Instant startTime, Instant endTime,
+                            BookingStatus status, Instant holdExpiresAt) {
+
+    public static UnitOccupancy of(BookingEntity booking) {
+        return new UnitOccupancy(booking.getId(), booking.getChargerUnitId(), booking.getStartTime(),
+                booking.getEndTime(), booking.getStatus(), booking.getHoldExpiresAt());
+    }
+
+    /**
+     * HOLD and CONFIRMED bookings occupy the unit; EXPIRED and CANCELLED ones don't
+     */
+    public static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.HOLD || status == BookingStatus.CONFIRMED;
+    }
+
+    /**
+     * True if the booking blocks its slots at now: CONFIRMED, or a HOLD not yet expired
+     */
+    public boolean blocks(Instant now) {
+        return status == BookingStatus.CONFIRMED
+                || (status == BookingStatus.HOLD && holdExpiresAt != null && holdExpiresAt.isAfter(now));
+    }
+}
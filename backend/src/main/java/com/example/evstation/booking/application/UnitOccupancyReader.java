@@ -0,0 +1,35 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.booking.infrastructure.cache.BookingOccupancyCache;
+import com.example.evstation.booking.infrastructure.jpa.BookingJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Active bookings of charger units over a window, served from the occupancy index when it can
+ * answer and from the booking table otherwise
+ */
+@Component
+@RequiredArgsConstructor
+public class UnitOccupancyReader {
+
+    private final BookingOccupancyCache occupancyCache;
+    private final BookingJpaRepository bookingRepository;
+
+    /**
+     * Bookings of the units overlapping [from, to)
+     * @return Bookings by unit sorted by start time; units without bookings are absent
+     */
+    public Map<UUID, List<UnitOccupancy>> load(List<UUID> chargerUnitIds, Instant from, Instant to) {
+        return occupancyCache.find(chargerUnitIds, from, to)
+                .orElseGet(() -> bookingRepository.findBookingsForAvailability(chargerUnitIds, from, to).stream()
+                        .map(UnitOccupancy::of)
+                        .collect(Collectors.groupingBy(UnitOccupancy::chargerUnitId)));
+    }
+}
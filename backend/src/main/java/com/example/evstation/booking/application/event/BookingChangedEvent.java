@@ -0,0 +1,35 @@
+package com.example.evstation.booking.application.event;
+
+import com.example.evstation.booking.domain.BookingStatus;
+import com.example.evstation.booking.infrastructure.jpa.BookingEntity;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Application event raised when a booking is created or changes status
+ * (hold, confirm, cancel, expire). Occupancy read models listen to it after commit.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class BookingChangedEvent {
+
+    private final UUID bookingId;
+    private final UUID stationId;
+    private final UUID chargerUnitId;
+    private final Instant startTime;
+    private final Instant endTime;
+    private final Instant holdExpiresAt;
+    private final BookingStatus previousStatus; // null for a new booking
+    private final BookingStatus status;
+
+    public static BookingChangedEvent of(BookingEntity booking, BookingStatus previousStatus) {
+        return new BookingChangedEvent(booking.getId(), booking.getStationId(), booking.getChargerUnitId(),
+                booking.getStartTime(), booking.getEndTime(), booking.getHoldExpiresAt(),
+                previousStatus, booking.getStatus());
+    }
+}
@@ -0,0 +1,415 @@
+package com.example.evstation.booking.infrastructure.cache;
+
+import com.example.evstation.booking.application.BookingService;
+import com.example.evstation.booking.application.UnitOccupancy;
+import com.example.evstation.booking.application.event.BookingChangedEvent;
+import com.example.evstation.booking.domain.BookingStatus;
+import com.example.evstation.booking.infrastructure.jpa.BookingEntity;
+import com.example.evstation.booking.infrastructure.jpa.BookingJpaRepository;
+import com.example.evstation.booking.infrastructure.jpa.ChargerUnitJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.zset.DefaultTuple;
+import org.springframework.data.redis.connection.zset.Tuple;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Redis occupancy index of active bookings, one sorted set per charger unit.
+ *
+ * Members encode a HOLD or CONFIRMED booking (id, start, end, status, hold expiry), scored by start
+ * time, so the bookings overlapping a window are one range read per unit (from the window start
+ * minus the longest booking). Sets are updated after commit from {@link BookingChangedEvent} on
+ * every node, and rebuilt from the database on startup and every rebuild-interval.
+ *
+ * Rebuilds run on one node at a time, under a lock key with a TTL. Every update first bumps the
+ * unit's epoch; a rebuilt set replaces the live one only if the unit's epoch is still the one read
+ * before the database, so an update committed during the rebuild is never overwritten. Units whose
+ * epoch moved are rebuilt once more, and otherwise left to their incremental updates.
+ *
+ * Every rebuilt set, including those of units without bookings, carries a ready member (score -1,
+ * outside every read range). A set evicted by Redis, or recreated by an update after eviction, has
+ * none, and reads of it fall back to the database instead of reporting the unit free. The global ready
+ * marker is set by a rebuild and dropped when an update fails: without it, or for windows older than
+ * the retention, reads return empty and callers query the booking table. The exclusion constraint on
+ * booking stays the source of truth; the index only serves availability reads.
+ * Lookups are counted in booking.occupancy.cache.requests{result=hit|miss|error}.
+ */
+@Slf4j
+@Component
+public class BookingOccupancyCache {
+
+    private static final String UNIT_KEY_PREFIX = "ev:booking:occupancy:unit:";
+    private static final String EPOCH_KEY_PREFIX = "ev:booking:occupancy:epoch:";
+    private static final String READY_KEY = "ev:booking:occupancy:ready";
+    private static final String REBUILD_LOCK_KEY = "ev:booking:occupancy:rebuild-lock";
+    private static final String UNIT_READY_MEMBER = "ready";
+    private static final double UNIT_READY_SCORE = -1;
+
+    /**
+     * KEYS: rebuilt set, live set, epoch; ARGV: epoch read before the rebuild ("" if none).
+     * Replaces the live set with the rebuilt one (or deletes it when there is no rebuilt set) unless
+     * the epoch moved; returns 1 if replaced, 0 if the unit changed meanwhile.
+     */
+    private static final byte[] SWAP_IF_UNCHANGED = bytes("""
+            if (redis.call('GET', KEYS[3]) or '') ~= ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return 0
+            end
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('RENAME', KEYS[1], KEYS[2])
+            else
+                redis.call('DEL', KEYS[2])
+            end
+            return 1
+            """);
+
+    /**
+     * KEYS: lock; ARGV: owner token. Deletes the lock only if this node still holds it.
+     */
+    private static final byte[] RELEASE_LOCK = bytes("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """);
+    private static final Duration MAX_BOOKING_DURATION = Duration.ofHours(BookingService.MAX_BOOKING_DURATION_HOURS);
+
+    private final StringRedisTemplate redisTemplate;
+    private final BookingJpaRepository bookingRepository;
+    private final ChargerUnitJpaRepository chargerUnitRepository;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    @Value("${app.booking-occupancy.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking-occupancy.retention:P1D}")
+    private Duration retention;
+
+    @Value("${app.booking-occupancy.rebuild-lock-ttl:PT5M}")
+    private Duration rebuildLockTtl;
+
+    public BookingOccupancyCache(StringRedisTemplate redisTemplate, BookingJpaRepository bookingRepository,
+                                 ChargerUnitJpaRepository chargerUnitRepository, Clock clock,
+                                 MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.bookingRepository = bookingRepository;
+        this.chargerUnitRepository = chargerUnitRepository;
+        this.clock = clock;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.errors = requestCounter(meterRegistry, "error");
+    }
+
+    /**
+     * Active bookings of the units overlapping [from, to), in one pipelined round trip
+     * @return Bookings by unit sorted by start time, empty if the index cannot answer
+     */
+    public Optional<Map<UUID, List<UnitOccupancy>>> find(List<UUID> chargerUnitIds, Instant from, Instant to) {
+        if (!enabled || chargerUnitIds.isEmpty() || from.isBefore(clock.instant().minus(retention))) {
+            return Optional.empty();
+        }
+        try {
+            double min = from.minus(MAX_BOOKING_DURATION).toEpochMilli();
+            double max = to.toEpochMilli() - 1;
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().get(bytes(READY_KEY));
+                for (UUID unitId : chargerUnitIds) {
+                    connection.zSetCommands().zScore(unitKey(unitId), bytes(UNIT_READY_MEMBER));
+                    connection.zSetCommands().zRangeByScore(unitKey(unitId), min, max);
+                }
+                return null;
+            });
+            if (results.get(0) == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+            for (int i = 0; i < chargerUnitIds.size(); i++) {
+                if (results.get(1 + 2 * i) == null) {
+                    // Set evicted, or not rebuilt since the unit was added
+                    misses.increment();
+                    return Optional.empty();
+                }
+            }
+
+            Map<UUID, List<UnitOccupancy>> bookingsByUnit = new HashMap<>();
+            for (int i = 0; i < chargerUnitIds.size(); i++) {
+                @SuppressWarnings("unchecked")
+                Collection<String> members = (Collection<String>) results.get(2 + 2 * i);
+                if (members == null || members.isEmpty()) {
+                    continue;
+                }
+                List<UnitOccupancy> unitBookings = new ArrayList<>(members.size());
+                for (String member : members) {
+                    UnitOccupancy booking = parseMember(chargerUnitIds.get(i), member);
+                    if (booking.endTime().isAfter(from)) {
+                        unitBookings.add(booking);
+                    }
+                }
+                bookingsByUnit.put(chargerUnitIds.get(i), unitBookings);
+            }
+            hits.increment();
+            return Optional.of(bookingsByUnit);
+        } catch (DataAccessException | IllegalArgumentException e) {
+            errors.increment();
+            log.warn("Booking occupancy read failed: units={}, error={}", chargerUnitIds.size(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Move the booking between the unit's active set and out of it after the transaction commits.
+     * The epoch is bumped first, so a rebuild swapping in between sees the unit as changed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        byte[] key = unitKey(event.getChargerUnitId());
+        double pruneBefore = clock.instant().minus(retention).minus(MAX_BOOKING_DURATION).toEpochMilli();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().incr(epochKey(event.getChargerUnitId()));
+                if (event.getPreviousStatus() != null && UnitOccupancy.isActive(event.getPreviousStatus())) {
+                    connection.zSetCommands().zRem(key, bytes(member(event.getBookingId(), event.getStartTime(),
+                            event.getEndTime(), event.getPreviousStatus(), event.getHoldExpiresAt())));
+                }
+                if (UnitOccupancy.isActive(event.getStatus())) {
+                    connection.zSetCommands().zAdd(key, event.getStartTime().toEpochMilli(),
+                            bytes(member(event.getBookingId(), event.getStartTime(), event.getEndTime(),
+                                    event.getStatus(), event.getHoldExpiresAt())));
+                }
+                connection.zSetCommands().zRemRangeByScore(key, 0, pruneBefore);
+                return null;
+            });
+            log.debug("Booking occupancy updated: {}", event);
+        } catch (DataAccessException e) {
+            log.warn("Booking occupancy update failed, disabling reads until rebuild: bookingId={}, error={}",
+                    event.getBookingId(), e.getMessage());
+            markNotReady();
+        }
+    }
+
+    /**
+     * Rebuild every unit's set from the booking table (startup and every rebuild-interval), on the one
+     * node that takes the rebuild lock. Each set is written to a temporary key and swapped over the live
+     * one unless the unit changed meanwhile, so readers never see a half-written set; sets of units
+     * that no longer exist are deleted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.booking-occupancy.rebuild-interval-ms:600000}",
+            fixedDelayString = "${app.booking-occupancy.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        String lockToken = UUID.randomUUID().toString();
+        try {
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, lockToken, rebuildLockTtl);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.debug("Booking occupancy rebuild skipped: running on another node");
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Booking occupancy rebuild lock failed: error={}", e.getMessage());
+            return;
+        }
+
+        try {
+            // Epochs before the database read: a unit whose epoch moves has an update the read may miss
+            Map<UUID, String> epochs = readEpochs();
+            Instant since = clock.instant().minus(retention);
+            List<UUID> unitIds = chargerUnitRepository.findAllIds();
+            List<BookingEntity> active = bookingRepository.findActiveBookingsEndingAfter(since);
+
+            Set<UUID> changed = swapUnits(unitIds, active, epochs, true);
+            int redone = changed.size();
+            if (!changed.isEmpty()) {
+                Map<UUID, String> redoEpochs = readEpochs();
+                List<BookingEntity> redoActive = bookingRepository.findActiveBookingsOfUnitsEndingAfter(changed, since);
+                changed = swapUnits(new ArrayList<>(changed), redoActive, redoEpochs, false);
+            }
+
+            redisTemplate.opsForValue().set(READY_KEY, clock.instant().toString());
+            log.info("Booking occupancy rebuilt: {} active bookings on {} units, redone={}, left to updates={}",
+                    active.size(), unitIds.size(), redone, changed.size());
+        } catch (DataAccessException e) {
+            log.warn("Booking occupancy rebuild failed: error={}", e.getMessage());
+            markNotReady();
+        } finally {
+            releaseRebuildLock(lockToken);
+        }
+    }
+
+    /**
+     * Write the units' sets to temporary keys and swap each over its live set if its epoch is unchanged
+     * @param deleteUnknown Also delete live sets of units not in unitIds (removed units)
+     * @return Units skipped because their epoch moved
+     */
+    private Set<UUID> swapUnits(List<UUID> unitIds, List<BookingEntity> active, Map<UUID, String> epochs,
+                                boolean deleteUnknown) {
+        Map<UUID, Set<Tuple>> tuplesByUnit = new LinkedHashMap<>();
+        for (UUID unitId : unitIds) {
+            Set<Tuple> tuples = new LinkedHashSet<>();
+            tuples.add(new DefaultTuple(bytes(UNIT_READY_MEMBER), UNIT_READY_SCORE));
+            tuplesByUnit.put(unitId, tuples);
+        }
+        for (BookingEntity booking : active) {
+            Set<Tuple> tuples = tuplesByUnit.get(booking.getChargerUnitId());
+            if (tuples != null) {
+                tuples.add(new DefaultTuple(bytes(member(booking.getId(), booking.getStartTime(), booking.getEndTime(),
+                        booking.getStatus(), booking.getHoldExpiresAt())),
+                        (double) booking.getStartTime().toEpochMilli()));
+            }
+        }
+
+        List<UUID> swapped = new ArrayList<>(tuplesByUnit.keySet());
+        if (deleteUnknown) {
+            for (String key : scanKeys(UNIT_KEY_PREFIX + "*")) {
+                String suffix = key.substring(UNIT_KEY_PREFIX.length());
+                if (suffix.startsWith("rebuild:")) {
+                    continue;
+                }
+                UUID unitId = UUID.fromString(suffix);
+                if (!tuplesByUnit.containsKey(unitId)) {
+                    swapped.add(unitId);
+                }
+            }
+        }
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID unitId : swapped) {
+                byte[] tempKey = bytes(UNIT_KEY_PREFIX + "rebuild:" + unitId);
+                connection.keyCommands().del(tempKey);
+                Set<Tuple> tuples = tuplesByUnit.get(unitId);
+                if (tuples != null) {
+                    connection.zSetCommands().zAdd(tempKey, tuples);
+                }
+                connection.scriptingCommands().eval(SWAP_IF_UNCHANGED, ReturnType.INTEGER, 3,
+                        tempKey, unitKey(unitId), epochKey(unitId), bytes(epochs.getOrDefault(unitId, "")));
+            }
+            return null;
+        });
+
+        // Per unit: del, (zadd), eval
+        Set<UUID> changed = new LinkedHashSet<>();
+        int index = 0;
+        for (UUID unitId : swapped) {
+            index += tuplesByUnit.containsKey(unitId) ? 2 : 1;
+            if (((Number) results.get(index++)).longValue() == 0) {
+                changed.add(unitId);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Current epoch of every unit that had an update
+     */
+    private Map<UUID, String> readEpochs() {
+        List<String> keys = new ArrayList<>(scanKeys(EPOCH_KEY_PREFIX + "*"));
+        Map<UUID, String> epochs = new HashMap<>();
+        if (keys.isEmpty()) {
+            return epochs;
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < keys.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            if (value != null) {
+                epochs.put(UUID.fromString(keys.get(i).substring(EPOCH_KEY_PREFIX.length())), value);
+            }
+        }
+        return epochs;
+    }
+
+    private void releaseRebuildLock(String lockToken) {
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> connection.scriptingCommands().eval(
+                    RELEASE_LOCK, ReturnType.INTEGER, 1, bytes(REBUILD_LOCK_KEY), bytes(lockToken)));
+        } catch (DataAccessException e) {
+            log.warn("Booking occupancy rebuild lock release failed, expires with its TTL: error={}", e.getMessage());
+        }
+    }
+
+    private Set<String> scanKeys(String pattern) {
+        Set<String> keys = new HashSet<>();
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(1000).build();
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                cursor.forEachRemaining(key -> keys.add(new String(key, StandardCharsets.UTF_8)));
+            }
+            return null;
+        });
+        return keys;
+    }
+
+    private void markNotReady() {
+        try {
+            redisTemplate.delete(READY_KEY);
+        } catch (DataAccessException e) {
+            log.warn("Booking occupancy ready marker removal failed: error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * bookingId|startMillis|endMillis|status|holdExpiresMillis
+     */
+    private static String member(UUID bookingId, Instant start, Instant end, BookingStatus status, Instant holdExpiresAt) {
+        return bookingId + "|" + start.toEpochMilli() + "|" + end.toEpochMilli() + "|" + status.name() + "|"
+                + (holdExpiresAt != null ? holdExpiresAt.toEpochMilli() : 0);
+    }
+
+    private static UnitOccupancy parseMember(UUID chargerUnitId, String member) {
+        String[] fields = member.split("\\|");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Malformed occupancy member: " + member);
+        }
+        return new UnitOccupancy(
+                UUID.fromString(fields[0]),
+                chargerUnitId,
+                Instant.ofEpochMilli(Long.parseLong(fields[1])),
+                Instant.ofEpochMilli(Long.parseLong(fields[2])),
+                BookingStatus.valueOf(fields[3]),
+                Instant.ofEpochMilli(Long.parseLong(fields[4])));
+    }
+
+    private static byte[] unitKey(UUID chargerUnitId) {
+        return bytes(UNIT_KEY_PREFIX + chargerUnitId);
+    }
+
+    private static byte[] epochKey(UUID chargerUnitId) {
+        return bytes(EPOCH_KEY_PREFIX + chargerUnitId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("booking.occupancy.cache.requests")
+                .description("Booking occupancy cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -56,5 +57,31 @@ public interface BookingJpaRepository extends JpaRepository<BookingEntity, UUID>
             @Param("chargerUnitIds") List<UUID> chargerUnitIds,
             @Param("dayStart") Instant dayStart,
             @Param("dayEnd") Instant dayEnd);
+    
+    /**
+     * Find active (HOLD or CONFIRMED) bookings ending after a point in time, sorted by unit and start time
+     * Used to rebuild the booking occupancy cache
+     */
+    @Query("""
+        SELECT b FROM BookingEntity b
+        WHERE b.status IN ('HOLD', 'CONFIRMED')
+        AND b.endTime > :since
+        ORDER BY b.chargerUnitId, b.startTime
+        """)
+    List<BookingEntity> findActiveBookingsEndingAfter(@Param("since") Instant since);
+    
+    /**
+     * Find active (HOLD or CONFIRMED) bookings of some units ending after a point in time, sorted by unit and start time
+     * Used to redo units changed during an occupancy cache rebuild
+     */
+    @Query("""
+        SELECT b FROM BookingEntity b
+        WHERE b.chargerUnitId IN :chargerUnitIds
+        AND b.status IN ('HOLD', 'CONFIRMED')
+        AND b.endTime > :since
+        ORDER BY b.chargerUnitId, b.startTime
+        """)
+    List<BookingEntity> findActiveBookingsOfUnitsEndingAfter(
+            @Param("chargerUnitIds") Collection<UUID> chargerUnitIds,
+            @Param("since") Instant since);
 }
-
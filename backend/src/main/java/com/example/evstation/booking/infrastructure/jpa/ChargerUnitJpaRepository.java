@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,11 +14,22 @@ import java.util.UUID;
 @Repository
 public interface ChargerUnitJpaRepository extends JpaRepository<ChargerUnitEntity, UUID> {
     
+    /**
+     * Ids of all charger units, whatever their status
+     */
+    @Query("SELECT u.id FROM ChargerUnitEntity u")
+    List<UUID> findAllIds();
+    
     /**
      * Find all active charger units for a station
      */
     List<ChargerUnitEntity> findByStationIdAndStatusOrderByLabel(UUID stationId, ChargerUnitStatus status);
     
+    /**
+     * Find charger units of several stations with a status (for multi-station availability)
+     */
+    List<ChargerUnitEntity> findByStationIdInAndStatusOrderByLabel(Collection<UUID> stationIds, ChargerUnitStatus status);
+    
     /**
      * Find all charger units for a station (any status)
      */
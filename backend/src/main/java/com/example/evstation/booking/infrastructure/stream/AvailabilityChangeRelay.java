@@ -0,0 +1,61 @@
+package com.example.evstation.booking.infrastructure.stream;
+
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilityChangeDTO;
+import com.example.evstation.booking.application.AvailabilityStreamService;
+import com.example.evstation.booking.application.event.BookingChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+
+/**
+ * Fans availability changes out to every node over Redis pub/sub.
+ *
+ * Booking changes are published as slot diffs on one channel after commit; each node receives them
+ * (its own included) and writes them to the streams it holds for the station. If publishing fails,
+ * the change is delivered to this node's streams only, and clients on other nodes catch up when
+ * they reload the grid.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityChangeRelay implements MessageListener {
+
+    public static final String CHANNEL = "ev:availability:changes";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AvailabilityStreamService streamService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        AvailabilityChangeDTO change = AvailabilityStreamService.toChange(event);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(change));
+        } catch (DataAccessException e) {
+            log.warn("Availability change publish failed, delivering locally: bookingId={}, error={}",
+                    event.getBookingId(), e.getMessage());
+            streamService.deliver(change);
+        } catch (JsonProcessingException e) {
+            log.warn("Availability change serialization failed: bookingId={}, error={}",
+                    event.getBookingId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            streamService.deliver(objectMapper.readValue(message.getBody(), AvailabilityChangeDTO.class));
+        } catch (IOException e) {
+            log.warn("Malformed availability change message: error={}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.evstation.booking.infrastructure.stream;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class AvailabilityStreamConfig {
+
+    @Bean
+    public RedisMessageListenerContainer availabilityChangeListenerContainer(
+            RedisConnectionFactory connectionFactory, AvailabilityChangeRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(AvailabilityChangeRelay.CHANNEL));
+        return container;
+    }
+}
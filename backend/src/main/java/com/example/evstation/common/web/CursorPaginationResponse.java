@@ -0,0 +1,25 @@
+package com.example.evstation.common.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) pagination response.
+ * nextCursor is opaque to clients and must be passed back unchanged to fetch the next page.
+ * totalElements is only filled when explicitly requested, otherwise null.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaginationResponse<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalElements;
+}
@@ -0,0 +1,55 @@
+package com.example.evstation.common.web;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strong entity tags for conditional GET (If-None-Match / 304 Not Modified) and If-Range
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Quoted strong ETag hashed from a canonical representation of the resource state
+     */
+    public static String strong(CharSequence value) {
+        return "\"" + DigestUtils.md5DigestAsHex(value.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header value matches the ETag (weak comparison, as RFC 9110 requires)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag.trim());
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a Range request may be served partially: no If-Range, or an If-Range that strongly matches
+     * the ETag. A date or a weak tag never matches, since no Last-Modified is sent and ranges need a
+     * byte-identical representation (RFC 9110 13.1.5).
+     */
+    public static boolean rangeApplies(String ifRange, String etag) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        String trimmed = ifRange.trim();
+        return etag != null && !trimmed.startsWith("W/") && trimmed.equals(etag.trim());
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
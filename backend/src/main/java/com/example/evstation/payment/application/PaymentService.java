@@ -1,5 +1,6 @@
 package com.example.evstation.payment.application;
 
+import com.example.evstation.booking.application.event.BookingChangedEvent;
 import com.example.evstation.booking.domain.BookingStatus;
 import com.example.evstation.booking.infrastructure.jpa.BookingEntity;
 import com.example.evstation.booking.infrastructure.jpa.BookingJpaRepository;
@@ -12,6 +13,7 @@ import com.example.evstation.station.infrastructure.jpa.AuditLogEntity;
 import com.example.evstation.station.infrastructure.jpa.AuditLogJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class PaymentService {
     private final PaymentIntentJpaRepository paymentIntentRepository;
     private final BookingJpaRepository bookingRepository;
     private final AuditLogJpaRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final Clock clock;
     
     // Fallback amount if price snapshot is missing or invalid
@@ -189,6 +192,8 @@ public class PaymentService {
                         "amount", String.valueOf(intent.getAmount())
                 ));
         
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking, BookingStatus.HOLD));
+        
         return toDTO(intent);
     }
     
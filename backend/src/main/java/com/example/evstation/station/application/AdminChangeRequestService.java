@@ -5,6 +5,7 @@ import com.example.evstation.auth.infrastructure.jpa.UserAccountEntity;
 import com.example.evstation.auth.infrastructure.jpa.UserAccountJpaRepository;
 import com.example.evstation.common.error.BusinessException;
 import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.station.application.event.StationChangedEvent;
 import com.example.evstation.station.domain.*;
 import com.example.evstation.station.infrastructure.jpa.*;
 import com.example.evstation.booking.application.ChargerUnitCreationService;
@@ -12,6 +13,7 @@ import com.example.evstation.trust.application.TrustScoringService;
 import com.example.evstation.verification.application.VerificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -36,6 +38,7 @@ public class AdminChangeRequestService {
     private final TrustScoringService trustScoringService;
     private final VerificationService verificationService;
     private final ChargerUnitCreationService chargerUnitCreationService;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final int HIGH_RISK_THRESHOLD = 60;
 
@@ -296,8 +299,11 @@ public class AdminChangeRequestService {
                         "newStatus", "PUBLISHED"
                 ));
         
-        // Recalculate trust score after publishing
-        trustScoringService.recalculate(stationId);
+        // Recalculate trust score after publishing; the PUBLISHED event below also covers the new score
+        trustScoringService.recalculateWithoutNotification(stationId);
+        
+        // Notify read models (delivered after commit)
+        eventPublisher.publishEvent(new StationChangedEvent(stationId, StationChangedEvent.ChangeType.PUBLISHED));
         
         log.info("Change request published: id={}, stationId={}", id, stationId);
         return buildAdminDTO(changeRequest);
@@ -9,6 +9,7 @@ import com.example.evstation.booking.application.ChargerUnitCreationService;
 import com.example.evstation.booking.infrastructure.jpa.BookingJpaRepository;
 import com.example.evstation.common.error.BusinessException;
 import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.station.application.event.StationChangedEvent;
 import com.example.evstation.station.domain.*;
 import com.example.evstation.station.infrastructure.jpa.*;
 import com.example.evstation.trust.infrastructure.jpa.StationTrustEntity;
@@ -20,6 +21,7 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -46,6 +48,7 @@ public class AdminStationService {
     private final StationTrustJpaRepository trustRepository;
     private final AuditLogJpaRepository auditLogRepository;
     private final ChargerUnitCreationService chargerUnitCreationService;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
     
@@ -141,6 +144,10 @@ public class AdminStationService {
                 java.util.Map.of("versionId", stationVersion.getId().toString(), 
                                 "publishImmediately", request.getPublishImmediately()));
         
+        if (Boolean.TRUE.equals(request.getPublishImmediately())) {
+            eventPublisher.publishEvent(new StationChangedEvent(station.getId(), StationChangedEvent.ChangeType.PUBLISHED));
+        }
+        
         return buildAdminStationDTO(station);
     }
     
@@ -224,6 +231,10 @@ public class AdminStationService {
                                 "versionNo", nextVersionNo,
                                 "publishImmediately", request.getPublishImmediately()));
         
+        if (Boolean.TRUE.equals(request.getPublishImmediately())) {
+            eventPublisher.publishEvent(new StationChangedEvent(stationId, StationChangedEvent.ChangeType.PUBLISHED));
+        }
+        
         return buildAdminStationDTO(station);
     }
     
@@ -273,6 +284,8 @@ public class AdminStationService {
         // - report_issue (ON DELETE CASCADE)
         stationRepository.delete(station);
         
+        eventPublisher.publishEvent(new StationChangedEvent(stationId, StationChangedEvent.ChangeType.DELETED));
+        
         log.info("Permanently deleted station and all related data: {}", stationId);
     }
     
@@ -0,0 +1,178 @@
+package com.example.evstation.station.application;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Precomputed charge times of one vehicle profile.
+ *
+ * For every port power class the table holds the cumulative minutes to charge the profile's
+ * battery from 0% to each whole percent, integrating the charge curve in 1% steps with the
+ * accepted power capped by the port and the vehicle (on-board charger for AC). A charge time
+ * is then the difference of two entries, scaled to the requested battery capacity.
+ *
+ * Ports are mapped to the highest class not above their rated power, so estimates err on the slow side.
+ * Ports below the lowest class have no class to round down to; their charge time is integrated from
+ * the curve at their exact power on each lookup.
+ */
+public final class ChargeCurveTable {
+
+    static final double[] AC_CLASSES_KW = {3.7, 7.0, 11.0, 22.0};
+    static final double[] DC_CLASSES_KW = {20, 30, 40, 50, 60, 80, 100, 120, 150, 180, 200, 250, 300, 350};
+
+    private final String profileId;
+    private final String name;
+    private final double batteryCapacityKwh;
+    private final double maxAcKw;
+    private final double maxDcKw;
+    private final double[] curveSoc;
+    private final double[] curveKw;
+    private final float[][] acMinutes;
+    private final float[][] dcMinutes;
+
+    private ChargeCurveTable(String profileId, String name, double batteryCapacityKwh, double maxAcKw, double maxDcKw,
+                             double[] curveSoc, double[] curveKw, float[][] acMinutes, float[][] dcMinutes) {
+        this.profileId = profileId;
+        this.name = name;
+        this.batteryCapacityKwh = batteryCapacityKwh;
+        this.maxAcKw = maxAcKw;
+        this.maxDcKw = maxDcKw;
+        this.curveSoc = curveSoc;
+        this.curveKw = curveKw;
+        this.acMinutes = acMinutes;
+        this.dcMinutes = dcMinutes;
+    }
+
+    /**
+     * @param curveSoc Curve points' state of charge (%), ascending
+     * @param curveKw DC power accepted at each point
+     */
+    static ChargeCurveTable build(String profileId, String name, double batteryCapacityKwh,
+                                  double maxAcKw, double maxDcKw, double[] curveSoc, double[] curveKw) {
+        if (curveSoc.length == 0 || curveSoc.length != curveKw.length) {
+            throw new IllegalArgumentException("Invalid charge curve for vehicle profile " + profileId);
+        }
+        double kwhPerPercent = batteryCapacityKwh / 100.0;
+
+        float[][] ac = new float[AC_CLASSES_KW.length][];
+        for (int c = 0; c < AC_CLASSES_KW.length; c++) {
+            double kw = Math.min(AC_CLASSES_KW[c], maxAcKw);
+            ac[c] = cumulativeMinutes(kwhPerPercent, soc -> kw);
+        }
+
+        float[][] dc = new float[DC_CLASSES_KW.length][];
+        for (int c = 0; c < DC_CLASSES_KW.length; c++) {
+            double cap = Math.min(DC_CLASSES_KW[c], maxDcKw);
+            dc[c] = cumulativeMinutes(kwhPerPercent, soc -> Math.min(cap, interpolate(curveSoc, curveKw, soc)));
+        }
+
+        return new ChargeCurveTable(profileId, name, batteryCapacityKwh, maxAcKw, maxDcKw,
+                curveSoc.clone(), curveKw.clone(), ac, dc);
+    }
+
+    public String getProfileId() {
+        return profileId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getBatteryCapacityKwh() {
+        return batteryCapacityKwh;
+    }
+
+    public double getMaxAcKw() {
+        return maxAcKw;
+    }
+
+    public double getMaxDcKw() {
+        return maxDcKw;
+    }
+
+    /**
+     * Minutes to charge from fromPercent to toPercent on a port (table lookup, integrated for ports
+     * below the lowest class)
+     * @param batteryCapacityKwh Actual battery capacity; the profile's tables are scaled to it
+     */
+    public int chargeMinutes(boolean dc, double portKw, int fromPercent, int toPercent, double batteryCapacityKwh) {
+        if (toPercent <= fromPercent) {
+            return 0;
+        }
+        int from = clampPercent(fromPercent);
+        int to = clampPercent(toPercent);
+        int classIndex = classIndex(dc ? DC_CLASSES_KW : AC_CLASSES_KW, portKw);
+        double profileMinutes;
+        if (classIndex < 0) {
+            profileMinutes = minutesAtExactPower(dc, portKw, from, to);
+        } else {
+            float[] minutes = dc ? dcMinutes[classIndex] : acMinutes[classIndex];
+            profileMinutes = minutes[to] - minutes[from];
+        }
+        return (int) Math.ceil(profileMinutes * batteryCapacityKwh / this.batteryCapacityKwh);
+    }
+
+    /**
+     * Peak power the vehicle draws from a port (before the curve tapers)
+     */
+    public double peakKw(boolean dc, double portKw) {
+        return Math.min(portKw, dc ? maxDcKw : maxAcKw);
+    }
+
+    /**
+     * Profile minutes from fromPercent to toPercent with the accepted power capped at portKw,
+     * integrated in the same 1% steps as the tables
+     */
+    private double minutesAtExactPower(boolean dc, double portKw, int fromPercent, int toPercent) {
+        double kwhPerPercent = batteryCapacityKwh / 100.0;
+        double total = 0;
+        for (int soc = fromPercent; soc < toPercent; soc++) {
+            total += percentMinutes(kwhPerPercent, dc
+                    ? Math.min(Math.min(portKw, maxDcKw), interpolate(curveSoc, curveKw, soc + 0.5))
+                    : Math.min(portKw, maxAcKw));
+        }
+        return total;
+    }
+
+    private static float[] cumulativeMinutes(double kwhPerPercent, DoubleUnaryOperator kwAtSoc) {
+        float[] minutes = new float[101];
+        double total = 0;
+        for (int soc = 0; soc < 100; soc++) {
+            total += percentMinutes(kwhPerPercent, kwAtSoc.applyAsDouble(soc + 0.5));
+            minutes[soc + 1] = (float) total;
+        }
+        return minutes;
+    }
+
+    private static double percentMinutes(double kwhPerPercent, double kw) {
+        return kwhPerPercent / Math.max(0.1, kw) * 60;
+    }
+
+    private static double interpolate(double[] xs, double[] ys, double x) {
+        if (x <= xs[0]) {
+            return ys[0];
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (x <= xs[i]) {
+                double t = (x - xs[i - 1]) / (xs[i] - xs[i - 1]);
+                return ys[i - 1] + t * (ys[i] - ys[i - 1]);
+            }
+        }
+        return ys[ys.length - 1];
+    }
+
+    /**
+     * Highest class not above portKw, -1 for ports below the lowest class
+     */
+    private static int classIndex(double[] classes, double portKw) {
+        int index = Arrays.binarySearch(classes, portKw);
+        if (index >= 0) {
+            return index;
+        }
+        return -index - 2;
+    }
+
+    private static int clampPercent(int percent) {
+        return Math.max(0, Math.min(100, percent));
+    }
+}
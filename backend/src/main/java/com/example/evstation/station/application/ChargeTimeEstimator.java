@@ -0,0 +1,68 @@
+package com.example.evstation.station.application;
+
+/**
+ * Charge-time model of one vehicle: the precomputed tables of its profile's charge curve when a
+ * vehicle profile is known, otherwise the flat model (constant power capped at vehicleMaxChargeKw
+ * up to 80%, half of it above 80%).
+ */
+public final class ChargeTimeEstimator {
+
+    /** AC ports without a rated power are assumed to deliver this (typical wallbox) */
+    public static final double ASSUMED_AC_KW = 7.0;
+
+    private static final int TAPER_START_PERCENT = 80;
+    private static final double TAPER_POWER_FACTOR = 0.5;
+
+    private final double batteryCapacityKwh;
+    private final double vehicleMaxChargeKw;
+    private final ChargeCurveTable profile;
+
+    private ChargeTimeEstimator(double batteryCapacityKwh, double vehicleMaxChargeKw, ChargeCurveTable profile) {
+        this.batteryCapacityKwh = batteryCapacityKwh;
+        this.vehicleMaxChargeKw = vehicleMaxChargeKw;
+        this.profile = profile;
+    }
+
+    public static ChargeTimeEstimator flat(double batteryCapacityKwh, double vehicleMaxChargeKw) {
+        return new ChargeTimeEstimator(batteryCapacityKwh, vehicleMaxChargeKw, null);
+    }
+
+    public static ChargeTimeEstimator forProfile(ChargeCurveTable profile, double batteryCapacityKwh) {
+        return new ChargeTimeEstimator(batteryCapacityKwh, profile.getMaxDcKw(), profile);
+    }
+
+    /**
+     * @return Vehicle profile, null for the flat model
+     */
+    public ChargeCurveTable getProfile() {
+        return profile;
+    }
+
+    public double getBatteryCapacityKwh() {
+        return batteryCapacityKwh;
+    }
+
+    /**
+     * Minutes to charge from fromPercent to toPercent on a port of the given type and rated power
+     */
+    public int chargeMinutes(boolean dc, double portKw, int fromPercent, int toPercent) {
+        if (toPercent <= fromPercent) {
+            return 0;
+        }
+        if (profile != null) {
+            return profile.chargeMinutes(dc, portKw, fromPercent, toPercent, batteryCapacityKwh);
+        }
+        double neededKwh = batteryCapacityKwh * (toPercent - fromPercent) / 100.0;
+        double fullPowerKwh = toPercent <= TAPER_START_PERCENT ? neededKwh
+                : Math.max(0, batteryCapacityKwh * (TAPER_START_PERCENT - fromPercent) / 100.0);
+        double weightedKwh = fullPowerKwh + (neededKwh - fullPowerKwh) / TAPER_POWER_FACTOR;
+        return (int) Math.ceil(weightedKwh / effectiveKw(dc, portKw) * 60);
+    }
+
+    /**
+     * Power the vehicle draws from the port before any taper
+     */
+    public double effectiveKw(boolean dc, double portKw) {
+        return profile != null ? profile.peakKw(dc, portKw) : Math.min(portKw, vehicleMaxChargeKw);
+    }
+}
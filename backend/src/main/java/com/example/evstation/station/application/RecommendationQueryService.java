@@ -4,9 +4,18 @@ import com.example.evstation.api.ev_user_mobile.dto.ChargingSummaryDTO;
 import com.example.evstation.api.ev_user_mobile.dto.PortInfoDTO;
 import com.example.evstation.api.ev_user_mobile.dto.RecommendationRequestDTO;
 import com.example.evstation.api.ev_user_mobile.dto.RecommendationResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.RouteRecommendationRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.RouteRecommendationResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.VehicleProfileDTO;
+import com.example.evstation.booking.application.StationFreeUnitService;
 import com.example.evstation.common.error.BusinessException;
 import com.example.evstation.common.error.ErrorCode;
-import com.example.evstation.trust.infrastructure.jpa.StationTrustJpaRepository;
+import com.example.evstation.station.application.port.RecommendationCandidate;
+import com.example.evstation.station.application.port.TravelLegs;
+import com.example.evstation.station.application.port.TravelTimeProvider;
+import com.example.evstation.station.domain.PowerType;
+import com.example.evstation.station.infrastructure.cache.RecommendationCandidateCache;
+import com.example.evstation.station.infrastructure.jpa.PortSummaryJson;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
@@ -18,8 +27,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -27,10 +41,45 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class RecommendationQueryService {
     
+    private static final int CANDIDATE_FETCH_SIZE = 256;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double DEFAULT_CORRIDOR_KM = 5.0;
+    private static final int DEFAULT_RESERVE_PERCENT = 10;
+    private static final int AVAILABILITY_OVERFETCH = 3;
+    private static final int MIN_CHARGE_WINDOW_MINUTES = 15;
+    private static final double MAX_ROUTED_LEG_FACTOR = 3.0;
+    
+    /** Candidate row columns 0-4, followed by a distance in km (5) */
+    private static final String CANDIDATE_STATION_COLUMNS = """
+                ps.station_id,
+                ps.name,
+                ps.address,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+            """;
+    
+    /** Candidate row columns 6-9 */
+    private static final String CANDIDATE_PORT_COLUMNS = """
+                ps.trust_score,
+                CAST(ps.ports AS TEXT) as ports,
+                CAST(ps.max_dc_kw AS DOUBLE PRECISION) as max_dc_kw,
+                (SELECT MAX(COALESCE(CAST(p->>'powerKw' AS DOUBLE PRECISION), :assumedAcKw))
+                 FROM jsonb_array_elements(ps.ports) p
+                 WHERE p->>'powerType' = 'AC') as max_ac_kw
+            """;
+    
     @PersistenceContext
     private final EntityManager entityManager;
     
-    private final StationTrustJpaRepository trustRepository;
+    private final VehicleProfileCatalog vehicleProfileCatalog;
+    
+    private final RecommendationCandidateCache candidateCache;
+    
+    private final TravelTimeProvider travelTimeProvider;
+    
+    private final StationFreeUnitService stationFreeUnitService;
+    
+    private final Clock clock;
     
     @Value("${app.recommendation.default-average-speed-kmph:30.0}")
     private double defaultAverageSpeedKmph;
@@ -47,6 +96,9 @@ public class RecommendationQueryService {
     @Value("${app.recommendation.default-limit:10}")
     private int defaultLimit;
     
+    @Value("${app.recommendation.unavailable-penalty-minutes:30}")
+    private int unavailablePenaltyMinutes;
+    
     public RecommendationResponseDTO getRecommendations(RecommendationRequestDTO request) {
         // Normalize inputs
         int targetPercent = request.getTargetPercent() != null ? request.getTargetPercent() : defaultTargetPercent;
@@ -66,48 +118,60 @@ public class RecommendationQueryService {
         double targetEnergy = request.getBatteryCapacityKwh() * targetPercent / 100.0;
         double neededKwh = Math.max(0, targetEnergy - currentEnergy);
         
-        // Get candidate stations with ports and distance
-        List<StationWithPortsAndDistance> candidates = findStationsWithPortsAndDistance(
-                request.getCurrentLocation().getLat(),
-                request.getCurrentLocation().getLng(),
-                request.getRadiusKm()
-        );
-        
-        // Evaluate each station
-        List<RecommendationResponseDTO.RecommendationResultDTO> results = new ArrayList<>();
-        
-        for (StationWithPortsAndDistance candidate : candidates) {
-            RecommendationResponseDTO.RecommendationResultDTO result = evaluateStation(
-                    candidate,
-                    neededKwh,
-                    request.getBatteryCapacityKwh(),
-                    request.getBatteryPercent(),
-                    targetPercent,
-                    vehicleMaxChargeKw,
-                    averageSpeedKmph
-            );
-            
-            if (result != null) {
-                results.add(result);
-            }
+        // Charge curve of the vehicle profile if given, otherwise the flat model
+        ChargeTimeEstimator estimator = vehicleProfileCatalog.estimator(
+                request.getVehicleProfileId(), request.getBatteryCapacityKwh(), vehicleMaxChargeKw);
+        int batteryPercent = request.getBatteryPercent();
+        
+        // Score candidates as they stream from the spatial query, keeping only the top N rows
+        // (more when availability may reorder them)
+        boolean penalizeUnavailable = Boolean.TRUE.equals(request.getPenalizeUnavailable());
+        RecommendationRanker<RecommendationCandidate> ranker = new RecommendationRanker<>(
+                penalizeUnavailable ? limit * AVAILABILITY_OVERFETCH : limit);
+        
+        double lat = request.getCurrentLocation().getLat();
+        double lng = request.getCurrentLocation().getLng();
+        ToIntFunction<RecommendationCandidate> travel;
+        if (travelTimeProvider.isRouting()) {
+            // Road travel times need all candidates for one one-to-many search
+            List<RecommendationCandidate> candidates = new ArrayList<>();
+            forEachCandidate(lat, lng, request.getRadiusKm(), candidates::add);
+            travel = routedTravelMinutes(lat, lng, request.getRadiusKm(), candidates, averageSpeedKmph);
+            candidates.forEach(candidate -> offerCandidate(ranker, candidate, travel.applyAsInt(candidate),
+                    estimator, batteryPercent, targetPercent));
+        } else {
+            travel = candidate -> travelMinutes(candidate.distanceKm(), averageSpeedKmph);
+            forEachCandidate(lat, lng, request.getRadiusKm(), candidate -> offerCandidate(ranker, candidate,
+                    travel.applyAsInt(candidate), estimator, batteryPercent, targetPercent));
         }
         
-        // Sort by totalMinutes, then travelMinutes, then chargeMinutes, then trustScore desc
-        results.sort((a, b) -> {
-            int totalCompare = Integer.compare(a.getEstimate().getTotalMinutes(), b.getEstimate().getTotalMinutes());
-            if (totalCompare != 0) return totalCompare;
-            
-            int travelCompare = Integer.compare(a.getEstimate().getTravelMinutes(), b.getEstimate().getTravelMinutes());
-            if (travelCompare != 0) return travelCompare;
-            
-            int chargeCompare = Integer.compare(a.getEstimate().getChargeMinutes(), b.getEstimate().getChargeMinutes());
-            if (chargeCompare != 0) return chargeCompare;
-            
-            return Integer.compare(b.getTrustScore(), a.getTrustScore()); // desc
-        });
+        // Free matching units at each winner's arrival window, in one booking query
+        List<RecommendationCandidate> winners = ranker.drainBestFirst();
+        Instant now = clock.instant();
+        Map<UUID, StationFreeUnitService.StationWindow> windows = new HashMap<>();
+        for (RecommendationCandidate candidate : winners) {
+            windows.put(candidate.stationId(), arrivalWindow(candidate, now, travel.applyAsInt(candidate),
+                    estimator, batteryPercent, targetPercent));
+        }
+        Map<UUID, StationFreeUnitService.FreeUnits> freeUnits = stationFreeUnitService.countFreeUnits(windows.values());
+        
+        if (penalizeUnavailable) {
+            // Same travel + charge total the ranker scored, plus the penalty. Stable sort: equal
+            // penalized totals keep the ranker's order
+            List<RecommendationCandidate> reranked = new ArrayList<>(winners);
+            reranked.sort(Comparator.comparingLong(candidate -> penalizedTotalMinutes(
+                    travel.applyAsInt(candidate), bestPortChargeMinutes(candidate, estimator, batteryPercent, targetPercent),
+                    freeUnits.get(candidate.stationId()))));
+            winners = reranked.subList(0, Math.min(limit, reranked.size()));
+        }
         
-        // Take top N
-        results = results.stream().limit(limit).collect(Collectors.toList());
+        // Materialize DTOs and explanations for the winners only
+        List<RecommendationResponseDTO.RecommendationResultDTO> results = new ArrayList<>(limit);
+        for (RecommendationCandidate candidate : winners) {
+            UUID stationId = candidate.stationId();
+            results.add(buildResult(candidate, travel.applyAsInt(candidate), neededKwh, estimator, batteryPercent, targetPercent,
+                    vehicleMaxChargeKw, windows.get(stationId), freeUnits.get(stationId)));
+        }
         
         // Build response
         RecommendationResponseDTO.RecommendationInputDTO input = RecommendationResponseDTO.RecommendationInputDTO.builder()
@@ -122,6 +186,7 @@ public class RecommendationQueryService {
                 .consumptionKwhPerKm(consumptionKwhPerKm)
                 .averageSpeedKmph(averageSpeedKmph)
                 .vehicleMaxChargeKw(vehicleMaxChargeKw)
+                .vehicleProfileId(request.getVehicleProfileId())
                 .limit(limit)
                 .build();
         
@@ -131,238 +196,493 @@ public class RecommendationQueryService {
                 .build();
     }
     
-    private List<StationWithPortsAndDistance> findStationsWithPortsAndDistance(double lat, double lng, double radiusKm) {
+    /**
+     * Recommend reachable stations within a corridor around a planned route.
+     * Stations are ranked by detour (off the route and back) plus charge time from the
+     * state of charge on arrival to targetPercent.
+     */
+    public RouteRecommendationResponseDTO getRouteRecommendations(RouteRecommendationRequestDTO request) {
+        // Normalize inputs
+        int targetPercent = request.getTargetPercent() != null ? request.getTargetPercent() : defaultTargetPercent;
+        int reservePercent = request.getReservePercent() != null ? request.getReservePercent() : DEFAULT_RESERVE_PERCENT;
+        double corridorKm = request.getCorridorKm() != null ? request.getCorridorKm() : DEFAULT_CORRIDOR_KM;
+        double averageSpeedKmph = request.getAverageSpeedKmph() != null ? request.getAverageSpeedKmph() : defaultAverageSpeedKmph;
+        double consumptionKwhPerKm = request.getConsumptionKwhPerKm() != null ? request.getConsumptionKwhPerKm() : defaultConsumptionKwhPerKm;
+        double vehicleMaxChargeKw = request.getVehicleMaxChargeKw() != null ? request.getVehicleMaxChargeKw() : defaultVehicleMaxChargeKw;
+        int limit = request.getLimit() != null ? request.getLimit() : defaultLimit;
+        double batteryCapacityKwh = request.getBatteryCapacityKwh();
+        int batteryPercent = request.getBatteryPercent();
+        
+        ChargeTimeEstimator estimator = vehicleProfileCatalog.estimator(
+                request.getVehicleProfileId(), batteryCapacityKwh, vehicleMaxChargeKw);
+        
+        // Percent of battery used per km driven
+        double percentPerKm = consumptionKwhPerKm / batteryCapacityKwh * 100.0;
+        
+        RecommendationRanker<RecommendationCandidate> ranker = new RecommendationRanker<>(limit);
+        
+        forEachRouteCandidate(toLineStringWkt(request.getRoute()), corridorKm, candidate -> {
+            double offsetKm = candidate.distanceKm();
+            int arrivalPercent = arrivalPercent(batteryPercent, candidate.alongRouteKm() + offsetKm, percentPerKm);
+            if (arrivalPercent < reservePercent) {
+                return; // not reachable with the reserve left
+            }
+            int detourMinutes = travelMinutes(2 * offsetKm, averageSpeedKmph);
+            int chargeMinutes = bestPortChargeMinutes(candidate, estimator, arrivalPercent, targetPercent);
+            ranker.offer(detourMinutes + chargeMinutes, detourMinutes, chargeMinutes, candidate.trustScore(), candidate);
+        });
+        
+        // Materialize DTOs and explanations for the winners only
+        List<RouteRecommendationResponseDTO.RouteRecommendationResultDTO> results = new ArrayList<>(limit);
+        for (RecommendationCandidate candidate : ranker.drainBestFirst()) {
+            results.add(buildRouteResult(candidate, estimator, batteryPercent, targetPercent, percentPerKm,
+                    vehicleMaxChargeKw, averageSpeedKmph));
+        }
+        
+        RouteRecommendationResponseDTO.RouteInputDTO input = RouteRecommendationResponseDTO.RouteInputDTO.builder()
+                .routePoints(request.getRoute().size())
+                .corridorKm(corridorKm)
+                .batteryPercent(batteryPercent)
+                .batteryCapacityKwh(batteryCapacityKwh)
+                .targetPercent(targetPercent)
+                .reservePercent(reservePercent)
+                .consumptionKwhPerKm(consumptionKwhPerKm)
+                .averageSpeedKmph(averageSpeedKmph)
+                .vehicleMaxChargeKw(vehicleMaxChargeKw)
+                .vehicleProfileId(request.getVehicleProfileId())
+                .limit(limit)
+                .build();
+        
+        return RouteRecommendationResponseDTO.builder()
+                .input(input)
+                .routeKm(round(routeLengthKm(request.getRoute()), 1))
+                .results(results)
+                .build();
+    }
+    
+    public List<VehicleProfileDTO> findVehicleProfiles() {
+        return vehicleProfileCatalog.findAll().stream()
+                .map(profile -> VehicleProfileDTO.builder()
+                        .id(profile.getProfileId())
+                        .name(profile.getName())
+                        .batteryCapacityKwh(profile.getBatteryCapacityKwh())
+                        .maxAcKw(profile.getMaxAcKw())
+                        .maxDcKw(profile.getMaxDcKw())
+                        .build())
+                .toList();
+    }
+    
+    /**
+     * Stream published stations within radius to the consumer, one row per station from the
+     * published_station projection, where trust_score already defaults to 50 for stations
+     * without a station_trust row. Served from the candidate cache when the radius allows it.
+     *
+     * Each row is mapped once by {@link #toCandidate}; unknown AC power counts as
+     * {@link ChargeTimeEstimator#ASSUMED_AC_KW}. Ordered by station_id, so candidates with equal
+     * scores rank the same on every request (the ranker breaks remaining ties by arrival order).
+     */
+    private void forEachCandidate(double lat, double lng, double radiusKm, Consumer<RecommendationCandidate> consumer) {
+        if (candidateCache.supportsRadius(radiusKm)) {
+            candidateCache.forEachCandidate(lat, lng, radiusKm, this::findCandidates, consumer);
+            return;
+        }
+        streamCandidates(candidateQuery(lat, lng, radiusKm), consumer);
+    }
+    
+    private List<RecommendationCandidate> findCandidates(double lat, double lng, double radiusKm) {
+        List<RecommendationCandidate> candidates = new ArrayList<>();
+        streamCandidates(candidateQuery(lat, lng, radiusKm), candidates::add);
+        return candidates;
+    }
+    
+    private Query candidateQuery(double lat, double lng, double radiusKm) {
         double radiusMeters = radiusKm * 1000;
         
-        // Query stations with distance and ports
-        String query = """
-            SELECT 
-                sv.station_id,
-                sv.name,
-                sv.address,
-                ST_Y(CAST(sv.location AS geometry)) as lat,
-                ST_X(CAST(sv.location AS geometry)) as lng,
+        String query = "SELECT " + CANDIDATE_STATION_COLUMNS + """
                 CAST(ST_Distance(
-                    CAST(sv.location AS geography),
+                    ps.location,
                     CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography)
                 ) AS DOUBLE PRECISION) / 1000.0 as distance_km,
-                cp.power_type,
-                cp.power_kw,
-                cp.port_count
-            FROM station_version sv
-            JOIN station_service ss ON sv.id = ss.station_version_id
-            JOIN charging_port cp ON ss.id = cp.station_service_id
-            WHERE sv.workflow_status = 'PUBLISHED'
+            """ + CANDIDATE_PORT_COLUMNS + """
+            FROM published_station ps
+            WHERE ps.total_ports > 0
             AND ST_DWithin(
-                CAST(sv.location AS geography),
+                ps.location,
                 CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography),
                 :radiusMeters
             )
-            ORDER BY sv.station_id, cp.power_type, cp.power_kw DESC NULLS LAST
+            ORDER BY ps.station_id
             """;
         
         Query nativeQuery = entityManager.createNativeQuery(query);
         nativeQuery.setParameter("lat", lat);
         nativeQuery.setParameter("lng", lng);
         nativeQuery.setParameter("radiusMeters", radiusMeters);
+        nativeQuery.setParameter("assumedAcKw", ChargeTimeEstimator.ASSUMED_AC_KW);
+        nativeQuery.setHint("org.hibernate.fetchSize", CANDIDATE_FETCH_SIZE);
+        return nativeQuery;
+    }
+    
+    /**
+     * Stream published stations within corridorKm of the route to the consumer, in one
+     * ST_DWithin against the route linestring (GiST index on published_station.location).
+     *
+     * Candidates as {@link #forEachCandidate} with distanceKm the distance to the route, plus
+     * alongRouteKm: route distance from the start to the point nearest the station.
+     */
+    private void forEachRouteCandidate(String routeWkt, double corridorKm, Consumer<RecommendationCandidate> consumer) {
+        String query = """
+            WITH route AS (
+                SELECT CAST(ST_GeomFromText(:routeWkt, 4326) AS geography) AS geog
+            )
+            SELECT
+            """ + CANDIDATE_STATION_COLUMNS + """
+                CAST(ST_Distance(ps.location, r.geog) AS DOUBLE PRECISION) / 1000.0 as offset_km,
+            """ + CANDIDATE_PORT_COLUMNS + """
+                , ST_LineLocatePoint(CAST(r.geog AS geometry), CAST(ps.location AS geometry))
+                    * ST_Length(r.geog) / 1000.0 as along_route_km
+            FROM published_station ps
+            CROSS JOIN route r
+            WHERE ps.total_ports > 0
+            AND ST_DWithin(ps.location, r.geog, :corridorMeters)
+            ORDER BY ps.station_id
+            """;
         
-        @SuppressWarnings("unchecked")
-        List<Object[]> rows = nativeQuery.getResultList();
-        
-        // Group by station
-        Map<UUID, StationWithPortsAndDistance> stationMap = new LinkedHashMap<>();
-        
-        for (Object[] row : rows) {
-            UUID stationId = (UUID) row[0];
-            String name = (String) row[1];
-            String address = (String) row[2];
-            Double stationLat = ((Number) row[3]).doubleValue();
-            Double stationLng = ((Number) row[4]).doubleValue();
-            Double distanceKm = ((Number) row[5]).doubleValue();
-            String powerType = (String) row[6];
-            BigDecimal powerKw = row[7] != null ? (BigDecimal) row[7] : null;
-            Integer portCount = ((Number) row[8]).intValue();
-            
-            StationWithPortsAndDistance station = stationMap.computeIfAbsent(stationId, id -> {
-                Integer trustScore = trustRepository.findById(id)
-                        .map(trust -> trust.getScore())
-                        .orElse(50);
-                
-                return new StationWithPortsAndDistance(
-                        id, name, address, stationLat, stationLng, distanceKm, trustScore, new ArrayList<>()
-                );
-            });
-            
-            station.ports.add(PortInfoDTO.builder()
-                    .powerType(powerType)
-                    .powerKw(powerKw)
-                    .count(portCount)
-                    .build());
-        }
+        Query nativeQuery = entityManager.createNativeQuery(query);
+        nativeQuery.setParameter("routeWkt", routeWkt);
+        nativeQuery.setParameter("corridorMeters", corridorKm * 1000);
+        nativeQuery.setParameter("assumedAcKw", ChargeTimeEstimator.ASSUMED_AC_KW);
+        nativeQuery.setHint("org.hibernate.fetchSize", CANDIDATE_FETCH_SIZE);
         
-        return new ArrayList<>(stationMap.values());
+        streamCandidates(nativeQuery, consumer);
     }
     
-    private RecommendationResponseDTO.RecommendationResultDTO evaluateStation(
-            StationWithPortsAndDistance candidate,
-            double neededKwh,
-            double batteryCapacityKwh,
-            int batteryPercent,
-            int targetPercent,
-            double vehicleMaxChargeKw,
-            double averageSpeedKmph) {
+    private static void streamCandidates(Query nativeQuery, Consumer<RecommendationCandidate> consumer) {
+        @SuppressWarnings("unchecked")
+        Stream<Object[]> rows = nativeQuery.getResultStream();
         
-        if (candidate.ports.isEmpty()) {
-            return null; // Skip stations without ports
+        try (rows) {
+            rows.forEach(row -> consumer.accept(toCandidate(row)));
         }
-        
-        // Evaluate each port option and pick the best one
-        RecommendationResponseDTO.RecommendationResultDTO bestResult = null;
-        int bestTotalMinutes = Integer.MAX_VALUE;
-        
-        // Prefer DC ports first
-        List<PortInfoDTO> dcPorts = candidate.ports.stream()
-                .filter(p -> "DC".equals(p.getPowerType()) && p.getPowerKw() != null)
-                .sorted((a, b) -> b.getPowerKw().compareTo(a.getPowerKw())) // Desc by power
-                .collect(Collectors.toList());
-        
-        List<PortInfoDTO> acPorts = candidate.ports.stream()
-                .filter(p -> "AC".equals(p.getPowerType()))
-                .collect(Collectors.toList());
-        
-        List<PortInfoDTO> portsToEvaluate = new ArrayList<>(dcPorts);
-        portsToEvaluate.addAll(acPorts);
-        
-        for (PortInfoDTO port : portsToEvaluate) {
-            EvaluationResult eval = evaluatePort(
-                    port,
-                    neededKwh,
-                    batteryCapacityKwh,
-                    batteryPercent,
-                    targetPercent,
-                    vehicleMaxChargeKw,
-                    candidate.distanceKm,
-                    averageSpeedKmph
-            );
-            
-            if (eval.totalMinutes < bestTotalMinutes) {
-                bestTotalMinutes = eval.totalMinutes;
-                bestResult = buildResult(candidate, port, eval, batteryCapacityKwh, batteryPercent, targetPercent, vehicleMaxChargeKw);
+    }
+    
+    /**
+     * Row: station_id, name, address, lat, lng, distance_km (or offset_km), trust_score,
+     * ports (JSON text), max_dc_kw (NULL if no DC port), max_ac_kw (NULL if no AC port),
+     * then along_route_km for route candidates
+     */
+    private static RecommendationCandidate toCandidate(Object[] row) {
+        return new RecommendationCandidate(
+                (UUID) row[0],
+                (String) row[1],
+                (String) row[2],
+                ((Number) row[3]).doubleValue(),
+                ((Number) row[4]).doubleValue(),
+                ((Number) row[5]).doubleValue(),
+                ((Number) row[6]).intValue(),
+                (String) row[7],
+                doubleOrNaN(row[8]),
+                doubleOrNaN(row[9]),
+                row.length > 10 ? ((Number) row[10]).doubleValue() : Double.NaN);
+    }
+    
+    private static double doubleOrNaN(Object value) {
+        return value != null ? ((Number) value).doubleValue() : Double.NaN;
+    }
+    
+    /**
+     * Charge minutes at the station's fastest port: its fastest DC port, unless its fastest AC
+     * port charges sooner (DC wins ties, as DC ports are preferred)
+     * @return Minutes, Integer.MAX_VALUE if the station has no usable port
+     */
+    private static int bestPortChargeMinutes(RecommendationCandidate candidate, ChargeTimeEstimator estimator,
+                                             int batteryPercent, int targetPercent) {
+        int dcMinutes = candidate.hasDc()
+                ? estimator.chargeMinutes(true, candidate.maxDcKw(), batteryPercent, targetPercent)
+                : Integer.MAX_VALUE;
+        int acMinutes = candidate.hasAc()
+                ? estimator.chargeMinutes(false, candidate.maxAcKw(), batteryPercent, targetPercent)
+                : Integer.MAX_VALUE;
+        return Math.min(dcMinutes, acMinutes);
+    }
+    
+    private static boolean chargesAtDc(RecommendationCandidate candidate, ChargeTimeEstimator estimator,
+                                       int batteryPercent, int targetPercent) {
+        return candidate.hasDc() && estimator.chargeMinutes(true, candidate.maxDcKw(), batteryPercent, targetPercent)
+                == bestPortChargeMinutes(candidate, estimator, batteryPercent, targetPercent);
+    }
+    
+    /**
+     * State of charge after driving distanceKm, rounded down
+     */
+    private static int arrivalPercent(int batteryPercent, double distanceKm, double percentPerKm) {
+        return (int) Math.floor(batteryPercent - distanceKm * percentPerKm);
+    }
+    
+    private static String toLineStringWkt(List<RecommendationRequestDTO.LocationDTO> route) {
+        StringBuilder wkt = new StringBuilder("LINESTRING(");
+        for (int i = 0; i < route.size(); i++) {
+            if (i > 0) {
+                wkt.append(',');
             }
+            wkt.append(route.get(i).getLng()).append(' ').append(route.get(i).getLat());
+        }
+        return wkt.append(')').toString();
+    }
+    
+    private static double routeLengthKm(List<RecommendationRequestDTO.LocationDTO> route) {
+        double km = 0;
+        for (int i = 1; i < route.size(); i++) {
+            RecommendationRequestDTO.LocationDTO a = route.get(i - 1);
+            RecommendationRequestDTO.LocationDTO b = route.get(i);
+            double dLat = Math.toRadians(b.getLat() - a.getLat());
+            double dLng = Math.toRadians(b.getLng() - a.getLng());
+            double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(Math.toRadians(a.getLat())) * Math.cos(Math.toRadians(b.getLat()))
+                    * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+            km += 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
         }
+        return km;
+    }
+    
+    /**
+     * Arrival (now + travel) until the end of the estimated charge, on units of the chosen port type
+     */
+    private static StationFreeUnitService.StationWindow arrivalWindow(
+            RecommendationCandidate candidate, Instant now, int travelMinutes, ChargeTimeEstimator estimator,
+            int batteryPercent, int targetPercent) {
+        int chargeMinutes = bestPortChargeMinutes(candidate, estimator, batteryPercent, targetPercent);
+        boolean dc = chargesAtDc(candidate, estimator, batteryPercent, targetPercent);
+        Instant arrival = now.plus(Duration.ofMinutes(travelMinutes));
+        return new StationFreeUnitService.StationWindow(
+                candidate.stationId(),
+                dc ? PowerType.DC : PowerType.AC,
+                arrival,
+                arrival.plus(Duration.ofMinutes(Math.max(MIN_CHARGE_WINDOW_MINUTES, chargeMinutes))));
+    }
+    
+    /**
+     * Travel plus charge minutes, plus the penalty if no matching unit is free at arrival.
+     * Stations without bookable units are not penalized (availability unknown). The booking window's
+     * minimum length only sizes the availability check and does not count towards the total.
+     */
+    private long penalizedTotalMinutes(int travelMinutes, int chargeMinutes,
+                                       StationFreeUnitService.FreeUnits freeUnits) {
+        long totalMinutes = (long) travelMinutes + chargeMinutes;
+        boolean noFreeUnit = freeUnits != null && freeUnits.freeUnits() == 0;
+        return noFreeUnit ? totalMinutes + unavailablePenaltyMinutes : totalMinutes;
+    }
+    
+    private static int travelMinutes(double distanceKm, double averageSpeedKmph) {
+        return (int) Math.ceil((distanceKm / averageSpeedKmph) * 60);
+    }
+    
+    private static void offerCandidate(RecommendationRanker<RecommendationCandidate> ranker,
+                                       RecommendationCandidate candidate, int travelMinutes,
+                                       ChargeTimeEstimator estimator, int batteryPercent, int targetPercent) {
+        int chargeMinutes = bestPortChargeMinutes(candidate, estimator, batteryPercent, targetPercent);
+        ranker.offer(travelMinutes + chargeMinutes, travelMinutes, chargeMinutes, candidate.trustScore(), candidate);
+    }
+    
+    /**
+     * Road drive minutes from the location to every candidate, in one search of the travel time
+     * provider. Candidates it cannot route (off the road network, or more than
+     * {@link #MAX_ROUTED_LEG_FACTOR} x radius away by road) keep the straight-line estimate.
+     */
+    private ToIntFunction<RecommendationCandidate> routedTravelMinutes(double lat, double lng, double radiusKm,
+                                                        List<RecommendationCandidate> candidates, double averageSpeedKmph) {
+        double[] lats = new double[candidates.size()];
+        double[] lngs = new double[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            lats[i] = candidates.get(i).lat();
+            lngs[i] = candidates.get(i).lng();
+        }
+        TravelLegs legs = travelTimeProvider.fromOrigin(lat, lng, lats, lngs, radiusKm * MAX_ROUTED_LEG_FACTOR);
         
-        return bestResult;
+        Map<UUID, Integer> routed = new HashMap<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (legs.isRouted(i)) {
+                routed.put(candidates.get(i).stationId(), (int) Math.ceil(legs.minutes(i)));
+            }
+        }
+        return candidate -> {
+            Integer minutes = routed.get(candidate.stationId());
+            return minutes != null ? minutes : travelMinutes(candidate.distanceKm(), averageSpeedKmph);
+        };
     }
     
-    private EvaluationResult evaluatePort(
-            PortInfoDTO port,
+    private RecommendationResponseDTO.RecommendationResultDTO buildResult(
+            RecommendationCandidate candidate,
+            int travelMinutes,
             double neededKwh,
-            double batteryCapacityKwh,
+            ChargeTimeEstimator estimator,
             int batteryPercent,
             int targetPercent,
             double vehicleMaxChargeKw,
-            double distanceKm,
-            double averageSpeedKmph) {
+            StationFreeUnitService.StationWindow window,
+            StationFreeUnitService.FreeUnits freeUnits) {
         
-        // Calculate travel time
-        int travelMinutes = (int) Math.ceil((distanceKm / averageSpeedKmph) * 60);
+        List<PortInfoDTO> ports = PortSummaryJson.parse(candidate.portsJson());
+        boolean dc = chargesAtDc(candidate, estimator, batteryPercent, targetPercent);
+        double portKw = dc ? candidate.maxDcKw() : candidate.maxAcKw();
+        double effectiveKw = estimator.effectiveKw(dc, portKw);
         
-        // Calculate charge time
-        int chargeMinutes = 0;
+        double distanceKm = candidate.distanceKm();
+        int chargeMinutes = bestPortChargeMinutes(candidate, estimator, batteryPercent, targetPercent);
         
-        if (neededKwh > 0) {
-            double effectiveKw;
-            if (port.getPowerKw() != null) {
-                // DC port
-                effectiveKw = Math.min(port.getPowerKw().doubleValue(), vehicleMaxChargeKw);
-            } else {
-                // AC port - assume 7kW typical
-                effectiveKw = Math.min(7.0, vehicleMaxChargeKw);
-            }
-            
-            double hours;
-            if (targetPercent <= 80) {
-                // Constant power
-                hours = neededKwh / effectiveKw;
-            } else {
-                // Split: up to 80% at full power, above 80% at 50% power
-                double upTo80Kwh = Math.max(0, batteryCapacityKwh * 0.8 - (batteryCapacityKwh * batteryPercent / 100.0));
-                double above80Kwh = neededKwh - upTo80Kwh;
-                hours = (upTo80Kwh / effectiveKw) + (above80Kwh / (effectiveKw * 0.5));
-            }
-            
-            chargeMinutes = (int) Math.ceil(hours * 60);
+        PortInfoDTO chosenPort = findPortGroup(candidate, ports, dc);
+        
+        // Build explanation
+        List<String> explain = new ArrayList<>();
+        explain.add(String.format("Total = travel(%dm) + charge(%dm)", travelMinutes, chargeMinutes));
+        addChargeExplanation(explain, estimator, dc, portKw, effectiveKw, vehicleMaxChargeKw, batteryPercent, targetPercent);
+        if (freeUnits != null && freeUnits.freeUnits() == 0) {
+            explain.add("Không còn trụ " + window.powerType() + " trống lúc đến (đã được đặt/giữ chỗ)");
         }
         
-        int totalMinutes = travelMinutes + chargeMinutes;
+        // Build charging summary
+        ChargingSummaryDTO chargingSummary = buildChargingSummary(ports);
         
-        return new EvaluationResult(travelMinutes, chargeMinutes, totalMinutes);
+        return RecommendationResponseDTO.RecommendationResultDTO.builder()
+                .stationId(candidate.stationId().toString())
+                .name(candidate.name())
+                .address(candidate.address())
+                .lat(candidate.lat())
+                .lng(candidate.lng())
+                .trustScore(candidate.trustScore())
+                .chosenPort(RecommendationResponseDTO.RecommendationResultDTO.ChosenPortDTO.builder()
+                        .powerType(chosenPort.getPowerType())
+                        .powerKw(chosenPort.getPowerKw())
+                        .assumedEffectiveKw(effectiveKw)
+                        .build())
+                .estimate(RecommendationResponseDTO.RecommendationResultDTO.EstimateDTO.builder()
+                        .distanceKm(round(distanceKm, 1))
+                        .travelMinutes(travelMinutes)
+                        .neededKwh(round(neededKwh, 1))
+                        .chargeMinutes(chargeMinutes)
+                        .totalMinutes(travelMinutes + chargeMinutes)
+                        .build())
+                .availability(RecommendationResponseDTO.RecommendationResultDTO.AvailabilityDTO.builder()
+                        .arrivalTime(window.start())
+                        .powerType(window.powerType().name())
+                        .totalUnits(freeUnits != null ? freeUnits.totalUnits() : null)
+                        .freeUnits(freeUnits != null ? freeUnits.freeUnits() : null)
+                        .build())
+                .explain(explain)
+                .chargingSummary(chargingSummary)
+                .build();
     }
     
-    private RecommendationResponseDTO.RecommendationResultDTO buildResult(
-            StationWithPortsAndDistance candidate,
-            PortInfoDTO chosenPort,
-            EvaluationResult eval,
-            double batteryCapacityKwh,
+    private RouteRecommendationResponseDTO.RouteRecommendationResultDTO buildRouteResult(
+            RecommendationCandidate candidate,
+            ChargeTimeEstimator estimator,
             int batteryPercent,
             int targetPercent,
-            double vehicleMaxChargeKw) {
+            double percentPerKm,
+            double vehicleMaxChargeKw,
+            double averageSpeedKmph) {
         
-        // Calculate neededKwh for explanation
-        double currentEnergy = batteryCapacityKwh * batteryPercent / 100.0;
-        double targetEnergy = batteryCapacityKwh * targetPercent / 100.0;
-        double neededKwh = Math.max(0, targetEnergy - currentEnergy);
+        double offsetKm = candidate.distanceKm();
+        double alongRouteKm = candidate.alongRouteKm();
+        int arrivalPercent = arrivalPercent(batteryPercent, alongRouteKm + offsetKm, percentPerKm);
+        double detourKm = 2 * offsetKm;
+        int detourMinutes = travelMinutes(detourKm, averageSpeedKmph);
+        double neededKwh = Math.max(0, estimator.getBatteryCapacityKwh() * (targetPercent - arrivalPercent) / 100.0);
         
-        // Calculate effective kw
-        double effectiveKw;
-        if (chosenPort.getPowerKw() != null) {
-            effectiveKw = Math.min(chosenPort.getPowerKw().doubleValue(), vehicleMaxChargeKw);
-        } else {
-            effectiveKw = Math.min(7.0, vehicleMaxChargeKw);
-        }
+        List<PortInfoDTO> ports = PortSummaryJson.parse(candidate.portsJson());
+        boolean dc = chargesAtDc(candidate, estimator, arrivalPercent, targetPercent);
+        double portKw = dc ? candidate.maxDcKw() : candidate.maxAcKw();
+        double effectiveKw = estimator.effectiveKw(dc, portKw);
+        int chargeMinutes = bestPortChargeMinutes(candidate, estimator, arrivalPercent, targetPercent);
+        PortInfoDTO chosenPort = findPortGroup(candidate, ports, dc);
         
         // Build explanation
         List<String> explain = new ArrayList<>();
-        explain.add(String.format("Total = travel(%dm) + charge(%dm)", eval.travelMinutes, eval.chargeMinutes));
+        explain.add(String.format("Total = detour(%dm) + charge(%dm)", detourMinutes, chargeMinutes));
+        explain.add(String.format("Cách điểm đầu %.1fkm theo lộ trình, lệch %.1fkm; đến nơi còn %d%%",
+                alongRouteKm, offsetKm, arrivalPercent));
+        addChargeExplanation(explain, estimator, dc, portKw, effectiveKw, vehicleMaxChargeKw, arrivalPercent, targetPercent);
+        
+        return RouteRecommendationResponseDTO.RouteRecommendationResultDTO.builder()
+                .stationId(candidate.stationId().toString())
+                .name(candidate.name())
+                .address(candidate.address())
+                .lat(candidate.lat())
+                .lng(candidate.lng())
+                .trustScore(candidate.trustScore())
+                .chosenPort(RecommendationResponseDTO.RecommendationResultDTO.ChosenPortDTO.builder()
+                        .powerType(chosenPort.getPowerType())
+                        .powerKw(chosenPort.getPowerKw())
+                        .assumedEffectiveKw(effectiveKw)
+                        .build())
+                .estimate(RouteRecommendationResponseDTO.RouteEstimateDTO.builder()
+                        .alongRouteKm(round(alongRouteKm, 1))
+                        .detourKm(round(detourKm, 1))
+                        .detourMinutes(detourMinutes)
+                        .arrivalPercent(arrivalPercent)
+                        .neededKwh(round(neededKwh, 1))
+                        .chargeMinutes(chargeMinutes)
+                        .totalMinutes(detourMinutes + chargeMinutes)
+                        .build())
+                .explain(explain)
+                .chargingSummary(buildChargingSummary(ports))
+                .build();
+    }
+    
+    /**
+     * Port group charged at: the fastest group of the chosen power type, an unknown power counting as
+     * {@link ChargeTimeEstimator#ASSUMED_AC_KW} as in the candidate query. Picked by power rather than
+     * matched against the query's max kW, which went through a DOUBLE PRECISION cast.
+     */
+    private static PortInfoDTO findPortGroup(RecommendationCandidate candidate, List<PortInfoDTO> ports, boolean dc) {
+        String powerType = dc ? "DC" : "AC";
+        PortInfoDTO fastest = null;
+        for (PortInfoDTO port : ports) {
+            if (powerType.equals(port.getPowerType())
+                    && (fastest == null || portKw(port) > portKw(fastest))) {
+                fastest = port;
+            }
+        }
+        if (fastest == null) {
+            throw new IllegalStateException("No " + powerType + " port group in published_station ports of station "
+                    + candidate.stationId() + ": " + candidate.portsJson());
+        }
+        return fastest;
+    }
+    
+    private static double portKw(PortInfoDTO port) {
+        return port.getPowerKw() != null ? port.getPowerKw().doubleValue() : ChargeTimeEstimator.ASSUMED_AC_KW;
+    }
+    
+    private static void addChargeExplanation(
+            List<String> explain,
+            ChargeTimeEstimator estimator,
+            boolean dc,
+            double portKw,
+            double effectiveKw,
+            double vehicleMaxChargeKw,
+            int batteryPercent,
+            int targetPercent) {
         
-        if (chosenPort.getPowerKw() != null) {
+        ChargeCurveTable profile = estimator.getProfile();
+        if (profile != null) {
+            explain.add(String.format("Chọn %s %.0fkW, %s nhận tối đa %.0fkW",
+                    dc ? "DC" : "AC", portKw, profile.getName(), effectiveKw));
+        } else if (dc) {
             explain.add(String.format("Chọn DC %.0fkW vì vehicleMaxChargeKw=%.0fkW => effective %.0fkW",
-                    chosenPort.getPowerKw().doubleValue(), vehicleMaxChargeKw, effectiveKw));
+                    portKw, vehicleMaxChargeKw, effectiveKw));
         } else {
             explain.add(String.format("Chọn AC (fallback) vì không có DC, effective %.0fkW", effectiveKw));
         }
         
-        if (targetPercent <= 80) {
+        if (profile != null) {
+            explain.add("Thời gian sạc " + batteryPercent + "% → " + targetPercent
+                    + "% theo đường cong sạc của " + profile.getName());
+        } else if (targetPercent <= 80) {
             explain.add("Sạc đến " + targetPercent + "% nên không áp dụng taper");
         } else {
             explain.add("Sạc đến " + targetPercent + "% nên áp dụng taper (50% power) từ 80% trở lên");
         }
-        
-        // Build charging summary
-        ChargingSummaryDTO chargingSummary = buildChargingSummary(candidate.ports);
-        
-        return RecommendationResponseDTO.RecommendationResultDTO.builder()
-                .stationId(candidate.stationId.toString())
-                .name(candidate.name)
-                .address(candidate.address)
-                .lat(candidate.lat)
-                .lng(candidate.lng)
-                .trustScore(candidate.trustScore)
-                .chosenPort(RecommendationResponseDTO.RecommendationResultDTO.ChosenPortDTO.builder()
-                        .powerType(chosenPort.getPowerType())
-                        .powerKw(chosenPort.getPowerKw())
-                        .assumedEffectiveKw(effectiveKw)
-                        .build())
-                .estimate(RecommendationResponseDTO.RecommendationResultDTO.EstimateDTO.builder()
-                        .distanceKm(round(candidate.distanceKm, 1))
-                        .travelMinutes(eval.travelMinutes)
-                        .neededKwh(round(neededKwh, 1))
-                        .chargeMinutes(eval.chargeMinutes)
-                        .totalMinutes(eval.totalMinutes)
-                        .build())
-                .explain(explain)
-                .chargingSummary(chargingSummary)
-                .build();
     }
     
     private ChargingSummaryDTO buildChargingSummary(List<PortInfoDTO> ports) {
@@ -386,41 +706,4 @@ public class RecommendationQueryService {
         bd = bd.setScale(places, RoundingMode.HALF_UP);
         return bd.doubleValue();
     }
-    
-    // Helper data class
-    private static class StationWithPortsAndDistance {
-        final UUID stationId;
-        final String name;
-        final String address;
-        final Double lat;
-        final Double lng;
-        final Double distanceKm;
-        final Integer trustScore;
-        final List<PortInfoDTO> ports;
-        
-        StationWithPortsAndDistance(UUID stationId, String name, String address, Double lat, Double lng,
-                                    Double distanceKm, Integer trustScore, List<PortInfoDTO> ports) {
-            this.stationId = stationId;
-            this.name = name;
-            this.address = address;
-            this.lat = lat;
-            this.lng = lng;
-            this.distanceKm = distanceKm;
-            this.trustScore = trustScore;
-            this.ports = ports;
-        }
-    }
-    
-    private static class EvaluationResult {
-        final int travelMinutes;
-        final int chargeMinutes;
-        final int totalMinutes;
-        
-        EvaluationResult(int travelMinutes, int chargeMinutes, int totalMinutes) {
-            this.travelMinutes = travelMinutes;
-            this.chargeMinutes = chargeMinutes;
-            this.totalMinutes = totalMinutes;
-        }
-    }
 }
-
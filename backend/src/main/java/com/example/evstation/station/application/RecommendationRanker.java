@@ -0,0 +1,145 @@
+package com.example.evstation.station.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded top-K of recommendation candidates.
+ *
+ * Scores are kept in parallel primitive arrays arranged as a binary heap whose root is the worst
+ * kept candidate, so offering a candidate is O(log K) and a candidate that cannot make the top K
+ * is rejected without allocating. Only the payload reference of kept candidates is retained.
+ *
+ * Order: totalMinutes asc, travelMinutes asc, chargeMinutes asc, trustScore desc, then arrival order.
+ */
+final class RecommendationRanker<T> {
+
+    private final int capacity;
+    private final int[] total;
+    private final int[] travel;
+    private final int[] charge;
+    private final int[] trust;
+    private final long[] sequence;
+    private final Object[] payloads;
+    private int size;
+    private long offered;
+
+    RecommendationRanker(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.total = new int[this.capacity];
+        this.travel = new int[this.capacity];
+        this.charge = new int[this.capacity];
+        this.trust = new int[this.capacity];
+        this.sequence = new long[this.capacity];
+        this.payloads = new Object[this.capacity];
+    }
+
+    /**
+     * Offer a scored candidate
+     * @return true if it is (for now) among the top K
+     */
+    boolean offer(int totalMinutes, int travelMinutes, int chargeMinutes, int trustScore, T payload) {
+        long seq = offered++;
+        if (size < capacity) {
+            set(size, totalMinutes, travelMinutes, chargeMinutes, trustScore, seq, payload);
+            siftUp(size++);
+            return true;
+        }
+        if (capacity == 0 || compare(totalMinutes, travelMinutes, chargeMinutes, trustScore, seq, 0) >= 0) {
+            return false;
+        }
+        set(0, totalMinutes, travelMinutes, chargeMinutes, trustScore, seq, payload);
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Kept payloads, best first. Empties the ranker.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> drainBestFirst() {
+        Object[] ordered = new Object[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ordered[i] = payloads[0];
+            size--;
+            if (size > 0) {
+                move(size, 0);
+                siftDown(0);
+            }
+            payloads[size] = null;
+        }
+        List<T> result = new ArrayList<>(ordered.length);
+        for (Object payload : ordered) {
+            result.add((T) payload);
+        }
+        return result;
+    }
+
+    /**
+     * Negative if the given score ranks better than the one in slot
+     */
+    private int compare(int totalMinutes, int travelMinutes, int chargeMinutes, int trustScore, long seq, int slot) {
+        if (totalMinutes != total[slot]) return Integer.compare(totalMinutes, total[slot]);
+        if (travelMinutes != travel[slot]) return Integer.compare(travelMinutes, travel[slot]);
+        if (chargeMinutes != charge[slot]) return Integer.compare(chargeMinutes, charge[slot]);
+        if (trustScore != trust[slot]) return Integer.compare(trust[slot], trustScore); // desc
+        return Long.compare(seq, sequence[slot]);
+    }
+
+    /**
+     * True if slot a ranks worse than slot b (belongs closer to the root)
+     */
+    private boolean worse(int a, int b) {
+        return compare(total[a], travel[a], charge[a], trust[a], sequence[a], b) > 0;
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!worse(slot, parent)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int left = 2 * slot + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < size && worse(right, left) ? right : left;
+            if (!worse(worst, slot)) {
+                return;
+            }
+            swap(slot, worst);
+            slot = worst;
+        }
+    }
+
+    private void set(int slot, int totalMinutes, int travelMinutes, int chargeMinutes, int trustScore,
+                     long seq, Object payload) {
+        total[slot] = totalMinutes;
+        travel[slot] = travelMinutes;
+        charge[slot] = chargeMinutes;
+        trust[slot] = trustScore;
+        sequence[slot] = seq;
+        payloads[slot] = payload;
+    }
+
+    private void move(int from, int to) {
+        set(to, total[from], travel[from], charge[from], trust[from], sequence[from], payloads[from]);
+    }
+
+    private void swap(int a, int b) {
+        int t = total[a]; total[a] = total[b]; total[b] = t;
+        t = travel[a]; travel[a] = travel[b]; travel[b] = t;
+        t = charge[a]; charge[a] = charge[b]; charge[b] = t;
+        t = trust[a]; trust[a] = trust[b]; trust[b] = t;
+        long s = sequence[a]; sequence[a] = sequence[b]; sequence[b] = s;
+        Object p = payloads[a]; payloads[a] = payloads[b]; payloads[b] = p;
+    }
+}
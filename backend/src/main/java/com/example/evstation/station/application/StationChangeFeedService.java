@@ -0,0 +1,68 @@
+package com.example.evstation.station.application;
+
+import com.example.evstation.api.ev_user_mobile.dto.StationBulkResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationChangesResponseDTO;
+import com.example.evstation.station.infrastructure.jpa.StationChangeLogEntity;
+import com.example.evstation.station.infrastructure.jpa.StationChangeLogJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Delta sync of the published station catalog for offline mobile caches.
+ *
+ * Clients start with since=0 (full catalog), apply upserted/removedStationIds, store syncToken
+ * and pass it as since next time. Changes are collapsed per station and returned as the
+ * station's current state, so applying a page is idempotent.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationChangeFeedService {
+
+    private final StationChangeLogJpaRepository changeLogRepository;
+    private final StationQueryService stationQueryService;
+
+    @Transactional(readOnly = true)
+    public StationChangesResponseDTO getChanges(long since, int limit) {
+        List<StationChangeLogEntity> entries = changeLogRepository.findAfter(since, PageRequest.of(0, limit + 1));
+
+        boolean hasMore = entries.size() > limit;
+        List<StationChangeLogEntity> page = hasMore ? entries.subList(0, limit) : entries;
+
+        Set<UUID> changedStationIds = new LinkedHashSet<>();
+        for (StationChangeLogEntity entry : page) {
+            changedStationIds.add(entry.getStationId());
+        }
+
+        StationBulkResponseDTO current = stationQueryService.findStationDetails(new ArrayList<>(changedStationIds));
+        long syncToken = page.isEmpty() ? since : page.get(page.size() - 1).getSeq();
+
+        log.debug("Station changes since {}: entries={}, upserted={}, removed={}, syncToken={}",
+                since, page.size(), current.getStations().size(), current.getNotFoundStationIds().size(), syncToken);
+
+        return StationChangesResponseDTO.builder()
+                .syncToken(syncToken)
+                .hasMore(hasMore)
+                .upserted(current.getStations())
+                .removedStationIds(current.getNotFoundStationIds())
+                .build();
+    }
+
+    /**
+     * Remove entries superseded by a later entry of the same station.
+     * Safe for every sync token: a client behind a removed entry still receives the later one.
+     */
+    @Transactional
+    public int compact() {
+        return changeLogRepository.deleteSuperseded();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.evstation.station.application;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler to compact the station change log
+ * Runs every hour so the log stays close to one entry per station
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationChangeLogCompactionScheduler {
+    
+    private final StationChangeFeedService stationChangeFeedService;
+    
+    /**
+     * Compact station change log every hour
+     */
+    @Scheduled(fixedDelay = 3600000) // 1 hour
+    public void compactChangeLog() {
+        try {
+            int removed = stationChangeFeedService.compact();
+            if (removed > 0) {
+                log.info("Scheduler compacted {} superseded station change log entries", removed);
+            }
+        } catch (Exception e) {
+            log.error("Error compacting station change log", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.evstation.station.application;
+
+import com.example.evstation.common.web.CursorPaginationResponse;
+import com.example.evstation.common.web.ETags;
+import com.example.evstation.station.application.port.StationVersionStamp;
+import org.springframework.data.domain.Page;
+
+/**
+ * ETags of station responses, derived from version stamps only.
+ * A stamp changes on every publish and every trust recalculation, so equal tags mean equal bodies.
+ */
+public final class StationETags {
+
+    private StationETags() {
+    }
+
+    public static String forStation(StationVersionStamp stamp) {
+        StringBuilder state = new StringBuilder("station");
+        appendStamp(state, stamp);
+        return ETags.strong(state);
+    }
+
+    public static String forPage(Page<StationVersionStamp> page) {
+        StringBuilder state = new StringBuilder("page:")
+                .append(page.getNumber()).append(':')
+                .append(page.getSize()).append(':')
+                .append(page.getTotalElements());
+        page.getContent().forEach(stamp -> appendStamp(state, stamp));
+        return ETags.strong(state);
+    }
+
+    public static String forCursorPage(CursorPaginationResponse<StationVersionStamp> page) {
+        StringBuilder state = new StringBuilder("cursor:")
+                .append(page.getSize()).append(':')
+                .append(page.getNextCursor()).append(':')
+                .append(page.getTotalElements());
+        page.getContent().forEach(stamp -> appendStamp(state, stamp));
+        return ETags.strong(state);
+    }
+
+    private static void appendStamp(StringBuilder state, StationVersionStamp stamp) {
+        state.append('|')
+                .append(stamp.stationId()).append(':')
+                .append(stamp.stationVersionId()).append(':')
+                .append(stamp.updatedAt());
+    }
+}
@@ -1,17 +1,27 @@
 package com.example.evstation.station.application;
 
+import com.example.evstation.api.ev_user_mobile.dto.StationBulkResponseDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationClusterDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationClusterResponseDTO;
 import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
 import com.example.evstation.api.ev_user_mobile.dto.StationListItemDTO;
+import com.example.evstation.common.error.BusinessException;
+import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.common.web.CursorPaginationResponse;
+import com.example.evstation.station.application.port.StationDetailVersion;
 import com.example.evstation.station.application.port.StationQueryRepository;
+import com.example.evstation.station.application.port.StationVersionStamp;
+import com.example.evstation.station.infrastructure.cache.StationDetailCache;
+import com.example.evstation.station.infrastructure.cluster.StationClusterIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Query Service for read-only operations (CQRS pattern)
@@ -23,11 +33,13 @@ import java.util.UUID;
 public class StationQueryService {
     
     private final StationQueryRepository queryRepository;
+    private final StationDetailCache stationDetailCache;
+    private final StationClusterIndex stationClusterIndex;
 
     /**
-     * Find published stations within radius
+     * Find version stamps of published stations within radius (one page)
      */
-    public Page<StationListItemDTO> findStationsWithinRadius(
+    public Page<StationVersionStamp> findStationStampsWithinRadius(
             double lat,
             double lng,
             double radiusKm,
@@ -35,16 +47,105 @@ public class StationQueryService {
             Boolean hasAC,
             Pageable pageable) {
         
-        return queryRepository.findPublishedStationsWithinRadius(
+        return queryRepository.findPublishedStationStampsWithinRadius(
                 lat, lng, radiusKm, minPowerKw, hasAC, pageable
         );
     }
 
     /**
-     * Find published station detail by station ID
+     * Find version stamps of published stations within radius using cursor pagination
      */
-    public Optional<StationDetailDTO> findStationDetail(UUID stationId) {
-        return queryRepository.findPublishedStationDetail(stationId);
+    public CursorPaginationResponse<StationVersionStamp> findStationStampsWithinRadiusAfter(
+            double lat,
+            double lng,
+            double radiusKm,
+            BigDecimal minPowerKw,
+            Boolean hasAC,
+            String cursor,
+            int size,
+            boolean withTotal) {
+        
+        return queryRepository.findPublishedStationStampsWithinRadiusAfter(
+                lat, lng, radiusKm, minPowerKw, hasAC, cursor, size, withTotal
+        );
+    }
+
+    /**
+     * Load the list items of a page of stamps, keeping page metadata
+     */
+    public Page<StationListItemDTO> loadStationListItems(Page<StationVersionStamp> stamps) {
+        List<StationListItemDTO> items = queryRepository.findPublishedStationListItems(stationIds(stamps.getContent()));
+        return new PageImpl<>(items, stamps.getPageable(), stamps.getTotalElements());
+    }
+
+    /**
+     * Load the list items of a cursor page of stamps, keeping cursor metadata
+     */
+    public CursorPaginationResponse<StationListItemDTO> loadStationListItems(
+            CursorPaginationResponse<StationVersionStamp> stamps) {
+        return CursorPaginationResponse.<StationListItemDTO>builder()
+                .content(queryRepository.findPublishedStationListItems(stationIds(stamps.getContent())))
+                .size(stamps.getSize())
+                .nextCursor(stamps.getNextCursor())
+                .hasNext(stamps.isHasNext())
+                .totalElements(stamps.getTotalElements())
+                .build();
+    }
+
+    /**
+     * Find published station detail with the stamp of the version it was read from
+     * (served from the Redis cache when present)
+     */
+    public Optional<StationDetailVersion> findStationDetail(UUID stationId) {
+        Optional<StationDetailVersion> cached = stationDetailCache.get(stationId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<StationDetailVersion> detail = queryRepository.findPublishedStationDetail(stationId);
+        detail.ifPresent(stationDetailCache::put);
+        return detail;
+    }
+
+    /**
+     * Find published station details for several stations: cached details first, then one query for the rest.
+     * Duplicate IDs are returned once; IDs that are not published are listed as not found.
+     */
+    public StationBulkResponseDTO findStationDetails(List<UUID> stationIds) {
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(stationIds));
+
+        Map<UUID, StationDetailDTO> detailsById = new HashMap<>();
+        stationDetailCache.getAll(distinctIds)
+                .forEach((stationId, version) -> detailsById.put(stationId, version.detail()));
+
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID stationId : distinctIds) {
+            if (!detailsById.containsKey(stationId)) {
+                missingIds.add(stationId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            List<StationDetailVersion> loaded = queryRepository.findPublishedStationDetails(missingIds);
+            stationDetailCache.putAll(loaded);
+            loaded.forEach(version -> detailsById.put(version.stamp().stationId(), version.detail()));
+        }
+
+        List<StationDetailDTO> stations = new ArrayList<>(distinctIds.size());
+        List<String> notFoundStationIds = new ArrayList<>();
+        for (UUID stationId : distinctIds) {
+            StationDetailDTO detail = detailsById.get(stationId);
+            if (detail != null) {
+                stations.add(detail);
+            } else {
+                notFoundStationIds.add(stationId.toString());
+            }
+        }
+
+        return StationBulkResponseDTO.builder()
+                .stations(stations)
+                .notFoundStationIds(notFoundStationIds)
+                .build();
     }
 
     /**
@@ -52,8 +153,58 @@ public class StationQueryService {
      */
     public Page<StationListItemDTO> searchStationsByName(
             String nameQuery,
+            Double lat,
+            Double lng,
             Pageable pageable) {
-        return queryRepository.searchPublishedStationsByName(nameQuery, pageable);
+        return queryRepository.searchPublishedStationsByName(nameQuery, lat, lng, pageable);
     }
-}
 
+    /**
+     * Clusters of published stations in a map viewport, aggregated at the given zoom level
+     */
+    public StationClusterResponseDTO findStationClusters(
+            double minLat,
+            double minLng,
+            double maxLat,
+            double maxLng,
+            int zoom) {
+
+        if (minLat > maxLat) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "minLat must not be greater than maxLat");
+        }
+
+        int effectiveZoom = Math.min(zoom, StationClusterIndex.MAX_ZOOM);
+        List<StationClusterIndex.Cluster> clusters = stationClusterIndex.findClusters(
+                minLat, minLng, maxLat, maxLng, effectiveZoom);
+
+        int totalStations = 0;
+        List<StationClusterDTO> clusterDTOs = new ArrayList<>(clusters.size());
+        for (StationClusterIndex.Cluster cluster : clusters) {
+            totalStations += cluster.stationCount();
+            clusterDTOs.add(StationClusterDTO.builder()
+                    .lat(cluster.lat())
+                    .lng(cluster.lng())
+                    .stationCount(cluster.stationCount())
+                    .totalPorts(cluster.totalPorts())
+                    .totalUnits(cluster.totalUnits())
+                    .availableUnits(cluster.freeUnits())
+                    .maxPowerKw(Double.isNaN(cluster.maxDcKw()) ? null : BigDecimal.valueOf(cluster.maxDcKw()))
+                    .stationId(cluster.stationId() != null ? cluster.stationId().toString() : null)
+                    .build());
+        }
+
+        return StationClusterResponseDTO.builder()
+                .zoom(effectiveZoom)
+                .totalStations(totalStations)
+                .clusters(clusterDTOs)
+                .build();
+    }
+
+    private static List<UUID> stationIds(List<StationVersionStamp> stamps) {
+        List<UUID> stationIds = new ArrayList<>(stamps.size());
+        for (StationVersionStamp stamp : stamps) {
+            stationIds.add(stamp.stationId());
+        }
+        return stationIds;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.evstation.station.application;
+
+import com.example.evstation.station.infrastructure.jpa.StationChangeLogJpaRepository;
+import com.example.evstation.station.infrastructure.snapshot.StationSnapshotFile;
+import com.example.evstation.station.infrastructure.snapshot.StationSnapshotWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a gzip snapshot of the published station catalog on disk for mobile prefetch.
+ *
+ * Built on startup and rebuilt by a scheduler once station_change_log has moved past the snapshot's
+ * sync token, never on the request path; a burst of publishes results in a single rebuild.
+ * Staleness comes from the shared log, so every node also picks up changes committed on other nodes.
+ * Requests stream the current file.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StationSnapshotService {
+
+    private final StationSnapshotWriter snapshotWriter;
+    private final StationChangeLogJpaRepository changeLogRepository;
+
+    @Value("${app.station-snapshot.directory:${java.io.tmpdir}/evstation-snapshots}")
+    private Path directory;
+
+    private volatile StationSnapshotFile current;
+
+    public Optional<StationSnapshotFile> getCurrentSnapshot() {
+        return Optional.ofNullable(current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildIfStale();
+    }
+
+    /**
+     * Rebuild the snapshot if the change log has entries after its sync token
+     */
+    @Scheduled(fixedDelayString = "${app.station-snapshot.rebuild-delay-ms:60000}")
+    public synchronized void rebuildIfStale() {
+        try {
+            StationSnapshotFile snapshot = current;
+            if (snapshot != null && changeLogRepository.findLatestSeq() <= snapshot.syncToken()) {
+                return;
+            }
+            StationSnapshotFile built = snapshotWriter.write(directory);
+            StationSnapshotFile previous = current;
+            current = built;
+            log.info("Station snapshot built: syncToken={}, stations={}, bytes={}",
+                    built.syncToken(), built.stationCount(), built.sizeBytes());
+            deleteOldSnapshots(previous, built);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error building station snapshot", e);
+        }
+    }
+
+    /**
+     * Keep the current and the previous file (downloads in progress may still read it)
+     */
+    private void deleteOldSnapshots(StationSnapshotFile previous, StationSnapshotFile built) {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().startsWith("stations-"))
+                    .filter(file -> !file.equals(built.path()))
+                    .filter(file -> previous == null || !file.equals(previous.path()))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            log.warn("Could not delete old station snapshot {}: {}", file, e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Could not list station snapshot directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.evstation.station.application;
+
+import com.example.evstation.common.error.BusinessException;
+import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.infrastructure.cache.StationTileCache;
+import com.example.evstation.station.infrastructure.jpa.StationChangeLogWriter;
+import com.example.evstation.station.infrastructure.jpa.StationTileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Serves Mapbox Vector Tiles of published stations, rendered by PostGIS and cached in Redis.
+ *
+ * A station change evicts the cached tiles around the station's location before and after the change.
+ * Both are read in the changing transaction, around the published_station refresh, and evicted once
+ * it commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StationTileService {
+
+    private final StationTileRepository tileRepository;
+    private final StationTileCache tileCache;
+
+    public byte[] getTile(int z, int x, int y) {
+        if (z < 0 || z > StationTileCache.MAX_ZOOM) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Zoom must be between 0 and " + StationTileCache.MAX_ZOOM);
+        }
+        int tiles = 1 << z;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Tile " + z + "/" + x + "/" + y + " is out of range");
+        }
+
+        return tileCache.get(z, x, y).orElseGet(() -> {
+            byte[] tile = tileRepository.renderTile(z, x, y);
+            tileCache.put(z, x, y, tile);
+            log.debug("Rendered station tile: {}/{}/{}, bytes={}", z, x, y, tile.length);
+            return tile;
+        });
+    }
+
+    /**
+     * Tiles showing the station where it was: read before the published_station projection is refreshed
+     */
+    @Order(StationChangeLogWriter.ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void beforeProjectionRefresh(StationChangedEvent event) {
+        evictAfterCommit(event.getStationId());
+    }
+
+    /**
+     * Tiles showing the station where it is now: read after the projection is refreshed
+     */
+    @Order(StationChangeLogWriter.ORDER + 2)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void afterProjectionRefresh(StationChangedEvent event) {
+        evictAfterCommit(event.getStationId());
+    }
+
+    private void evictAfterCommit(UUID stationId) {
+        tileRepository.findStationLocation(stationId).ifPresent(location -> {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                tileCache.evict(location[0], location[1]);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tileCache.evict(location[0], location[1]);
+                }
+            });
+        });
+    }
+}
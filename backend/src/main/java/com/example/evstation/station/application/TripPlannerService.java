@@ -0,0 +1,393 @@
+package com.example.evstation.station.application;
+
+import com.example.evstation.api.ev_user_mobile.dto.TripPlanRequestDTO;
+import com.example.evstation.api.ev_user_mobile.dto.TripPlanResponseDTO;
+import com.example.evstation.common.error.BusinessException;
+import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.station.application.port.TravelLegs;
+import com.example.evstation.station.application.port.TravelTimeProvider;
+import com.example.evstation.station.infrastructure.graph.StationGraph;
+import com.example.evstation.station.infrastructure.graph.StationGraphIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Multi-stop trip planner over the in-memory {@link StationGraph}.
+ *
+ * A* search over states (station, state of charge on arrival in {@link #LEVEL_STEP}% buckets),
+ * minimizing drive + charge minutes. Each state holds one label with the exact state of charge it
+ * arrives with; the bucket only decides which labels compete (the cheaper one wins, the higher charge
+ * on ties). At a station the plan either passes on with its exact charge or charges to a bucket
+ * boundary above it (at most maxChargePercent) using the vehicle's {@link ChargeTimeEstimator}, so
+ * charge is never lost to rounding on the way; every arrival must keep reservePercent.
+ * Legs use the road distance and drive time of the {@link TravelTimeProvider} where it routes them,
+ * otherwise the graph's road distance estimate at average speed. The heuristic is the great-circle
+ * distance to the destination at the fastest of those speeds, which never overestimates the
+ * remaining time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TripPlannerService {
+
+    private static final int LEVEL_STEP = 5;
+    private static final int LEVELS = 100 / LEVEL_STEP + 1;
+    private static final int MAX_EXPANSIONS = 2_000_000;
+    private static final int DEFAULT_MAX_CHARGE_PERCENT = 80;
+    private static final int DEFAULT_RESERVE_PERCENT = 10;
+
+    private final StationGraphIndex stationGraphIndex;
+    private final VehicleProfileCatalog vehicleProfileCatalog;
+    private final TravelTimeProvider travelTimeProvider;
+
+    @Value("${app.trip-planner.default-average-speed-kmph:60.0}")
+    private double defaultAverageSpeedKmph;
+
+    @Value("${app.trip-planner.stop-overhead-minutes:5}")
+    private int stopOverheadMinutes;
+
+    @Value("${app.recommendation.default-consumption-kwh-per-km:0.18}")
+    private double defaultConsumptionKwhPerKm;
+
+    @Value("${app.recommendation.default-vehicle-max-charge-kw:120.0}")
+    private double defaultVehicleMaxChargeKw;
+
+    public TripPlanResponseDTO planTrip(TripPlanRequestDTO request) {
+        // Normalize inputs
+        int maxChargePercent = request.getMaxChargePercent() != null ? request.getMaxChargePercent() : DEFAULT_MAX_CHARGE_PERCENT;
+        int reservePercent = request.getReservePercent() != null ? request.getReservePercent() : DEFAULT_RESERVE_PERCENT;
+        double averageSpeedKmph = request.getAverageSpeedKmph() != null ? request.getAverageSpeedKmph() : defaultAverageSpeedKmph;
+        double consumptionKwhPerKm = request.getConsumptionKwhPerKm() != null ? request.getConsumptionKwhPerKm() : defaultConsumptionKwhPerKm;
+        double vehicleMaxChargeKw = request.getVehicleMaxChargeKw() != null ? request.getVehicleMaxChargeKw() : defaultVehicleMaxChargeKw;
+
+        if (reservePercent >= maxChargePercent) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "reservePercent must be < maxChargePercent");
+        }
+
+        ChargeTimeEstimator estimator = vehicleProfileCatalog.estimator(
+                request.getVehicleProfileId(), request.getBatteryCapacityKwh(), vehicleMaxChargeKw);
+
+        Search search = new Search(
+                stationGraphIndex.getGraph(),
+                travelTimeProvider,
+                estimator,
+                request.getOrigin().getLat(), request.getOrigin().getLng(),
+                request.getDestination().getLat(), request.getDestination().getLng(),
+                request.getBatteryPercent(),
+                maxChargePercent,
+                reservePercent,
+                consumptionKwhPerKm / request.getBatteryCapacityKwh() * 100.0,
+                averageSpeedKmph,
+                stopOverheadMinutes);
+
+        List<PlannedStop> path = search.run();
+        if (path == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND,
+                    "No charging plan reaches the destination with the given battery state");
+        }
+        return buildResponse(search, path, request, estimator);
+    }
+
+    /**
+     * Replay the planned stops. Stations passed without charging are folded into the next leg.
+     */
+    private TripPlanResponseDTO buildResponse(Search search, List<PlannedStop> path, TripPlanRequestDTO request,
+                                              ChargeTimeEstimator estimator) {
+        StationGraph graph = search.graph;
+        double percent = request.getBatteryPercent();
+        double legKm = 0;
+        double legMinutes = 0;
+        double totalKm = 0;
+        int driveMinutes = 0;
+        int chargeMinutes = 0;
+        List<TripPlanResponseDTO.TripStopDTO> stops = new ArrayList<>();
+
+        for (PlannedStop stop : path) {
+            percent -= stop.legKm() * search.percentPerKm;
+            legKm += stop.legKm();
+            legMinutes += stop.legMinutes();
+
+            if (stop.departurePercent() < 0) {
+                continue; // passed without charging
+            }
+            int departurePercent = stop.departurePercent();
+            int arrivalPercent = (int) Math.floor(percent);
+            int legDriveMinutes = (int) Math.ceil(legMinutes);
+            int stopChargeMinutes = estimator.chargeMinutes(true, graph.dcKw(stop.node()), arrivalPercent, departurePercent)
+                    + search.stopOverheadMinutes;
+
+            stops.add(TripPlanResponseDTO.TripStopDTO.builder()
+                    .stationId(graph.stationId(stop.node()).toString())
+                    .name(graph.name(stop.node()))
+                    .address(graph.address(stop.node()))
+                    .lat(graph.lat(stop.node()))
+                    .lng(graph.lng(stop.node()))
+                    .maxDcKw(graph.dcKw(stop.node()))
+                    .distanceFromPreviousKm(round(legKm, 1))
+                    .driveMinutesFromPrevious(legDriveMinutes)
+                    .arrivalPercent(arrivalPercent)
+                    .departurePercent(departurePercent)
+                    .chargeMinutes(stopChargeMinutes)
+                    .build());
+
+            totalKm += legKm;
+            driveMinutes += legDriveMinutes;
+            chargeMinutes += stopChargeMinutes;
+            legKm = 0;
+            legMinutes = 0;
+            percent = departurePercent;
+        }
+
+        double finalKm = search.legKm[search.destState];
+        percent -= finalKm * search.percentPerKm;
+        legKm += finalKm;
+        legMinutes += search.legMinutes[search.destState];
+        totalKm += legKm;
+        driveMinutes += (int) Math.ceil(legMinutes);
+
+        return TripPlanResponseDTO.builder()
+                .totalKm(round(totalKm, 1))
+                .driveMinutes(driveMinutes)
+                .chargeMinutes(chargeMinutes)
+                .totalMinutes(driveMinutes + chargeMinutes)
+                .arrivalPercent((int) Math.floor(percent))
+                .stops(stops)
+                .build();
+    }
+
+    private static double round(double value, int places) {
+        return BigDecimal.valueOf(value).setScale(places, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Station on the found path, the leg driven to it and the charge it departs with
+     * @param departurePercent Charged-to percent, -1 if passed without charging
+     */
+    private record PlannedStop(int node, int departurePercent, double legKm, double legMinutes) {
+    }
+
+    private record Open(double f, double g, int state) {
+    }
+
+    /**
+     * One A* run. States are node * LEVELS + arrival level; the destination is the single state
+     * {@code n * LEVELS}. The origin is expanded up front with its exact state of charge.
+     * Legs from the origin and to the destination are routed up front, one search each.
+     */
+    private static final class Search {
+        final StationGraph graph;
+        final ChargeTimeEstimator estimator;
+        final double destLat;
+        final double destLng;
+        final double originLat;
+        final double originLng;
+        final int batteryPercent;
+        final int maxLevel;
+        final int reservePercent;
+        final double percentPerKm;
+        final double minutesPerKm;
+        final double heuristicMinutesPerKm;
+        final int stopOverheadMinutes;
+
+        final int n;
+        final int destState;
+        final double[] cost;
+        final int[] parent; // previous state, -1 for the origin
+        final double[] soc; // exact state of charge on arrival
+        final byte[] departure; // level the previous station was charged to, -1 if passed
+        final float[] legKm; // leg driven to reach the state
+        final float[] legMinutes;
+        final double[] originKm;
+        final double[] originMinutes;
+        final double[] destKm;
+        final double[] destMinutes;
+        final double[] destGreatCircleKm;
+        final PriorityQueue<Open> open = new PriorityQueue<>(Comparator.comparingDouble(Open::f));
+
+        Search(StationGraph graph, TravelTimeProvider travelTimeProvider, ChargeTimeEstimator estimator,
+               double originLat, double originLng, double destLat, double destLng,
+               int batteryPercent, int maxChargePercent, int reservePercent,
+               double percentPerKm, double averageSpeedKmph, int stopOverheadMinutes) {
+            this.graph = graph;
+            this.estimator = estimator;
+            this.originLat = originLat;
+            this.originLng = originLng;
+            this.destLat = destLat;
+            this.destLng = destLng;
+            this.batteryPercent = batteryPercent;
+            this.maxLevel = maxChargePercent / LEVEL_STEP;
+            this.reservePercent = reservePercent;
+            this.percentPerKm = percentPerKm;
+            this.minutesPerKm = 60.0 / averageSpeedKmph;
+            this.heuristicMinutesPerKm = travelTimeProvider.isRouting()
+                    ? Math.min(minutesPerKm, 60.0 / travelTimeProvider.maxSpeedKmph())
+                    : minutesPerKm;
+            this.stopOverheadMinutes = stopOverheadMinutes;
+
+            this.n = graph.size();
+            this.destState = n * LEVELS;
+            this.cost = new double[destState + 1];
+            this.parent = new int[destState + 1];
+            this.soc = new double[destState + 1];
+            this.departure = new byte[destState + 1];
+            this.legKm = new float[destState + 1];
+            this.legMinutes = new float[destState + 1];
+            Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+            // Origin to every station and the destination, every station to the destination
+            double[] lats = new double[n + 1];
+            double[] lngs = new double[n + 1];
+            for (int node = 0; node < n; node++) {
+                lats[node] = graph.lat(node);
+                lngs[node] = graph.lng(node);
+            }
+            lats[n] = destLat;
+            lngs[n] = destLng;
+            TravelLegs fromOrigin = travelTimeProvider.fromOrigin(originLat, originLng, lats, lngs,
+                    (batteryPercent - reservePercent) / percentPerKm);
+            TravelLegs toDest = travelTimeProvider.toDestination(Arrays.copyOf(lats, n), Arrays.copyOf(lngs, n),
+                    destLat, destLng, (Math.max(batteryPercent, maxChargePercent) - reservePercent) / percentPerKm);
+
+            this.originKm = new double[n + 1];
+            this.originMinutes = new double[n + 1];
+            for (int i = 0; i <= n; i++) {
+                originKm[i] = fromOrigin.isRouted(i) ? fromOrigin.km(i) : graph.roadKm(originLat, originLng, lats[i], lngs[i]);
+                originMinutes[i] = fromOrigin.isRouted(i) ? fromOrigin.minutes(i) : originKm[i] * minutesPerKm;
+            }
+            this.destKm = new double[n];
+            this.destMinutes = new double[n];
+            this.destGreatCircleKm = new double[n];
+            for (int node = 0; node < n; node++) {
+                destKm[node] = toDest.isRouted(node) ? toDest.km(node) : graph.roadKm(lats[node], lngs[node], destLat, destLng);
+                destMinutes[node] = toDest.isRouted(node) ? toDest.minutes(node) : destKm[node] * minutesPerKm;
+                destGreatCircleKm[node] = StationGraph.greatCircleKm(lats[node], lngs[node], destLat, destLng);
+            }
+        }
+
+        /**
+         * @return Stations on the cheapest path in order, null if the destination is unreachable
+         */
+        List<PlannedStop> run() {
+            expandOrigin();
+
+            int expansions = 0;
+            while (!open.isEmpty()) {
+                Open current = open.poll();
+                if (current.g() > cost[current.state()]) {
+                    continue; // stale entry
+                }
+                if (current.state() == destState) {
+                    return path();
+                }
+                if (++expansions > MAX_EXPANSIONS) {
+                    throw new BusinessException(ErrorCode.INVALID_STATE, "Trip planning exceeded the search limit");
+                }
+                expand(current.state(), current.g());
+            }
+            return null;
+        }
+
+        private void expandOrigin() {
+            double destArrival = batteryPercent - originKm[n] * percentPerKm;
+            if (destArrival >= reservePercent) {
+                relax(destState, originMinutes[n], destArrival, -1, -1, originKm[n], originMinutes[n]);
+            }
+            for (int node = 0; node < n; node++) {
+                double arrival = batteryPercent - originKm[node] * percentPerKm;
+                if (arrival >= reservePercent) {
+                    relax(node * LEVELS + level(arrival), originMinutes[node], arrival, -1, -1,
+                            originKm[node], originMinutes[node]);
+                }
+            }
+        }
+
+        private void expand(int state, double g) {
+            int node = state / LEVELS;
+            double arrivalPercent = soc[state];
+
+            // Pass on with the exact charge
+            depart(state, node, g, arrivalPercent, -1);
+
+            // Or charge to each bucket boundary above the arrival charge, up to maxLevel. Charge time
+            // counts from the arrival charge rounded down, so it is never underestimated
+            double dcKw = graph.dcKw(node);
+            for (int departLevel = level(arrivalPercent) + 1; departLevel <= maxLevel; departLevel++) {
+                double charge = estimator.chargeMinutes(true, dcKw, (int) Math.floor(arrivalPercent),
+                        departLevel * LEVEL_STEP) + stopOverheadMinutes;
+                depart(state, node, g + charge, departLevel * LEVEL_STEP, departLevel);
+            }
+        }
+
+        /**
+         * Relax the destination and the station's edges, leaving with departPercent
+         * @param departLevel Level charged to, -1 when passing without charging
+         */
+        private void depart(int state, int node, double departG, double departPercent, int departLevel) {
+            double finalArrival = departPercent - destKm[node] * percentPerKm;
+            if (finalArrival >= reservePercent) {
+                relax(destState, departG + destMinutes[node], finalArrival, state, departLevel,
+                        destKm[node], destMinutes[node]);
+            }
+
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                double km = graph.edgeKm(edge);
+                double arrival = departPercent - km * percentPerKm;
+                if (arrival < reservePercent) {
+                    continue;
+                }
+                double minutes = Double.isNaN(graph.edgeMinutes(edge)) ? km * minutesPerKm : graph.edgeMinutes(edge);
+                relax(graph.edgeTarget(edge) * LEVELS + level(arrival), departG + minutes, arrival,
+                        state, departLevel, km, minutes);
+            }
+        }
+
+        /**
+         * Keep the label if it is cheaper than the state's, or as cheap with more charge
+         */
+        private void relax(int state, double g, double arrivalPercent, int parentState, int departLevel,
+                           double km, double minutes) {
+            if (g > cost[state] || (g == cost[state] && arrivalPercent <= soc[state])) {
+                return;
+            }
+            cost[state] = g;
+            soc[state] = arrivalPercent;
+            parent[state] = parentState;
+            departure[state] = (byte) departLevel;
+            legKm[state] = (float) km;
+            legMinutes[state] = (float) minutes;
+            open.add(new Open(g + heuristic(state), g, state));
+        }
+
+        /**
+         * Minutes to drive the great-circle distance to the destination at the fastest leg speed (admissible)
+         */
+        private double heuristic(int state) {
+            if (state == destState) {
+                return 0;
+            }
+            return destGreatCircleKm[state / LEVELS] * heuristicMinutesPerKm;
+        }
+
+        private List<PlannedStop> path() {
+            LinkedList<PlannedStop> stops = new LinkedList<>();
+            int state = destState;
+            while (parent[state] >= 0) {
+                int previous = parent[state];
+                int departurePercent = departure[state] >= 0 ? departure[state] * LEVEL_STEP : -1;
+                stops.addFirst(new PlannedStop(previous / LEVELS, departurePercent, legKm[previous], legMinutes[previous]));
+                state = previous;
+            }
+            return stops;
+        }
+
+        private static int level(double percent) {
+            return Math.max(0, Math.min(LEVELS - 1, (int) Math.floor(percent / LEVEL_STEP)));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.evstation.station.application;
+
+import com.example.evstation.common.error.BusinessException;
+import com.example.evstation.common.error.ErrorCode;
+import com.example.evstation.station.infrastructure.jpa.VehicleProfileEntity;
+import com.example.evstation.station.infrastructure.jpa.VehicleProfileJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * In-memory catalog of active vehicle profiles with their precomputed {@link ChargeCurveTable}s.
+ * Profiles only change through migrations, so the catalog is loaded once on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VehicleProfileCatalog {
+
+    private final VehicleProfileJpaRepository vehicleProfileRepository;
+
+    private volatile Map<String, ChargeCurveTable> tables = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        Map<String, ChargeCurveTable> loaded = new LinkedHashMap<>();
+        for (VehicleProfileEntity profile : vehicleProfileRepository.findByActiveTrue()) {
+            loaded.put(profile.getId(), toTable(profile));
+        }
+        tables = Collections.unmodifiableMap(loaded);
+        log.info("Vehicle profile catalog loaded: {} profiles", loaded.size());
+    }
+
+    public Collection<ChargeCurveTable> findAll() {
+        return tables.values();
+    }
+
+    public Optional<ChargeCurveTable> find(String profileId) {
+        return Optional.ofNullable(tables.get(profileId));
+    }
+
+    public ChargeCurveTable require(String profileId) {
+        return find(profileId).orElseThrow(() -> new BusinessException(ErrorCode.NOT_FOUND,
+                "Vehicle profile not found: " + profileId));
+    }
+
+    /**
+     * Charge time model of a vehicle: the profile's curve if vehicleProfileId is given, otherwise the flat model
+     */
+    public ChargeTimeEstimator estimator(String vehicleProfileId, double batteryCapacityKwh, double vehicleMaxChargeKw) {
+        return vehicleProfileId != null
+                ? ChargeTimeEstimator.forProfile(require(vehicleProfileId), batteryCapacityKwh)
+                : ChargeTimeEstimator.flat(batteryCapacityKwh, vehicleMaxChargeKw);
+    }
+
+    private static ChargeCurveTable toTable(VehicleProfileEntity profile) {
+        List<Map<String, Number>> curve = profile.getChargeCurve();
+        double[] soc = new double[curve.size()];
+        double[] kw = new double[curve.size()];
+        for (int i = 0; i < curve.size(); i++) {
+            soc[i] = curve.get(i).get("soc").doubleValue();
+            kw[i] = curve.get(i).get("kw").doubleValue();
+        }
+        return ChargeCurveTable.build(
+                profile.getId(),
+                profile.getName(),
+                profile.getBatteryCapacityKwh().doubleValue(),
+                profile.getMaxAcKw().doubleValue(),
+                profile.getMaxDcKw().doubleValue(),
+                soc,
+                kw);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.evstation.station.application.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Application event raised when the published view of a station changes.
+ * Read models (caches, indexes, projections) listen to it after commit.
+ *
+ * PUBLISHED also covers archiving of the previously published version,
+ * since both happen in the same transaction.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class StationChangedEvent {
+
+    public enum ChangeType {
+        PUBLISHED,
+        DELETED,
+        TRUST_UPDATED
+    }
+
+    private final UUID stationId;
+    private final ChangeType changeType;
+}
@@ -0,0 +1,38 @@
+package com.example.evstation.station.application.port;
+
+import java.util.UUID;
+
+/**
+ * One published station considered for a recommendation, mapped once from its candidate query row.
+ * Absent values are NaN: maxDcKw without a DC port, maxAcKw without an AC port (unknown AC power
+ * counts as the assumed AC power), alongRouteKm outside route recommendations.
+ *
+ * @param distanceKm distance from the request location, or from the route for route recommendations
+ * @param portsJson ports of the published_station projection, ordered by power type, then power kW desc
+ */
+public record RecommendationCandidate(
+        UUID stationId,
+        String name,
+        String address,
+        double lat,
+        double lng,
+        double distanceKm,
+        int trustScore,
+        String portsJson,
+        double maxDcKw,
+        double maxAcKw,
+        double alongRouteKm) {
+
+    public boolean hasDc() {
+        return !Double.isNaN(maxDcKw);
+    }
+
+    public boolean hasAc() {
+        return !Double.isNaN(maxAcKw);
+    }
+
+    public RecommendationCandidate withDistanceKm(double distanceKm) {
+        return new RecommendationCandidate(stationId, name, address, lat, lng, distanceKm, trustScore,
+                portsJson, maxDcKw, maxAcKw, alongRouteKm);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.evstation.station.application.port;
+
+import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
+
+/**
+ * Published station detail together with the stamp of the version it was read from
+ */
+public record StationDetailVersion(StationVersionStamp stamp, StationDetailDTO detail) {
+}
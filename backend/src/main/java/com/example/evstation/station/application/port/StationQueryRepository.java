@@ -1,11 +1,12 @@
 package com.example.evstation.station.application.port;
 
 import com.example.evstation.api.ev_user_mobile.dto.StationListItemDTO;
-import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
+import com.example.evstation.common.web.CursorPaginationResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,16 +17,17 @@ import java.util.UUID;
 public interface StationQueryRepository {
     
     /**
-     * Find published stations within radius
+     * Find published stations within radius, ordered by distance.
+     * Only version stamps are returned; load the items with {@link #findPublishedStationListItems(List)}.
      * @param lat Latitude
      * @param lng Longitude
      * @param radiusKm Radius in kilometers
      * @param minPowerKw Optional: filter DC ports with power_kw >= minPowerKw
      * @param hasAC Optional: filter stations that have AC ports
      * @param pageable Pagination
-     * @return Page of StationListItemDTO
+     * @return Page of StationVersionStamp
      */
-    Page<StationListItemDTO> findPublishedStationsWithinRadius(
+    Page<StationVersionStamp> findPublishedStationStampsWithinRadius(
             double lat,
             double lng,
             double radiusKm,
@@ -35,20 +37,65 @@ public interface StationQueryRepository {
     );
 
     /**
-     * Find published station detail by station ID
+     * Find published stations within radius using keyset (cursor) pagination.
+     * Results are ordered by distance (PostGIS KNN) then station ID, so every page
+     * costs the same regardless of how deep the client has scrolled.
+     * Only version stamps are returned; load the items with {@link #findPublishedStationListItems(List)}.
+     * @param lat Latitude
+     * @param lng Longitude
+     * @param radiusKm Radius in kilometers
+     * @param minPowerKw Optional: filter DC ports with power_kw >= minPowerKw
+     * @param hasAC Optional: filter stations that have AC ports
+     * @param cursor Opaque cursor from the previous page, null for the first page
+     * @param size Page size
+     * @param withTotal Count total matches (first page only)
+     * @return Cursor page of StationVersionStamp
+     */
+    CursorPaginationResponse<StationVersionStamp> findPublishedStationStampsWithinRadiusAfter(
+            double lat,
+            double lng,
+            double radiusKm,
+            BigDecimal minPowerKw,
+            Boolean hasAC,
+            String cursor,
+            int size,
+            boolean withTotal
+    );
+
+    /**
+     * Load list items of published stations
+     * @param stationIds Station IDs
+     * @return StationListItemDTO in the order of stationIds, skipping stations that are no longer published
+     */
+    List<StationListItemDTO> findPublishedStationListItems(List<UUID> stationIds);
+
+    /**
+     * Find published station detail by station ID, with the stamp of the version it was read from
      * @param stationId Station ID
-     * @return StationDetailDTO or empty if not found or not published
+     * @return StationDetailVersion or empty if not found or not published
+     */
+    Optional<StationDetailVersion> findPublishedStationDetail(UUID stationId);
+
+    /**
+     * Find published station details by station IDs in one query, each with the stamp it was read from
+     * @param stationIds Station IDs
+     * @return StationDetailVersion in the order of stationIds, skipping stations that are not published
      */
-    Optional<StationDetailDTO> findPublishedStationDetail(UUID stationId);
+    List<StationDetailVersion> findPublishedStationDetails(List<UUID> stationIds);
 
     /**
-     * Search published stations by name (case-insensitive, partial match)
+     * Search published stations by name or address (case- and accent-insensitive, partial match).
+     * Results are ranked by name similarity, then by distance from (lat, lng) when given.
      * @param nameQuery Search query for station name
+     * @param lat Optional: user latitude for distance tie-breaking
+     * @param lng Optional: user longitude for distance tie-breaking
      * @param pageable Pagination
      * @return Page of StationListItemDTO
      */
     Page<StationListItemDTO> searchPublishedStationsByName(
             String nameQuery,
+            Double lat,
+            Double lng,
             Pageable pageable
     );
 }
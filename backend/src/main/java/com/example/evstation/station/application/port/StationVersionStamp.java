@@ -0,0 +1,12 @@
+package com.example.evstation.station.application.port;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Identifies the state of a published station without loading it: the published version
+ * plus the time its read model (ports, trust score) was last refreshed.
+ * @param distanceMeters Distance from the search origin, null outside radius queries
+ */
+public record StationVersionStamp(UUID stationId, UUID stationVersionId, Instant updatedAt, Double distanceMeters) {
+}
@@ -0,0 +1,42 @@
+package com.example.evstation.station.application.port;
+
+import java.util.Arrays;
+
+/**
+ * Road distance and drive time of the legs of one {@link TravelTimeProvider} query, by target index.
+ * A leg the provider could not route is NaN; callers fall back to their straight-line estimate.
+ */
+public final class TravelLegs {
+
+    private final float[] km;
+    private final float[] minutes;
+
+    public TravelLegs(float[] km, float[] minutes) {
+        this.km = km;
+        this.minutes = minutes;
+    }
+
+    public static TravelLegs unrouted(int size) {
+        float[] km = new float[size];
+        float[] minutes = new float[size];
+        Arrays.fill(km, Float.NaN);
+        Arrays.fill(minutes, Float.NaN);
+        return new TravelLegs(km, minutes);
+    }
+
+    public int size() {
+        return km.length;
+    }
+
+    public boolean isRouted(int target) {
+        return !Float.isNaN(minutes[target]);
+    }
+
+    public double km(int target) {
+        return km[target];
+    }
+
+    public double minutes(int target) {
+        return minutes[target];
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.evstation.station.application.port;
+
+/**
+ * Drive time between points for recommendations and trip planning.
+ *
+ * One query answers all legs between a single point and many targets. Selected with
+ * app.travel-time.provider: straight-line (default) leaves every leg to the caller's
+ * great-circle / average speed estimate, road-graph routes legs over a preprocessed road network.
+ */
+public interface TravelTimeProvider {
+
+    /**
+     * False if no leg is ever routed, so callers can skip collecting targets
+     */
+    boolean isRouting();
+
+    /**
+     * Highest speed of any routed leg (km/h), for estimates that must not overestimate drive time
+     */
+    double maxSpeedKmph();
+
+    /**
+     * Legs from the origin to each target
+     * @param maxKm Legs longer than this are left unrouted
+     */
+    TravelLegs fromOrigin(double originLat, double originLng, double[] targetLats, double[] targetLngs, double maxKm);
+
+    /**
+     * Legs from each source to the destination
+     * @param maxKm Legs longer than this are left unrouted
+     */
+    TravelLegs toDestination(double[] sourceLats, double[] sourceLngs, double destLat, double destLng, double maxKm);
+}
@@ -0,0 +1,48 @@
+package com.example.evstation.station.infrastructure;
+
+import com.example.evstation.common.error.BusinessException;
+import com.example.evstation.common.error.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for nearby search: last distance (meters) + last station ID,
+ * encoded as URL-safe Base64.
+ * Shared by all StationQueryRepository implementations so cursors stay interchangeable.
+ * Station IDs are compared the way PostgreSQL orders uuid (unsigned, byte by byte).
+ */
+public record NearbyCursor(double distanceMeters, UUID stationId) {
+
+    public String encode() {
+        String raw = Double.toString(distanceMeters) + "|" + stationId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Whether a result at (distanceMeters, stationId) comes strictly after this cursor
+     */
+    public boolean isBefore(double otherDistanceMeters, UUID otherStationId) {
+        int compare = Double.compare(otherDistanceMeters, distanceMeters);
+        return compare > 0 || (compare == 0 && compareStationIds(otherStationId, stationId) > 0);
+    }
+
+    public static int compareStationIds(UUID a, UUID b) {
+        int compare = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return compare != 0 ? compare : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    public static NearbyCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new NearbyCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException(ErrorCode.INVALID_INPUT, "Invalid cursor");
+        }
+    }
+}
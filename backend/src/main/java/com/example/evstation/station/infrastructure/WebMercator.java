@@ -0,0 +1,38 @@
+package com.example.evstation.station.infrastructure;
+
+/**
+ * Web Mercator (EPSG:3857) helpers in tile space: at zoom z the world is 2^z x 2^z tiles,
+ * x grows eastwards from -180 and y grows southwards from +85.0511.
+ */
+public final class WebMercator {
+
+    public static final double MAX_LATITUDE = 85.0511287798066;
+
+    private WebMercator() {
+    }
+
+    /**
+     * Fractional x of a longitude in a world of {@code worldSize} units
+     */
+    public static double x(double lng, double worldSize) {
+        return (lng + 180.0) / 360.0 * worldSize;
+    }
+
+    /**
+     * Fractional y of a latitude in a world of {@code worldSize} units (clamped to the Mercator limit)
+     */
+    public static double y(double lat, double worldSize) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat));
+        double latRad = Math.toRadians(clamped);
+        return (1.0 - Math.log(Math.tan(latRad) + 1.0 / Math.cos(latRad)) / Math.PI) / 2.0 * worldSize;
+    }
+
+    public static double lng(double x, double worldSize) {
+        return x / worldSize * 360.0 - 180.0;
+    }
+
+    public static double lat(double y, double worldSize) {
+        double n = Math.PI - 2.0 * Math.PI * y / worldSize;
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.evstation.station.infrastructure.cache;
+
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.application.port.RecommendationCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM cache of recommendation candidates, shared by requests from nearby locations.
+ *
+ * Requests are quantized to a geohash cell and a radius bucket. The entry for a (cell, bucket)
+ * holds every candidate within bucket radius + half the cell diagonal of the cell center, a
+ * superset of the candidates of any request from inside the cell with a radius up to the bucket.
+ * Each request then keeps the candidates within its own radius, with haversine distances from its own
+ * location (within 0.5% of the PostGIS geography distance).
+ *
+ * The cache is bounded by the total number of cached rows, not entries: a 100 km bucket over a dense
+ * city holds far more rows than a 1 km one. Least recently used entries are dropped once the total
+ * exceeds max-rows; a single candidate set larger than max-rows is served but not cached.
+ *
+ * Entries expire after a short TTL and the whole cache is cleared after a station is published,
+ * deleted or re-scored on this node; the TTL bounds staleness for changes made on other nodes.
+ * Lookups are counted in recommendation.candidate.cache.requests{result=hit|miss}.
+ */
+@Slf4j
+@Component
+public class RecommendationCandidateCache {
+
+    private static final double[] RADIUS_BUCKETS_KM = {1, 2, 5, 10, 20, 50, 100};
+    private static final String GEOHASH_ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${app.recommendation-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.recommendation-cache.ttl:PT60S}")
+    private Duration ttl;
+
+    @Value("${app.recommendation-cache.max-rows:200000}")
+    private long maxRows;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedRows; // guarded by entries
+
+    public RecommendationCandidateCache(MeterRegistry meterRegistry) {
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Loads the candidates within radiusKm of a point, with their distance from it
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<RecommendationCandidate> load(double lat, double lng, double radiusKm);
+    }
+
+    /**
+     * True if requests with this radius can be served from the cache
+     */
+    public boolean supportsRadius(double radiusKm) {
+        return enabled && radiusKm <= RADIUS_BUCKETS_KM[RADIUS_BUCKETS_KM.length - 1];
+    }
+
+    /**
+     * Pass the candidates within radiusKm of (lat, lng) to the consumer, loading the
+     * quantized candidate set on a miss. Candidates are copies with their distance from (lat, lng).
+     */
+    public void forEachCandidate(double lat, double lng, double radiusKm, Loader loader,
+                                 Consumer<RecommendationCandidate> consumer) {
+        double bucketKm = radiusBucket(radiusKm);
+        int precision = bucketKm >= 20 ? 5 : 6;
+        String cell = geohash(lat, lng, precision);
+        String key = cell + ":" + (int) bucketKm;
+
+        List<RecommendationCandidate> rows = cachedRows(key);
+        if (rows == null) {
+            misses.increment();
+            double[] cellBounds = geohashBounds(cell);
+            double centerLat = (cellBounds[0] + cellBounds[2]) / 2;
+            double centerLng = (cellBounds[1] + cellBounds[3]) / 2;
+            double halfDiagonalKm = haversineKm(cellBounds[0], cellBounds[1], cellBounds[2], cellBounds[3]) / 2;
+            rows = loader.load(centerLat, centerLng, bucketKm + halfDiagonalKm);
+            store(key, rows);
+        } else {
+            hits.increment();
+        }
+
+        for (RecommendationCandidate candidate : rows) {
+            double distanceKm = haversineKm(lat, lng, candidate.lat(), candidate.lng());
+            if (distanceKm <= radiusKm) {
+                consumer.accept(candidate.withDistanceKm(distanceKm));
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            cachedRows = 0;
+        }
+    }
+
+    /**
+     * Drop every candidate set after the publish/delete/trust transaction commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanged(StationChangedEvent event) {
+        log.debug("Clearing recommendation candidate cache: {}", event);
+        clear();
+    }
+
+    private List<RecommendationCandidate> cachedRows(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtNanos() - System.nanoTime() < 0) {
+                entries.remove(key);
+                cachedRows -= entry.rows().size();
+                return null;
+            }
+            return entry.rows();
+        }
+    }
+
+    private void store(String key, List<RecommendationCandidate> rows) {
+        if (rows.size() > maxRows) {
+            return;
+        }
+        Entry entry = new Entry(List.copyOf(rows), System.nanoTime() + ttl.toNanos());
+        synchronized (entries) {
+            Entry replaced = entries.put(key, entry);
+            cachedRows += entry.rows().size() - (replaced != null ? replaced.rows().size() : 0);
+            var eldest = entries.entrySet().iterator();
+            while (cachedRows > maxRows && eldest.hasNext()) {
+                cachedRows -= eldest.next().getValue().rows().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    private static double radiusBucket(double radiusKm) {
+        for (double bucket : RADIUS_BUCKETS_KM) {
+            if (radiusKm <= bucket) {
+                return bucket;
+            }
+        }
+        return RADIUS_BUCKETS_KM[RADIUS_BUCKETS_KM.length - 1];
+    }
+
+    static String geohash(double lat, double lng, int precision) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(GEOHASH_ALPHABET.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * @return {minLat, minLng, maxLat, maxLng} of a geohash cell
+     */
+    static double[] geohashBounds(String hash) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            int value = GEOHASH_ALPHABET.indexOf(hash.charAt(i));
+            for (int b = 4; b >= 0; b--) {
+                boolean set = ((value >> b) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (set) minLng = mid; else maxLng = mid;
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) minLat = mid; else maxLat = mid;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[] {minLat, minLng, maxLat, maxLng};
+    }
+
+    private static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("recommendation.candidate.cache.requests")
+                .description("Recommendation candidate cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(List<RecommendationCandidate> rows, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.evstation.station.infrastructure.cache;
+
+import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.application.port.StationDetailVersion;
+import com.example.evstation.station.application.port.StationVersionStamp;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Redis cache of published station details.
+ *
+ * An entry is keyed by station and holds the detail together with the stamp of the version it was
+ * read from, so a hit answers both the ETag check and the body without touching the database.
+ * A publish, delete or trust recalculation evicts the station's entry after commit.
+ *
+ * Eviction leaves a short-lived tombstone, and entries are only stored where no key exists: a reader
+ * that loaded the old version before the commit cannot store it after the eviction, unless it takes
+ * longer than the tombstone to do so.
+ *
+ * Redis errors are logged and treated as a miss, so the detail endpoint keeps working without Redis.
+ * Lookups are counted in station.detail.cache.requests{result=hit|miss|error}.
+ */
+@Slf4j
+@Component
+public class StationDetailCache {
+
+    private static final String KEY_PREFIX = "ev:station:detail:";
+    private static final String TOMBSTONE = "evicted";
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(10);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter errors;
+
+    @Value("${app.station-detail-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.station-detail-cache.ttl:PT6H}")
+    private Duration ttl;
+
+    /**
+     * Cached value: the detail and the version it was read from
+     */
+    record Entry(UUID stationVersionId, Instant updatedAt, StationDetailDTO detail) {
+    }
+
+    public StationDetailCache(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.errors = requestCounter(meterRegistry, "error");
+    }
+
+    public Optional<StationDetailVersion> get(UUID stationId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(key(stationId));
+            if (json == null || json.equals(TOMBSTONE)) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(toVersion(stationId, json));
+        } catch (DataAccessException | JsonProcessingException e) {
+            errors.increment();
+            log.warn("Station detail cache read failed: stationId={}, error={}", stationId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Look up several stations in one round trip
+     * @return Cached details by station ID (misses are absent)
+     */
+    public Map<UUID, StationDetailVersion> getAll(List<UUID> stationIds) {
+        Map<UUID, StationDetailVersion> found = new HashMap<>();
+        if (!enabled || stationIds.isEmpty()) {
+            return found;
+        }
+        try {
+            List<String> keys = new ArrayList<>(stationIds.size());
+            stationIds.forEach(stationId -> keys.add(key(stationId)));
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; i < stationIds.size(); i++) {
+                String json = values != null ? values.get(i) : null;
+                if (json == null || json.equals(TOMBSTONE)) {
+                    misses.increment();
+                } else {
+                    hits.increment();
+                    found.put(stationIds.get(i), toVersion(stationIds.get(i), json));
+                }
+            }
+            return found;
+        } catch (DataAccessException | JsonProcessingException e) {
+            errors.increment();
+            log.warn("Station detail cache bulk read failed: stations={}, error={}", stationIds.size(), e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    public void put(StationDetailVersion version) {
+        putAll(List.of(version));
+    }
+
+    /**
+     * Store several details in one pipelined round trip, skipping stations that have a key
+     */
+    public void putAll(List<StationDetailVersion> versions) {
+        if (!enabled || versions.isEmpty()) {
+            return;
+        }
+        try {
+            Map<byte[], byte[]> entries = new LinkedHashMap<>();
+            for (StationDetailVersion version : versions) {
+                StationVersionStamp stamp = version.stamp();
+                entries.put(bytes(key(stamp.stationId())), objectMapper.writeValueAsBytes(
+                        new Entry(stamp.stationVersionId(), stamp.updatedAt(), version.detail())));
+            }
+            Expiration expiration = Expiration.from(ttl);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                entries.forEach((key, value) -> connection.stringCommands()
+                        .set(key, value, expiration, RedisStringCommands.SetOption.SET_IF_ABSENT));
+                return null;
+            });
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Station detail cache write failed: stations={}, error={}", versions.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Evict the station's entry after the publish/delete/trust transaction commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStationChanged(StationChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key(event.getStationId()), TOMBSTONE, TOMBSTONE_TTL);
+            log.debug("Station detail cache evicted: {}", event);
+        } catch (DataAccessException e) {
+            log.warn("Station detail cache eviction failed, entry expires with its TTL: stationId={}, error={}",
+                    event.getStationId(), e.getMessage());
+        }
+    }
+
+    private StationDetailVersion toVersion(UUID stationId, String json) throws JsonProcessingException {
+        Entry entry = objectMapper.readValue(json, Entry.class);
+        return new StationDetailVersion(
+                new StationVersionStamp(stationId, entry.stationVersionId(), entry.updatedAt(), null),
+                entry.detail());
+    }
+
+    private static String key(UUID stationId) {
+        return KEY_PREFIX + stationId;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("station.detail.cache.requests")
+                .description("Station detail cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
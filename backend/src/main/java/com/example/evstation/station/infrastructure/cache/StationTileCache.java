@@ -0,0 +1,128 @@
+package com.example.evstation.station.infrastructure.cache;
+
+import com.example.evstation.station.infrastructure.WebMercator;
+import com.example.evstation.station.infrastructure.jpa.StationTileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Redis cache of rendered station vector tiles, keyed by z/x/y.
+ *
+ * A publish, delete or trust change evicts, at every zoom, the tiles that show the station at its
+ * location before and after the change: the tile holding it, and its neighbours when it falls within
+ * their render buffer. Eviction leaves a short-lived tombstone and tiles are only stored where no key
+ * exists, so a render that read the rows before the commit cannot be stored after the eviction,
+ * unless it takes longer than the tombstone to do so.
+ *
+ * Redis errors are logged and treated as a miss.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationTileCache {
+
+    public static final int MAX_ZOOM = 22;
+    private static final String KEY_PREFIX = "ev:tile:stations:";
+    private static final byte[] TOMBSTONE = "evicted".getBytes(StandardCharsets.UTF_8);
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(10);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${app.station-tile-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.station-tile-cache.ttl:PT24H}")
+    private Duration ttl;
+
+    public Optional<byte[]> get(int z, int x, int y) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            byte[] key = key(z, x, y);
+            byte[] tile = redisTemplate.execute(
+                    (RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+            return tile == null || Arrays.equals(tile, TOMBSTONE) ? Optional.empty() : Optional.of(tile);
+        } catch (DataAccessException e) {
+            log.warn("Station tile cache read failed: tile={}/{}/{}, error={}", z, x, y, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(int z, int x, int y, byte[] tile) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            byte[] key = key(z, x, y);
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                    .set(key, tile, Expiration.from(ttl), RedisStringCommands.SetOption.SET_IF_ABSENT));
+        } catch (DataAccessException e) {
+            log.warn("Station tile cache write failed: tile={}/{}/{}, error={}", z, x, y, e.getMessage());
+        }
+    }
+
+    /**
+     * Evict every tile that renders a station at the location, in one pipelined round trip
+     */
+    public void evict(double lat, double lng) {
+        if (!enabled) {
+            return;
+        }
+        List<byte[]> keys = tileKeys(lat, lng);
+        try {
+            Expiration expiration = Expiration.from(TOMBSTONE_TTL);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[] key : keys) {
+                    connection.stringCommands().set(key, TOMBSTONE, expiration, RedisStringCommands.SetOption.UPSERT);
+                }
+                return null;
+            });
+            log.debug("Station tiles evicted: lat={}, lng={}, tiles={}", lat, lng, keys.size());
+        } catch (DataAccessException e) {
+            log.warn("Station tile eviction failed, tiles expire with their TTL: lat={}, lng={}, error={}",
+                    lat, lng, e.getMessage());
+        }
+    }
+
+    /**
+     * Keys of the tiles whose buffered envelope contains the location, at every zoom
+     */
+    private static List<byte[]> tileKeys(double lat, double lng) {
+        double margin = (double) StationTileRepository.BUFFER / StationTileRepository.EXTENT;
+        List<byte[]> keys = new ArrayList<>();
+        for (int z = 0; z <= MAX_ZOOM; z++) {
+            int tiles = 1 << z;
+            double x = WebMercator.x(lng, tiles);
+            double y = WebMercator.y(lat, tiles);
+            int minX = Math.max(0, (int) Math.floor(x - margin));
+            int maxX = Math.min(tiles - 1, (int) Math.floor(x + margin));
+            int minY = Math.max(0, (int) Math.floor(y - margin));
+            int maxY = Math.min(tiles - 1, (int) Math.floor(y + margin));
+            for (int tileX = minX; tileX <= maxX; tileX++) {
+                for (int tileY = minY; tileY <= maxY; tileY++) {
+                    keys.add(key(z, tileX, tileY));
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static byte[] key(int z, int x, int y) {
+        return (KEY_PREFIX + z + "/" + x + "/" + y).getBytes(StandardCharsets.UTF_8);
+    }
+}
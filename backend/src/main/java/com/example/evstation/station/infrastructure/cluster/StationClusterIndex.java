@@ -0,0 +1,444 @@
+package com.example.evstation.station.infrastructure.cluster;
+
+import com.example.evstation.booking.application.event.BookingChangedEvent;
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.infrastructure.WebMercator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Per-zoom grid aggregates of published stations for map clustering.
+ *
+ * For every zoom level 0..{@link #MAX_ZOOM} stations are bucketed into Web Mercator cells
+ * ({@link #CELLS_PER_TILE} x {@link #CELLS_PER_TILE} per 256px tile) holding count, centroid,
+ * max DC kW, port total and bookable charger units (active, and of those free right now).
+ * Cells are sorted by row then column, so a viewport query range-scans the rows it covers
+ * in one level instead of reading every cell.
+ *
+ * Loaded on startup and patched per station on {@link StationChangedEvent} and, for unit
+ * availability, on {@link BookingChangedEvent}: only the station's old and new cell of each level
+ * are re-aggregated, from the stations each cell keeps, and new immutable levels are swapped in.
+ * Bookings also start and end without an event, so the whole index is reloaded every
+ * availability-refresh interval.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationClusterIndex {
+
+    public static final int MAX_ZOOM = 18;
+    private static final int CELLS_PER_TILE = 4;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    private final Clock clock;
+    private final Map<UUID, StationPoint> points = new HashMap<>();
+    private volatile Level[] levels = buildLevels(List.of());
+
+    /**
+     * Load all published stations (startup and every availability-refresh interval)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.station-cluster.availability-refresh-ms:60000}",
+            fixedDelayString = "${app.station-cluster.availability-refresh-ms:60000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<UUID, StationPoint> loaded = loadPoints(null);
+        synchronized (points) {
+            points.clear();
+            points.putAll(loaded);
+            levels = buildLevels(points.values());
+        }
+        log.debug("Station cluster index built: {} published stations, zoom 0..{}", loaded.size(), MAX_ZOOM);
+    }
+
+    /**
+     * Re-aggregate after the publishing transaction commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStationChanged(StationChangedEvent event) {
+        if (event.getChangeType() == StationChangedEvent.ChangeType.TRUST_UPDATED) {
+            // Trust score is not part of the aggregates
+            return;
+        }
+        reloadStation(event.getStationId());
+        log.debug("Station cluster index updated: {}", event);
+    }
+
+    /**
+     * Recount the station's free units after a booking commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        reloadStation(event.getStationId());
+    }
+
+    private void reloadStation(UUID stationId) {
+        StationPoint reloaded = loadPoints(stationId).get(stationId);
+
+        synchronized (points) {
+            StationPoint previous = reloaded != null ? points.put(stationId, reloaded) : points.remove(stationId);
+            if (Objects.equals(previous, reloaded)) {
+                return; // e.g. a booking that does not change the units free now
+            }
+            Level[] current = levels;
+            Level[] patched = new Level[current.length];
+            for (int zoom = 0; zoom < current.length; zoom++) {
+                patched[zoom] = current[zoom].patch(stationId, previous, reloaded);
+            }
+            levels = patched;
+        }
+    }
+
+    /**
+     * Clusters of the given zoom level whose cell intersects the bounding box.
+     * A box with minLng > maxLng crosses the antimeridian.
+     */
+    public List<Cluster> findClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        Level level = levels[Math.max(0, Math.min(MAX_ZOOM, zoom))];
+        int cellsPerAxis = level.cellsPerAxis;
+
+        // Mercator y grows southwards: the north edge gives the smallest cell row
+        int minY = cellIndex(WebMercator.y(maxLat, cellsPerAxis), cellsPerAxis);
+        int maxY = cellIndex(WebMercator.y(minLat, cellsPerAxis), cellsPerAxis);
+        int minX = cellIndex(WebMercator.x(minLng, cellsPerAxis), cellsPerAxis);
+        int maxX = cellIndex(WebMercator.x(maxLng, cellsPerAxis), cellsPerAxis);
+        boolean wraps = minLng > maxLng;
+
+        // Skip-scan over cells sorted by (row, column): take the run inside [minX, maxX] of each row,
+        // then seek to the next candidate cell instead of stepping over the cells in between
+        List<Cluster> clusters = new ArrayList<>();
+        long[] keys = level.keys;
+        int i = lowerBound(keys, cellKey(minY, wraps ? 0 : minX), 0);
+        while (i < keys.length) {
+            int cy = level.cellY[i];
+            if (cy > maxY) {
+                break;
+            }
+            int cx = level.cellX[i];
+            boolean inX = wraps ? (cx >= minX || cx <= maxX) : (cx >= minX && cx <= maxX);
+            if (inX) {
+                clusters.add(level.clusters[i]);
+                i++;
+            } else if (cx < minX) {
+                // Left of the box (or in the gap of a wrapping box): seek to the box start in this row
+                i = lowerBound(keys, cellKey(cy, minX), i + 1);
+            } else {
+                // Right of the box: seek to the box start in the next row
+                i = lowerBound(keys, cellKey(cy + 1, wraps ? 0 : minX), i + 1);
+            }
+        }
+        return clusters;
+    }
+
+    private static long cellKey(int y, int x) {
+        return ((long) y << 32) | (x & 0xffffffffL);
+    }
+
+    /**
+     * First index in [from, keys.length) whose key is >= key
+     */
+    private static int lowerBound(long[] keys, long key, int from) {
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int cellIndex(double coordinate, int cellsPerAxis) {
+        return Math.max(0, Math.min(cellsPerAxis - 1, (int) Math.floor(coordinate)));
+    }
+
+    private static Level[] buildLevels(Collection<StationPoint> stations) {
+        Level[] built = new Level[MAX_ZOOM + 1];
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            built[zoom] = Level.build(stations, (1 << zoom) * CELLS_PER_TILE);
+        }
+        return built;
+    }
+
+    /**
+     * Load station points from the published_station projection (all stations when stationId is null),
+     * with their active charger units and those without a CONFIRMED booking or unexpired HOLD now
+     */
+    private Map<UUID, StationPoint> loadPoints(UUID stationId) {
+        String stationFilter = stationId != null ? " WHERE ps.station_id = :stationId" : "";
+        String unitFilter = stationId != null ? " AND cu.station_id = :stationId" : "";
+
+        Query query = entityManager.createNativeQuery("""
+            SELECT
+                ps.station_id,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+                ps.total_ports,
+                ps.max_dc_kw,
+                COALESCE(u.total_units, 0) as total_units,
+                COALESCE(u.free_units, 0) as free_units
+            FROM published_station ps
+            LEFT JOIN (
+                SELECT
+                    cu.station_id,
+                    COUNT(*) as total_units,
+                    SUM(CASE WHEN NOT EXISTS (
+                        SELECT 1 FROM booking b
+                        WHERE b.charger_unit_id = cu.id
+                        AND (b.status = 'CONFIRMED' OR (b.status = 'HOLD' AND b.hold_expires_at > :now))
+                        AND b.start_time <= :now
+                        AND b.end_time > :now
+                    ) THEN 1 ELSE 0 END) as free_units
+                FROM charger_unit cu
+                WHERE cu.status = 'ACTIVE'""" + unitFilter + """
+                GROUP BY cu.station_id
+            ) u ON u.station_id = ps.station_id
+            """ + stationFilter);
+
+        query.setParameter("now", clock.instant());
+        if (stationId != null) {
+            query.setParameter("stationId", stationId);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        Map<UUID, StationPoint> loaded = new HashMap<>();
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            loaded.put(id, new StationPoint(
+                    id,
+                    ((Number) row[1]).doubleValue(),
+                    ((Number) row[2]).doubleValue(),
+                    ((Number) row[3]).intValue(),
+                    row[4] != null ? ((Number) row[4]).doubleValue() : Double.NaN,
+                    ((Number) row[5]).intValue(),
+                    ((Number) row[6]).intValue()));
+        }
+        return loaded;
+    }
+
+    private record StationPoint(UUID stationId, double lat, double lng, int totalPorts, double maxDcKw,
+                                int totalUnits, int freeUnits) {
+    }
+
+    /**
+     * One aggregated cell.
+     * @param maxDcKw NaN if no station in the cell has DC ports
+     * @param totalUnits Active (bookable) charger units
+     * @param freeUnits Of those, units without a CONFIRMED booking or unexpired HOLD at the last refresh
+     * @param stationId Set only when the cell holds a single station
+     */
+    public record Cluster(double lat, double lng, int stationCount, int totalPorts, double maxDcKw,
+                          int totalUnits, int freeUnits, UUID stationId) {
+    }
+
+    /**
+     * Cells of one zoom level as parallel arrays
+     */
+    private static final class Level {
+        final int cellsPerAxis;
+        final long[] keys; // cellKey(y, x), ascending
+        final int[] cellX;
+        final int[] cellY;
+        final Cluster[] clusters;
+        final StationPoint[][] members; // stations of each cell, to re-aggregate it on a patch
+
+        private Level(int cellsPerAxis, long[] keys, int[] cellX, int[] cellY, Cluster[] clusters,
+                      StationPoint[][] members) {
+            this.cellsPerAxis = cellsPerAxis;
+            this.keys = keys;
+            this.cellX = cellX;
+            this.cellY = cellY;
+            this.clusters = clusters;
+            this.members = members;
+        }
+
+        static Level build(Collection<StationPoint> stations, int cellsPerAxis) {
+            Map<Long, List<StationPoint>> cells = new TreeMap<>();
+            for (StationPoint station : stations) {
+                cells.computeIfAbsent(keyOf(station, cellsPerAxis), key -> new ArrayList<>()).add(station);
+            }
+
+            long[] keys = new long[cells.size()];
+            int[] cellX = new int[cells.size()];
+            int[] cellY = new int[cells.size()];
+            Cluster[] clusters = new Cluster[cells.size()];
+            StationPoint[][] members = new StationPoint[cells.size()][];
+            int i = 0;
+            for (Map.Entry<Long, List<StationPoint>> entry : cells.entrySet()) {
+                setCell(entry.getKey(), entry.getValue().toArray(new StationPoint[0]),
+                        keys, cellX, cellY, clusters, members, i++);
+            }
+            return new Level(cellsPerAxis, keys, cellX, cellY, clusters, members);
+        }
+
+        /**
+         * Level with the station moved from its previous cell to its reloaded one (either may be null).
+         * Only those cells are re-aggregated; the arrays are copied, or shared when no cell appears or empties.
+         */
+        Level patch(UUID stationId, StationPoint previous, StationPoint reloaded) {
+            // New members of the affected cells, by key; empty when the cell goes away
+            Map<Long, List<StationPoint>> changed = new TreeMap<>();
+            if (previous != null) {
+                long key = keyOf(previous, cellsPerAxis);
+                changed.put(key, membersWithout(key, stationId));
+            }
+            if (reloaded != null) {
+                long key = keyOf(reloaded, cellsPerAxis);
+                changed.computeIfAbsent(key, k -> membersWithout(k, stationId)).add(reloaded);
+            }
+
+            int added = 0;
+            int removed = 0;
+            for (Map.Entry<Long, List<StationPoint>> entry : changed.entrySet()) {
+                boolean exists = Arrays.binarySearch(keys, entry.getKey()) >= 0;
+                if (!exists && !entry.getValue().isEmpty()) {
+                    added++;
+                } else if (exists && entry.getValue().isEmpty()) {
+                    removed++;
+                }
+            }
+
+            if (added == 0 && removed == 0) {
+                Cluster[] patchedClusters = clusters.clone();
+                StationPoint[][] patchedMembers = members.clone();
+                for (Map.Entry<Long, List<StationPoint>> entry : changed.entrySet()) {
+                    setCell(entry.getKey(), entry.getValue().toArray(new StationPoint[0]),
+                            null, null, null, patchedClusters, patchedMembers,
+                            Arrays.binarySearch(keys, entry.getKey()));
+                }
+                return new Level(cellsPerAxis, keys, cellX, cellY, patchedClusters, patchedMembers);
+            }
+
+            // A cell appears or empties: merge the changed cells into the sorted arrays
+            int size = keys.length + added - removed;
+            long[] patchedKeys = new long[size];
+            int[] patchedX = new int[size];
+            int[] patchedY = new int[size];
+            Cluster[] patchedClusters = new Cluster[size];
+            StationPoint[][] patchedMembers = new StationPoint[size][];
+            Iterator<Map.Entry<Long, List<StationPoint>>> pending = changed.entrySet().iterator();
+            Map.Entry<Long, List<StationPoint>> next = pending.next();
+            int in = 0;
+            int out = 0;
+            while (in < keys.length || next != null) {
+                if (next == null || (in < keys.length && keys[in] < next.getKey())) {
+                    patchedKeys[out] = keys[in];
+                    patchedX[out] = cellX[in];
+                    patchedY[out] = cellY[in];
+                    patchedClusters[out] = clusters[in];
+                    patchedMembers[out] = members[in];
+                    in++;
+                    out++;
+                } else {
+                    if (in < keys.length && keys[in] == next.getKey()) {
+                        in++; // replaced by the changed cell
+                    }
+                    if (!next.getValue().isEmpty()) {
+                        setCell(next.getKey(), next.getValue().toArray(new StationPoint[0]),
+                                patchedKeys, patchedX, patchedY, patchedClusters, patchedMembers, out++);
+                    }
+                    next = pending.hasNext() ? pending.next() : null;
+                }
+            }
+            return new Level(cellsPerAxis, patchedKeys, patchedX, patchedY, patchedClusters, patchedMembers);
+        }
+
+        private List<StationPoint> membersWithout(long key, UUID stationId) {
+            List<StationPoint> result = new ArrayList<>();
+            int i = Arrays.binarySearch(keys, key);
+            if (i >= 0) {
+                for (StationPoint member : members[i]) {
+                    if (!member.stationId().equals(stationId)) {
+                        result.add(member);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Write cell i: key and coordinates (skipped when the key arrays are null), cluster and members
+         */
+        private static void setCell(long key, StationPoint[] stations, long[] keys, int[] cellX, int[] cellY,
+                                    Cluster[] clusters, StationPoint[][] members, int i) {
+            int x = (int) key;
+            int y = (int) (key >>> 32);
+            if (keys != null) {
+                keys[i] = key;
+                cellX[i] = x;
+                cellY[i] = y;
+            }
+            CellAccumulator cell = new CellAccumulator(x, y);
+            for (StationPoint station : stations) {
+                cell.add(station);
+            }
+            clusters[i] = cell.toCluster();
+            members[i] = stations;
+        }
+
+        private static long keyOf(StationPoint station, int cellsPerAxis) {
+            int x = cellIndex(WebMercator.x(station.lng(), cellsPerAxis), cellsPerAxis);
+            int y = cellIndex(WebMercator.y(station.lat(), cellsPerAxis), cellsPerAxis);
+            return cellKey(y, x);
+        }
+    }
+
+    private static final class CellAccumulator {
+        final int x;
+        final int y;
+        int count;
+        double sumLat;
+        double sumLng;
+        int totalPorts;
+        int totalUnits;
+        int freeUnits;
+        double maxDcKw = Double.NaN;
+        UUID firstStationId;
+
+        CellAccumulator(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void add(StationPoint station) {
+            if (count == 0) {
+                firstStationId = station.stationId();
+            }
+            count++;
+            sumLat += station.lat();
+            sumLng += station.lng();
+            totalPorts += station.totalPorts();
+            totalUnits += station.totalUnits();
+            freeUnits += station.freeUnits();
+            if (!Double.isNaN(station.maxDcKw()) && (Double.isNaN(maxDcKw) || station.maxDcKw() > maxDcKw)) {
+                maxDcKw = station.maxDcKw();
+            }
+        }
+
+        Cluster toCluster() {
+            return new Cluster(sumLat / count, sumLng / count, count, totalPorts, maxDcKw, totalUnits, freeUnits,
+                    count == 1 ? firstStationId : null);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.evstation.station.infrastructure.graph;
+
+import java.util.UUID;
+
+/**
+ * Immutable reachability graph of published DC stations.
+ *
+ * Nodes are stored as parallel arrays, edges in compressed sparse rows: the edges of node i are
+ * {@code edgeTarget[edgeStart[i]..edgeStart[i + 1])} with their road distance in edgeKm and drive
+ * time in edgeMinutes. Edges routed by the travel time provider carry the road distance and time;
+ * other edges the great-circle distance times the configured road factor and NaN minutes.
+ */
+public final class StationGraph {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    final UUID[] stationIds;
+    final String[] names;
+    final String[] addresses;
+    final double[] lats;
+    final double[] lngs;
+    final double[] dcKw;
+    final int[] edgeStart;
+    final int[] edgeTarget;
+    final float[] edgeKm;
+    final float[] edgeMinutes;
+    final double roadFactor;
+
+    StationGraph(UUID[] stationIds, String[] names, String[] addresses, double[] lats, double[] lngs, double[] dcKw,
+                 int[] edgeStart, int[] edgeTarget, float[] edgeKm, float[] edgeMinutes, double roadFactor) {
+        this.stationIds = stationIds;
+        this.names = names;
+        this.addresses = addresses;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.dcKw = dcKw;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeKm = edgeKm;
+        this.edgeMinutes = edgeMinutes;
+        this.roadFactor = roadFactor;
+    }
+
+    public int size() {
+        return stationIds.length;
+    }
+
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    public UUID stationId(int node) {
+        return stationIds[node];
+    }
+
+    public String name(int node) {
+        return names[node];
+    }
+
+    public String address(int node) {
+        return addresses[node];
+    }
+
+    public double lat(int node) {
+        return lats[node];
+    }
+
+    public double lng(int node) {
+        return lngs[node];
+    }
+
+    /**
+     * Fastest DC power of the station
+     */
+    public double dcKw(int node) {
+        return dcKw[node];
+    }
+
+    public int firstEdge(int node) {
+        return edgeStart[node];
+    }
+
+    public int endEdge(int node) {
+        return edgeStart[node + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public double edgeKm(int edge) {
+        return edgeKm[edge];
+    }
+
+    /**
+     * Routed drive time of the edge, NaN if not routed
+     */
+    public double edgeMinutes(int edge) {
+        return edgeMinutes[edge];
+    }
+
+    public double getRoadFactor() {
+        return roadFactor;
+    }
+
+    /**
+     * Road distance estimate between two points
+     */
+    public double roadKm(double lat1, double lng1, double lat2, double lng2) {
+        return greatCircleKm(lat1, lng1, lat2, lng2) * roadFactor;
+    }
+
+    public static double greatCircleKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.evstation.station.infrastructure.graph;
+
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.application.port.TravelLegs;
+import com.example.evstation.station.application.port.TravelTimeProvider;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * In-memory {@link StationGraph} of published stations with DC ports, for trip planning.
+ *
+ * Every station gets edges to the {@link #NEIGHBORS_PER_SECTOR} nearest stations in each of
+ * {@link #SECTORS} compass sectors within max-leg-km. Pruning by sector keeps the graph sparse in
+ * dense cities while still leaving edges in every direction; longer hops are chained through
+ * intermediate stations, where the planner may pass without charging. When the
+ * {@link TravelTimeProvider} routes, each station's edges are routed in one search; the result is
+ * kept per station and reused by later rebuilds while its neighbours stay the same.
+ *
+ * Loaded on startup and rebuilt from the in-memory station nodes on {@link StationChangedEvent},
+ * swapping in an immutable snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationGraphIndex {
+
+    static final int SECTORS = 8;
+    static final int NEIGHBORS_PER_SECTOR = 3;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    private static final double MAX_ROUTED_LEG_FACTOR = 2.0;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    private final TravelTimeProvider travelTimeProvider;
+
+    @Value("${app.trip-planner.max-leg-km:150}")
+    private double maxLegKm;
+
+    @Value("${app.trip-planner.road-factor:1.3}")
+    private double roadFactor;
+
+    private final Map<UUID, StationNode> nodes = new HashMap<>();
+    private final Map<UUID, RoutedEdges> routedEdges = new HashMap<>(); // guarded by nodes
+    private volatile StationGraph graph;
+
+    public StationGraph getGraph() {
+        StationGraph current = graph;
+        return current != null ? current : buildGraph(List.of());
+    }
+
+    /**
+     * Load all published DC stations (startup)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<UUID, StationNode> loaded = loadNodes(null);
+        StationGraph built;
+        synchronized (nodes) {
+            nodes.clear();
+            nodes.putAll(loaded);
+            built = buildGraph(nodes.values());
+            graph = built;
+        }
+        log.info("Station graph built: {} DC stations, {} edges", built.size(), built.edgeCount());
+    }
+
+    /**
+     * Rebuild after the publishing transaction commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStationChanged(StationChangedEvent event) {
+        if (event.getChangeType() == StationChangedEvent.ChangeType.TRUST_UPDATED) {
+            // Trust score is not part of the graph
+            return;
+        }
+        UUID stationId = event.getStationId();
+        StationNode reloaded = loadNodes(stationId).get(stationId);
+
+        synchronized (nodes) {
+            StationNode previous = reloaded != null ? nodes.put(stationId, reloaded) : nodes.remove(stationId);
+            if (previous == null && reloaded == null) {
+                return; // not a DC station before or after
+            }
+            // The station may have moved: re-route its edges and the edges to it
+            routedEdges.remove(stationId);
+            routedEdges.values().removeIf(edges -> Arrays.asList(edges.targetIds()).contains(stationId));
+            graph = buildGraph(nodes.values());
+        }
+        log.debug("Station graph updated: {}", event);
+    }
+
+    private StationGraph buildGraph(Collection<StationNode> stations) {
+        int n = stations.size();
+        UUID[] stationIds = new UUID[n];
+        String[] names = new String[n];
+        String[] addresses = new String[n];
+        double[] lats = new double[n];
+        double[] lngs = new double[n];
+        double[] dcKw = new double[n];
+
+        int i = 0;
+        for (StationNode station : stations) {
+            stationIds[i] = station.stationId();
+            names[i] = station.name();
+            addresses[i] = station.address();
+            lats[i] = station.lat();
+            lngs[i] = station.lng();
+            dcKw[i] = station.dcKw();
+            i++;
+        }
+
+        // Grid of maxLegKm-high cells, so neighbours are in the adjacent rows
+        double cellDegrees = Math.max(0.01, maxLegKm / KM_PER_DEGREE_LAT);
+        Map<Long, List<Integer>> grid = new HashMap<>();
+        for (int node = 0; node < n; node++) {
+            grid.computeIfAbsent(cellKey(cellIndex(lats[node], cellDegrees), cellIndex(lngs[node], cellDegrees)),
+                    key -> new ArrayList<>()).add(node);
+        }
+
+        int[] edgeStart = new int[n + 1];
+        int[] targets = new int[n * SECTORS * NEIGHBORS_PER_SECTOR];
+        float[] kms = new float[targets.length];
+        float[] minutes = new float[targets.length];
+        Arrays.fill(minutes, Float.NaN);
+        int edges = 0;
+        Map<UUID, RoutedEdges> routed = new HashMap<>();
+
+        int[] sectorTargets = new int[SECTORS * NEIGHBORS_PER_SECTOR];
+        double[] sectorKm = new double[SECTORS * NEIGHBORS_PER_SECTOR];
+        int[] sectorCount = new int[SECTORS];
+
+        for (int node = 0; node < n; node++) {
+            Arrays.fill(sectorCount, 0);
+            int row = cellIndex(lats[node], cellDegrees);
+            int col = cellIndex(lngs[node], cellDegrees);
+            // Longitude cells shrink with cos(lat): widen the column range accordingly
+            int colSpan = (int) Math.ceil(1.0 / Math.max(0.05, Math.cos(Math.toRadians(Math.abs(lats[node]) + cellDegrees))));
+
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - colSpan; c <= col + colSpan; c++) {
+                    List<Integer> cell = grid.get(cellKey(r, c));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int other : cell) {
+                        if (other == node) {
+                            continue;
+                        }
+                        double km = StationGraph.greatCircleKm(lats[node], lngs[node], lats[other], lngs[other]) * roadFactor;
+                        if (km > maxLegKm) {
+                            continue;
+                        }
+                        int sector = sector(lats[node], lngs[node], lats[other], lngs[other]);
+                        keepNearest(sector, other, km, sectorTargets, sectorKm, sectorCount);
+                    }
+                }
+            }
+
+            edgeStart[node] = edges;
+            for (int sector = 0; sector < SECTORS; sector++) {
+                for (int k = 0; k < sectorCount[sector]; k++) {
+                    targets[edges] = sectorTargets[sector * NEIGHBORS_PER_SECTOR + k];
+                    kms[edges] = (float) sectorKm[sector * NEIGHBORS_PER_SECTOR + k];
+                    edges++;
+                }
+            }
+            if (travelTimeProvider.isRouting() && edges > edgeStart[node]) {
+                routeEdges(node, edgeStart[node], edges, stationIds, lats, lngs, targets, kms, minutes, routed);
+            }
+        }
+        edgeStart[n] = edges;
+        if (travelTimeProvider.isRouting() && n > 0) {
+            routedEdges.clear();
+            routedEdges.putAll(routed);
+        }
+
+        return new StationGraph(stationIds, names, addresses, lats, lngs, dcKw, edgeStart,
+                Arrays.copyOf(targets, edges), Arrays.copyOf(kms, edges), Arrays.copyOf(minutes, edges), roadFactor);
+    }
+
+    /**
+     * Replace the estimates of the node's edges [first, end) with road distance and time, reusing
+     * the previous build's legs when the node has the same neighbours
+     */
+    private void routeEdges(int node, int first, int end, UUID[] stationIds, double[] lats, double[] lngs,
+                            int[] targets, float[] kms, float[] minutes, Map<UUID, RoutedEdges> routed) {
+        int count = end - first;
+        UUID[] targetIds = new UUID[count];
+        double[] targetLats = new double[count];
+        double[] targetLngs = new double[count];
+        for (int k = 0; k < count; k++) {
+            int target = targets[first + k];
+            targetIds[k] = stationIds[target];
+            targetLats[k] = lats[target];
+            targetLngs[k] = lngs[target];
+        }
+
+        RoutedEdges previous = routedEdges.get(stationIds[node]);
+        TravelLegs legs = previous != null && Arrays.equals(previous.targetIds(), targetIds)
+                ? previous.legs()
+                : travelTimeProvider.fromOrigin(lats[node], lngs[node], targetLats, targetLngs,
+                        maxLegKm * MAX_ROUTED_LEG_FACTOR);
+        routed.put(stationIds[node], new RoutedEdges(targetIds, legs));
+
+        for (int k = 0; k < count; k++) {
+            if (legs.isRouted(k)) {
+                kms[first + k] = (float) legs.km(k);
+                minutes[first + k] = (float) legs.minutes(k);
+            }
+        }
+    }
+
+    /**
+     * Insert into the sector's nearest list (sorted by km, at most NEIGHBORS_PER_SECTOR)
+     */
+    private static void keepNearest(int sector, int target, double km,
+                                    int[] sectorTargets, double[] sectorKm, int[] sectorCount) {
+        int base = sector * NEIGHBORS_PER_SECTOR;
+        int count = sectorCount[sector];
+        if (count == NEIGHBORS_PER_SECTOR && km >= sectorKm[base + count - 1]) {
+            return;
+        }
+        int pos = Math.min(count, NEIGHBORS_PER_SECTOR - 1);
+        while (pos > 0 && sectorKm[base + pos - 1] > km) {
+            sectorTargets[base + pos] = sectorTargets[base + pos - 1];
+            sectorKm[base + pos] = sectorKm[base + pos - 1];
+            pos--;
+        }
+        sectorTargets[base + pos] = target;
+        sectorKm[base + pos] = km;
+        sectorCount[sector] = Math.min(count + 1, NEIGHBORS_PER_SECTOR);
+    }
+
+    private static int sector(double lat1, double lng1, double lat2, double lng2) {
+        double bearing = Math.atan2((lng2 - lng1) * Math.cos(Math.toRadians(lat1)), lat2 - lat1);
+        int sector = (int) Math.floor((bearing + Math.PI) / (2 * Math.PI) * SECTORS);
+        return Math.min(SECTORS - 1, Math.max(0, sector));
+    }
+
+    private static int cellIndex(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Load published stations with DC ports (all when stationId is null)
+     */
+    private Map<UUID, StationNode> loadNodes(UUID stationId) {
+        String stationFilter = stationId != null ? " AND ps.station_id = :stationId" : "";
+
+        Query query = entityManager.createNativeQuery("""
+            SELECT
+                ps.station_id,
+                ps.name,
+                ps.address,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+                ps.max_dc_kw
+            FROM published_station ps
+            WHERE ps.max_dc_kw IS NOT NULL
+            """ + stationFilter);
+
+        if (stationId != null) {
+            query.setParameter("stationId", stationId);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        Map<UUID, StationNode> loaded = new HashMap<>();
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            loaded.put(id, new StationNode(
+                    id,
+                    (String) row[1],
+                    (String) row[2],
+                    ((Number) row[3]).doubleValue(),
+                    ((Number) row[4]).doubleValue(),
+                    ((Number) row[5]).doubleValue()));
+        }
+        return loaded;
+    }
+
+    private record RoutedEdges(UUID[] targetIds, TravelLegs legs) {
+    }
+
+    private record StationNode(UUID stationId, String name, String address, double lat, double lng, double dcKw) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import com.example.evstation.api.ev_user_mobile.dto.PortInfoDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the ports JSON of published_station: [{powerType, powerKw, count}]
+ */
+public final class PortSummaryJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private PortSummaryJson() {
+    }
+
+    public static List<PortInfoDTO> parse(String json) {
+        if (json == null || json.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            JsonNode array = MAPPER.readTree(json);
+            List<PortInfoDTO> ports = new ArrayList<>(array.size());
+            for (JsonNode port : array) {
+                JsonNode powerKw = port.get("powerKw");
+                ports.add(PortInfoDTO.builder()
+                        .powerType(port.get("powerType").asText())
+                        .powerKw(powerKw == null || powerKw.isNull() ? null : powerKw.decimalValue())
+                        .count(port.get("count").asInt())
+                        .build());
+            }
+            return ports;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid ports JSON in published_station: " + json, e);
+        }
+    }
+}
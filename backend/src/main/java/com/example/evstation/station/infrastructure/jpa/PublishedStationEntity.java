@@ -0,0 +1,57 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only view of the published_station projection (V111).
+ * Rows are written only by refresh_published_station(), see {@link PublishedStationProjectionUpdater}.
+ * Location and ports JSON are read through native queries.
+ */
+@Entity
+@Immutable
+@Table(name = "published_station")
+@Data
+@NoArgsConstructor
+public class PublishedStationEntity {
+
+    @Id
+    @Column(name = "station_id", columnDefinition = "UUID")
+    private UUID stationId;
+
+    @Column(name = "station_version_id", nullable = false, columnDefinition = "UUID")
+    private UUID stationVersionId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String address;
+
+    @Column(name = "published_at", nullable = false)
+    private Instant publishedAt;
+
+    @Column(name = "total_ports", nullable = false)
+    private Integer totalPorts;
+
+    @Column(name = "max_dc_kw")
+    private BigDecimal maxDcKw;
+
+    @Column(name = "has_ac", nullable = false)
+    private Boolean hasAc;
+
+    @Column(name = "trust_score", nullable = false)
+    private Integer trustScore;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PublishedStationJpaRepository extends JpaRepository<PublishedStationEntity, UUID> {
+    // stationId is the primary key, so existsById tells whether a station is published
+    
+    /**
+     * Which of the given stations are published, without loading the projections
+     */
+    @Query("SELECT ps.stationId FROM PublishedStationEntity ps WHERE ps.stationId IN :stationIds")
+    List<UUID> findPublishedStationIds(@Param("stationIds") Collection<UUID> stationIds);
+}
@@ -0,0 +1,41 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import com.example.evstation.station.application.event.StationChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the published_station projection in sync with station_version, charging_port and station_trust.
+ * Runs before commit in the same transaction as the change, so readers never see the
+ * projection disagree with the source tables. Ordered after the change log writer, which takes the
+ * append lock first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublishedStationProjectionUpdater {
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    @Order(StationChangeLogWriter.ORDER + 1)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStationChanged(StationChangedEvent event) {
+        // Make pending entity changes visible to the refresh function
+        entityManager.flush();
+
+        Number written = (Number) entityManager
+                .createNativeQuery("SELECT refresh_published_station(:stationId)")
+                .setParameter("stationId", event.getStationId())
+                .getSingleResult();
+
+        log.debug("Refreshed published_station projection: stationId={}, changeType={}, rows={}",
+                event.getStationId(), event.getChangeType(), written);
+    }
+}
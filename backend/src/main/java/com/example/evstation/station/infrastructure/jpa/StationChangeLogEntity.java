@@ -0,0 +1,36 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import com.example.evstation.station.application.event.StationChangedEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "station_change_log")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StationChangeLogEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Column(name = "station_id", nullable = false, columnDefinition = "UUID")
+    private UUID stationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private StationChangedEvent.ChangeType changeType;
+
+    @Column(name = "station_version_id", columnDefinition = "UUID")
+    private UUID stationVersionId;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
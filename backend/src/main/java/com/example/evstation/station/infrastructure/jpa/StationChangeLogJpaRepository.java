@@ -0,0 +1,42 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StationChangeLogJpaRepository extends JpaRepository<StationChangeLogEntity, Long> {
+
+    // Entries after a sync token, oldest first
+    @Query("""
+        SELECT l FROM StationChangeLogEntity l
+        WHERE l.seq > :since
+        ORDER BY l.seq
+        """)
+    List<StationChangeLogEntity> findAfter(@Param("since") long since, Pageable pageable);
+
+    // Latest sync token (compaction never removes the newest entry)
+    @Query("SELECT COALESCE(MAX(l.seq), 0) FROM StationChangeLogEntity l")
+    long findLatestSeq();
+
+    // Serialize appends until commit so seq order matches commit order
+    @Query(value = "SELECT CAST(pg_advisory_xact_lock(hashtext('station_change_log')) AS TEXT)", nativeQuery = true)
+    String lockForAppend();
+
+    // Drop entries that a later entry of the same station supersedes
+    @Modifying
+    @Query(value = """
+        DELETE FROM station_change_log l
+        WHERE EXISTS (
+            SELECT 1 FROM station_change_log n
+            WHERE n.station_id = l.station_id
+            AND n.seq > l.seq
+        )
+        """, nativeQuery = true)
+    int deleteSuperseded();
+}
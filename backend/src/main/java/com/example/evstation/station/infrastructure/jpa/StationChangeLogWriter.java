@@ -0,0 +1,58 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.domain.WorkflowStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Appends every station change to station_change_log in the same transaction as the change.
+ *
+ * Runs first among the before-commit station listeners, so the append lock is always taken before
+ * any published_station row is written. With the opposite order in some transactions, one could hold
+ * the lock while waiting for a projection row that another holds while waiting for the lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationChangeLogWriter {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private final StationChangeLogJpaRepository changeLogRepository;
+    private final StationVersionJpaRepository stationVersionRepository;
+    private final Clock clock;
+
+    @Order(ORDER)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStationChanged(StationChangedEvent event) {
+        changeLogRepository.lockForAppend();
+        UUID publishedVersionId = stationVersionRepository
+                .findByStationIdAndWorkflowStatus(event.getStationId(), WorkflowStatus.PUBLISHED)
+                .map(StationVersionEntity::getId)
+                .orElse(null);
+
+        if (event.getChangeType() == StationChangedEvent.ChangeType.TRUST_UPDATED && publishedVersionId == null) {
+            // Not visible to mobile clients
+            return;
+        }
+
+        StationChangeLogEntity entry = changeLogRepository.save(StationChangeLogEntity.builder()
+                .stationId(event.getStationId())
+                .changeType(event.getChangeType())
+                .stationVersionId(publishedVersionId)
+                .changedAt(Instant.now(clock))
+                .build());
+
+        log.debug("Station change logged: seq={}, {}", entry.getSeq(), event);
+    }
+}
@@ -1,16 +1,18 @@
 package com.example.evstation.station.infrastructure.jpa;
 
 import com.example.evstation.api.ev_user_mobile.dto.ChargingSummaryDTO;
-import com.example.evstation.api.ev_user_mobile.dto.PortInfoDTO;
 import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
 import com.example.evstation.api.ev_user_mobile.dto.StationListItemDTO;
+import com.example.evstation.common.web.CursorPaginationResponse;
+import com.example.evstation.station.application.port.StationDetailVersion;
 import com.example.evstation.station.application.port.StationQueryRepository;
-import com.example.evstation.station.domain.PowerType;
-import com.example.evstation.trust.infrastructure.jpa.StationTrustJpaRepository;
+import com.example.evstation.station.application.port.StationVersionStamp;
+import com.example.evstation.station.infrastructure.NearbyCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -18,19 +20,60 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
 
+/**
+ * Reads from the published_station projection (V111): one row per published station
+ * with ports and trust score inline, so every query is a single-table scan.
+ * Radius queries return version stamps only, so callers can answer conditional requests
+ * before loading the list items.
+ */
 @Repository
+@ConditionalOnProperty(name = "app.station-query.repository", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 public class StationQueryRepositoryImpl implements StationQueryRepository {
 
+    /**
+     * Columns mapped by {@link #mapListItem(Object[])} and {@link #mapDetail(Object[])}
+     */
+    private static final String STATION_COLUMNS = """
+                ps.station_id,
+                ps.name,
+                ps.address,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+                ps.operating_hours,
+                ps.parking,
+                ps.visibility,
+                ps.public_status,
+                ps.published_at,
+                CAST(ps.ports AS TEXT) as ports,
+                ps.total_ports,
+                ps.max_dc_kw,
+                ps.trust_score
+            """;
+
+    /**
+     * Columns mapped by {@link #mapStamp(Object[], boolean)}
+     */
+    private static final String STAMP_COLUMNS = """
+                ps.station_id,
+                ps.station_version_id,
+                ps.updated_at
+            """;
+
+    /**
+     * Stamp columns appended after {@link #STATION_COLUMNS} (14-15), so a detail carries its own version
+     */
+    private static final String DETAIL_STAMP_COLUMNS = """
+                ps.station_version_id,
+                ps.updated_at
+            """;
+
     @PersistenceContext
     private final EntityManager entityManager;
-    
-    private final StationTrustJpaRepository trustRepository;
 
     @Override
-    public Page<StationListItemDTO> findPublishedStationsWithinRadius(
+    public Page<StationVersionStamp> findPublishedStationStampsWithinRadius(
             double lat,
             double lng,
             double radiusKm,
@@ -42,85 +85,31 @@ public class StationQueryRepositoryImpl implements StationQueryRepository {
         double radiusMeters = radiusKm * 1000;
 
         // Build base query with PostGIS ST_DWithin
-        StringBuilder queryBuilder = new StringBuilder("""
-            SELECT 
-                sv.station_id,
-                sv.name,
-                sv.address,
-                ST_Y(CAST(sv.location AS geometry)) as lat,
-                ST_X(CAST(sv.location AS geometry)) as lng,
-                sv.operating_hours,
-                sv.parking,
-                sv.visibility,
-                sv.public_status
-            FROM station_version sv
-            WHERE sv.workflow_status = 'PUBLISHED'
-            AND ST_DWithin(
-                CAST(sv.location AS geography),
+        StringBuilder queryBuilder = new StringBuilder("SELECT ").append(STAMP_COLUMNS).append("""
+            FROM published_station ps
+            WHERE ST_DWithin(
+                ps.location,
                 CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography),
                 :radiusMeters
             )
             """);
 
         // Add filters
-        if (minPowerKw != null) {
-            queryBuilder.append("""
-                AND EXISTS (
-                    SELECT 1 FROM station_service ss
-                    JOIN charging_port cp ON ss.id = cp.station_service_id
-                    WHERE ss.station_version_id = sv.id
-                    AND cp.power_type = 'DC'
-                    AND cp.power_kw >= :minPowerKw
-                )
-                """);
-        }
-
-        if (hasAC != null && hasAC) {
-            queryBuilder.append("""
-                AND EXISTS (
-                    SELECT 1 FROM station_service ss
-                    JOIN charging_port cp ON ss.id = cp.station_service_id
-                    WHERE ss.station_version_id = sv.id
-                    AND cp.power_type = 'AC'
-                )
-                """);
-        }
+        appendPortFilters(queryBuilder, minPowerKw, hasAC);
 
         // Count query - build same WHERE clause
         StringBuilder countQueryBuilder = new StringBuilder("""
-            SELECT COUNT(DISTINCT sv.station_id)
-            FROM station_version sv
-            WHERE sv.workflow_status = 'PUBLISHED'
-            AND ST_DWithin(
-                CAST(sv.location AS geography),
+            SELECT COUNT(*)
+            FROM published_station ps
+            WHERE ST_DWithin(
+                ps.location,
                 CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography),
                 :radiusMeters
             )
             """);
-        
-        if (minPowerKw != null) {
-            countQueryBuilder.append("""
-                AND EXISTS (
-                    SELECT 1 FROM station_service ss
-                    JOIN charging_port cp ON ss.id = cp.station_service_id
-                    WHERE ss.station_version_id = sv.id
-                    AND cp.power_type = 'DC'
-                    AND cp.power_kw >= :minPowerKw
-                )
-                """);
-        }
 
-        if (hasAC != null && hasAC) {
-            countQueryBuilder.append("""
-                AND EXISTS (
-                    SELECT 1 FROM station_service ss
-                    JOIN charging_port cp ON ss.id = cp.station_service_id
-                    WHERE ss.station_version_id = sv.id
-                    AND cp.power_type = 'AC'
-                )
-                """);
-        }
-        
+        appendPortFilters(countQueryBuilder, minPowerKw, hasAC);
+
         Query countNativeQuery = entityManager.createNativeQuery(countQueryBuilder.toString());
         countNativeQuery.setParameter("lat", lat);
         countNativeQuery.setParameter("lng", lng);
@@ -131,7 +120,7 @@ public class StationQueryRepositoryImpl implements StationQueryRepository {
         long total = ((Number) countNativeQuery.getSingleResult()).longValue();
 
         // Add pagination
-        queryBuilder.append(" ORDER BY ST_Distance(CAST(sv.location AS geography), CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography))");
+        queryBuilder.append(" ORDER BY ST_Distance(ps.location, CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography))");
         queryBuilder.append(" LIMIT :limit OFFSET :offset");
 
         Query nativeQuery = entityManager.createNativeQuery(queryBuilder.toString());
@@ -147,62 +136,170 @@ public class StationQueryRepositoryImpl implements StationQueryRepository {
         @SuppressWarnings("unchecked")
         List<Object[]> results = nativeQuery.getResultList();
 
-        // Map to DTOs
-        List<StationListItemDTO> stations = new ArrayList<>();
+        List<StationVersionStamp> stamps = new ArrayList<>(results.size());
+        for (Object[] row : results) {
+            stamps.add(mapStamp(row, false));
+        }
+        return new PageImpl<>(stamps, pageable, total);
+    }
+
+    @Override
+    public CursorPaginationResponse<StationVersionStamp> findPublishedStationStampsWithinRadiusAfter(
+            double lat,
+            double lng,
+            double radiusKm,
+            BigDecimal minPowerKw,
+            Boolean hasAC,
+            String cursor,
+            int size,
+            boolean withTotal) {
+
+        double radiusMeters = radiusKm * 1000;
+        NearbyCursor after = cursor != null && !cursor.isBlank() ? NearbyCursor.decode(cursor) : null;
+
+        // KNN ordering: <-> on geography uses the GiST index and returns sphere distance in meters
+        StringBuilder queryBuilder = new StringBuilder("SELECT ").append(STAMP_COLUMNS).append("""
+                ,
+                CAST(ps.location <-> CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography) AS DOUBLE PRECISION) as distance_m
+            FROM published_station ps
+            WHERE ST_DWithin(
+                ps.location,
+                CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography),
+                :radiusMeters
+            )
+            """);
+
+        appendPortFilters(queryBuilder, minPowerKw, hasAC);
+
+        // Keyset: continue strictly after (last distance, last station_id)
+        if (after != null) {
+            queryBuilder.append("""
+                AND (
+                    CAST(ps.location <-> CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography) AS DOUBLE PRECISION) > :lastDistance
+                    OR (
+                        CAST(ps.location <-> CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography) AS DOUBLE PRECISION) = :lastDistance
+                        AND ps.station_id > :lastStationId
+                    )
+                )
+                """);
+        }
+
+        queryBuilder.append(" ORDER BY ps.location <-> CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography), ps.station_id");
+        queryBuilder.append(" LIMIT :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(queryBuilder.toString());
+        nativeQuery.setParameter("lat", lat);
+        nativeQuery.setParameter("lng", lng);
+        nativeQuery.setParameter("radiusMeters", radiusMeters);
+        if (minPowerKw != null) {
+            nativeQuery.setParameter("minPowerKw", minPowerKw);
+        }
+        if (after != null) {
+            nativeQuery.setParameter("lastDistance", after.distanceMeters());
+            nativeQuery.setParameter("lastStationId", after.stationId());
+        }
+        // Fetch one extra row to know whether another page exists
+        nativeQuery.setParameter("limit", size + 1);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = nativeQuery.getResultList();
+
+        boolean hasNext = results.size() > size;
+        List<Object[]> pageRows = hasNext ? results.subList(0, size) : results;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new NearbyCursor(((Number) last[3]).doubleValue(), (UUID) last[0]).encode();
+        }
+
+        // Total is only counted on the first page when asked for; later pages skip COUNT(*)
+        Long total = null;
+        if (withTotal && after == null) {
+            StringBuilder countQueryBuilder = new StringBuilder("""
+                SELECT COUNT(*)
+                FROM published_station ps
+                WHERE ST_DWithin(
+                    ps.location,
+                    CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography),
+                    :radiusMeters
+                )
+                """);
+            appendPortFilters(countQueryBuilder, minPowerKw, hasAC);
+
+            Query countNativeQuery = entityManager.createNativeQuery(countQueryBuilder.toString());
+            countNativeQuery.setParameter("lat", lat);
+            countNativeQuery.setParameter("lng", lng);
+            countNativeQuery.setParameter("radiusMeters", radiusMeters);
+            if (minPowerKw != null) {
+                countNativeQuery.setParameter("minPowerKw", minPowerKw);
+            }
+            total = ((Number) countNativeQuery.getSingleResult()).longValue();
+        }
+
+        List<StationVersionStamp> stamps = new ArrayList<>(pageRows.size());
+        for (Object[] row : pageRows) {
+            stamps.add(mapStamp(row, true));
+        }
+
+        return CursorPaginationResponse.<StationVersionStamp>builder()
+                .content(stamps)
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(total)
+                .build();
+    }
+
+    private void appendPortFilters(StringBuilder queryBuilder, BigDecimal minPowerKw, Boolean hasAC) {
+        // max_dc_kw is NULL for stations without DC ports, so they never match
+        if (minPowerKw != null) {
+            queryBuilder.append(" AND ps.max_dc_kw >= :minPowerKw");
+        }
+
+        if (hasAC != null && hasAC) {
+            queryBuilder.append(" AND ps.has_ac");
+        }
+    }
+
+    @Override
+    public List<StationListItemDTO> findPublishedStationListItems(List<UUID> stationIds) {
+        if (stationIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String query = "SELECT " + STATION_COLUMNS + """
+            FROM published_station ps
+            WHERE ps.station_id IN (:stationIds)
+            """;
+
+        Query nativeQuery = entityManager.createNativeQuery(query);
+        nativeQuery.setParameter("stationIds", stationIds);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = nativeQuery.getResultList();
+
+        Map<UUID, StationListItemDTO> itemsById = new HashMap<>();
         for (Object[] row : results) {
-            UUID stationId = (UUID) row[0];
-            String name = (String) row[1];
-            String address = (String) row[2];
-            Double stationLat = ((Number) row[3]).doubleValue();
-            Double stationLng = ((Number) row[4]).doubleValue();
-            String operatingHours = (String) row[5];
-            String parking = (String) row[6];
-            String visibility = (String) row[7];
-            String publicStatus = (String) row[8];
-
-            // Fetch charging summary
-            ChargingSummaryDTO chargingSummary = getChargingSummaryForStationVersion(stationId);
-            
-            // Get real trust score, default to 50 if not calculated yet
-            Integer trustScore = trustRepository.findById(stationId)
-                    .map(trust -> trust.getScore())
-                    .orElse(50);
-
-            stations.add(StationListItemDTO.builder()
-                    .stationId(stationId.toString())
-                    .name(name)
-                    .address(address)
-                    .lat(stationLat)
-                    .lng(stationLng)
-                    .operatingHours(operatingHours)
-                    .parking(parking)
-                    .visibility(visibility)
-                    .publicStatus(publicStatus)
-                    .chargingSummary(chargingSummary)
-                    .trustScore(trustScore)
-                    .build());
+            itemsById.put((UUID) row[0], mapListItem(row));
         }
 
-        return new PageImpl<>(stations, pageable, total);
+        // Keep the caller's order (e.g. distance)
+        List<StationListItemDTO> items = new ArrayList<>(stationIds.size());
+        for (UUID stationId : stationIds) {
+            StationListItemDTO item = itemsById.get(stationId);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
     }
 
     @Override
-    public Optional<StationDetailDTO> findPublishedStationDetail(UUID stationId) {
-        String query = """
-            SELECT 
-                sv.station_id,
-                sv.name,
-                sv.address,
-                ST_Y(CAST(sv.location AS geometry)) as lat,
-                ST_X(CAST(sv.location AS geometry)) as lng,
-                sv.operating_hours,
-                sv.parking,
-                sv.visibility,
-                sv.public_status,
-                sv.published_at
-            FROM station_version sv
-            WHERE sv.station_id = :stationId
-            AND sv.workflow_status = 'PUBLISHED'
+    public Optional<StationDetailVersion> findPublishedStationDetail(UUID stationId) {
+        String query = "SELECT " + STATION_COLUMNS + ", " + DETAIL_STAMP_COLUMNS + """
+            FROM published_station ps
+            WHERE ps.station_id = :stationId
             """;
 
         Query nativeQuery = entityManager.createNativeQuery(query);
@@ -211,11 +308,57 @@ public class StationQueryRepositoryImpl implements StationQueryRepository {
         @SuppressWarnings("unchecked")
         List<Object[]> results = nativeQuery.getResultList();
 
-        if (results.isEmpty()) {
-            return Optional.empty();
+        return results.isEmpty() ? Optional.empty() : Optional.of(mapDetailVersion(results.get(0)));
+    }
+
+    @Override
+    public List<StationDetailVersion> findPublishedStationDetails(List<UUID> stationIds) {
+        if (stationIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String query = "SELECT " + STATION_COLUMNS + ", " + DETAIL_STAMP_COLUMNS + """
+            FROM published_station ps
+            WHERE ps.station_id IN (:stationIds)
+            """;
+
+        Query nativeQuery = entityManager.createNativeQuery(query);
+        nativeQuery.setParameter("stationIds", stationIds);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = nativeQuery.getResultList();
+
+        Map<UUID, StationDetailVersion> detailsById = new HashMap<>();
+        for (Object[] row : results) {
+            detailsById.put((UUID) row[0], mapDetailVersion(row));
+        }
+
+        List<StationDetailVersion> details = new ArrayList<>(detailsById.size());
+        for (UUID stationId : stationIds) {
+            StationDetailVersion detail = detailsById.get(stationId);
+            if (detail != null) {
+                details.add(detail);
+            }
         }
+        return details;
+    }
+
+    /**
+     * Map a row selected with {@link #STATION_COLUMNS} followed by {@link #DETAIL_STAMP_COLUMNS}
+     */
+    private StationDetailVersion mapDetailVersion(Object[] row) {
+        StationVersionStamp stamp = new StationVersionStamp(
+                (UUID) row[0],
+                (UUID) row[14],
+                ((java.sql.Timestamp) row[15]).toInstant(),
+                null);
+        return new StationDetailVersion(stamp, mapDetail(row));
+    }
 
-        Object[] row = results.get(0);
+    /**
+     * Map a row selected with {@link #STATION_COLUMNS} to a detail
+     */
+    private StationDetailDTO mapDetail(Object[] row) {
         UUID foundStationId = (UUID) row[0];
         String name = (String) row[1];
         String address = (String) row[2];
@@ -225,18 +368,10 @@ public class StationQueryRepositoryImpl implements StationQueryRepository {
         String parking = (String) row[6];
         String visibility = (String) row[7];
         String publicStatus = (String) row[8];
-        java.time.Instant publishedAt = row[9] != null ? 
+        java.time.Instant publishedAt = row[9] != null ?
             ((java.sql.Timestamp) row[9]).toInstant() : null;
 
-        // Fetch charging ports
-        List<PortInfoDTO> ports = getChargingPortsForStation(stationId);
-        
-        // Get real trust score, default to 50 if not calculated yet
-        Integer trustScore = trustRepository.findById(stationId)
-                .map(trust -> trust.getScore())
-                .orElse(50);
-
-        return Optional.of(StationDetailDTO.builder()
+        return StationDetailDTO.builder()
                 .stationId(foundStationId.toString())
                 .name(name)
                 .address(address)
@@ -247,176 +382,123 @@ public class StationQueryRepositoryImpl implements StationQueryRepository {
                 .visibility(visibility)
                 .publicStatus(publicStatus)
                 .publishedAt(publishedAt)
-                .ports(ports)
-                .trustScore(trustScore)
-                .build());
+                .ports(PortSummaryJson.parse((String) row[10]))
+                .trustScore(((Number) row[13]).intValue())
+                .build();
     }
 
-    private ChargingSummaryDTO getChargingSummaryForStationVersion(UUID stationId) {
-        String query = """
-            SELECT 
-                cp.power_type,
-                cp.power_kw,
-                cp.port_count
-            FROM station_version sv
-            JOIN station_service ss ON sv.id = ss.station_version_id
-            JOIN charging_port cp ON ss.id = cp.station_service_id
-            WHERE sv.station_id = :stationId
-            AND sv.workflow_status = 'PUBLISHED'
-            ORDER BY cp.power_type, cp.power_kw DESC NULLS LAST
-            """;
-
-        Query nativeQuery = entityManager.createNativeQuery(query);
-        nativeQuery.setParameter("stationId", stationId);
-
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = nativeQuery.getResultList();
-
-        List<PortInfoDTO> ports = new ArrayList<>();
-        int totalPorts = 0;
-        BigDecimal maxPowerKw = null;
+    /**
+     * Map a row selected with {@link #STAMP_COLUMNS} (plus distance_m when withDistance)
+     */
+    private StationVersionStamp mapStamp(Object[] row, boolean withDistance) {
+        return new StationVersionStamp(
+                (UUID) row[0],
+                (UUID) row[1],
+                ((java.sql.Timestamp) row[2]).toInstant(),
+                withDistance ? ((Number) row[3]).doubleValue() : null);
+    }
 
-        for (Object[] row : results) {
-            String powerType = (String) row[0];
-            BigDecimal powerKw = row[1] != null ? (BigDecimal) row[1] : null;
-            Integer portCount = ((Number) row[2]).intValue();
-
-            ports.add(PortInfoDTO.builder()
-                    .powerType(powerType)
-                    .powerKw(powerKw)
-                    .count(portCount)
-                    .build());
-
-            totalPorts += portCount;
-
-            // Track max DC power
-            if (PowerType.DC.name().equals(powerType) && powerKw != null) {
-                if (maxPowerKw == null || powerKw.compareTo(maxPowerKw) > 0) {
-                    maxPowerKw = powerKw;
-                }
-            }
+    private List<StationListItemDTO> mapListItems(List<Object[]> rows) {
+        List<StationListItemDTO> stations = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            stations.add(mapListItem(row));
         }
-
-        return ChargingSummaryDTO.builder()
-                .totalPorts(totalPorts)
-                .maxPowerKw(maxPowerKw)
-                .ports(ports)
-                .build();
+        return stations;
     }
 
-    private List<PortInfoDTO> getChargingPortsForStation(UUID stationId) {
-        String query = """
-            SELECT 
-                cp.power_type,
-                cp.power_kw,
-                cp.port_count
-            FROM station_version sv
-            JOIN station_service ss ON sv.id = ss.station_version_id
-            JOIN charging_port cp ON ss.id = cp.station_service_id
-            WHERE sv.station_id = :stationId
-            AND sv.workflow_status = 'PUBLISHED'
-            ORDER BY cp.power_type, cp.power_kw DESC NULLS LAST
-            """;
-
-        Query nativeQuery = entityManager.createNativeQuery(query);
-        nativeQuery.setParameter("stationId", stationId);
+    /**
+     * Map a row selected with {@link #STATION_COLUMNS} to a list item
+     */
+    private StationListItemDTO mapListItem(Object[] row) {
+        UUID stationId = (UUID) row[0];
+        String name = (String) row[1];
+        String address = (String) row[2];
+        Double stationLat = ((Number) row[3]).doubleValue();
+        Double stationLng = ((Number) row[4]).doubleValue();
+        String operatingHours = (String) row[5];
+        String parking = (String) row[6];
+        String visibility = (String) row[7];
+        String publicStatus = (String) row[8];
 
-        @SuppressWarnings("unchecked")
-        List<Object[]> results = nativeQuery.getResultList();
+        ChargingSummaryDTO chargingSummary = ChargingSummaryDTO.builder()
+                .totalPorts(((Number) row[11]).intValue())
+                .maxPowerKw(row[12] != null ? (BigDecimal) row[12] : null)
+                .ports(PortSummaryJson.parse((String) row[10]))
+                .build();
 
-        return results.stream()
-                .map(row -> PortInfoDTO.builder()
-                        .powerType((String) row[0])
-                        .powerKw(row[1] != null ? (BigDecimal) row[1] : null)
-                        .count(((Number) row[2]).intValue())
-                        .build())
-                .collect(Collectors.toList());
+        return StationListItemDTO.builder()
+                .stationId(stationId.toString())
+                .name(name)
+                .address(address)
+                .lat(stationLat)
+                .lng(stationLng)
+                .operatingHours(operatingHours)
+                .parking(parking)
+                .visibility(visibility)
+                .publicStatus(publicStatus)
+                .chargingSummary(chargingSummary)
+                .trustScore(((Number) row[13]).intValue())
+                .build();
     }
 
     @Override
     public Page<StationListItemDTO> searchPublishedStationsByName(
             String nameQuery,
+            Double lat,
+            Double lng,
             Pageable pageable) {
-        
-        // Build search query with case-insensitive LIKE
-        String searchPattern = "%" + nameQuery.toLowerCase() + "%";
-        
-        String query = """
-            SELECT 
-                sv.station_id,
-                sv.name,
-                sv.address,
-                ST_Y(CAST(sv.location AS geometry)) as lat,
-                ST_X(CAST(sv.location AS geometry)) as lng,
-                sv.operating_hours,
-                sv.parking,
-                sv.visibility,
-                sv.public_status
-            FROM station_version sv
-            WHERE sv.workflow_status = 'PUBLISHED'
-            AND LOWER(sv.name) LIKE :searchPattern
-            ORDER BY sv.name
-            LIMIT :limit OFFSET :offset
-            """;
 
-        String countQuery = """
-            SELECT COUNT(DISTINCT sv.station_id)
-            FROM station_version sv
-            WHERE sv.workflow_status = 'PUBLISHED'
-            AND LOWER(sv.name) LIKE :searchPattern
+        // Accent- and case-insensitive match on name or address, backed by trigram GIN indexes.
+        // word_similarity (<%) also catches typos in the name.
+        String searchTerm = nameQuery.trim();
+        String searchPattern = "%" + escapeLikePattern(searchTerm) + "%";
+        boolean hasOrigin = lat != null && lng != null;
+
+        String whereClause = """
+            FROM published_station ps
+            WHERE (
+                LOWER(immutable_unaccent(ps.name)) LIKE LOWER(immutable_unaccent(:searchPattern)) ESCAPE '\\'
+                OR LOWER(immutable_unaccent(ps.address)) LIKE LOWER(immutable_unaccent(:searchPattern)) ESCAPE '\\'
+                OR LOWER(immutable_unaccent(:searchTerm)) <% LOWER(immutable_unaccent(ps.name))
+            )
             """;
 
+        // Rank by similarity to the name, then by distance from the user (if known), then by name
+        StringBuilder queryBuilder = new StringBuilder("SELECT ").append(STATION_COLUMNS);
+        queryBuilder.append(whereClause);
+        queryBuilder.append(" ORDER BY word_similarity(LOWER(immutable_unaccent(:searchTerm)), LOWER(immutable_unaccent(ps.name))) DESC");
+        if (hasOrigin) {
+            queryBuilder.append(", ps.location <-> CAST(ST_SetSRID(ST_MakePoint(:lng, :lat), 4326) AS geography)");
+        }
+        queryBuilder.append(", ps.name");
+        queryBuilder.append(" LIMIT :limit OFFSET :offset");
+
         // Count total
-        Query countNativeQuery = entityManager.createNativeQuery(countQuery);
+        Query countNativeQuery = entityManager.createNativeQuery("SELECT COUNT(*) " + whereClause);
         countNativeQuery.setParameter("searchPattern", searchPattern);
+        countNativeQuery.setParameter("searchTerm", searchTerm);
         long total = ((Number) countNativeQuery.getSingleResult()).longValue();
 
         // Get paginated results
-        Query nativeQuery = entityManager.createNativeQuery(query);
+        Query nativeQuery = entityManager.createNativeQuery(queryBuilder.toString());
         nativeQuery.setParameter("searchPattern", searchPattern);
+        nativeQuery.setParameter("searchTerm", searchTerm);
+        if (hasOrigin) {
+            nativeQuery.setParameter("lat", lat);
+            nativeQuery.setParameter("lng", lng);
+        }
         nativeQuery.setParameter("limit", pageable.getPageSize());
         nativeQuery.setParameter("offset", pageable.getOffset());
 
         @SuppressWarnings("unchecked")
         List<Object[]> results = nativeQuery.getResultList();
 
-        // Map to DTOs
-        List<StationListItemDTO> stations = new ArrayList<>();
-        for (Object[] row : results) {
-            UUID stationId = (UUID) row[0];
-            String name = (String) row[1];
-            String address = (String) row[2];
-            Double stationLat = ((Number) row[3]).doubleValue();
-            Double stationLng = ((Number) row[4]).doubleValue();
-            String operatingHours = (String) row[5];
-            String parking = (String) row[6];
-            String visibility = (String) row[7];
-            String publicStatus = (String) row[8];
-
-            // Fetch charging summary
-            ChargingSummaryDTO chargingSummary = getChargingSummaryForStationVersion(stationId);
-            
-            // Get real trust score, default to 50 if not calculated yet
-            Integer trustScore = trustRepository.findById(stationId)
-                    .map(trust -> trust.getScore())
-                    .orElse(50);
-
-            stations.add(StationListItemDTO.builder()
-                    .stationId(stationId.toString())
-                    .name(name)
-                    .address(address)
-                    .lat(stationLat)
-                    .lng(stationLng)
-                    .operatingHours(operatingHours)
-                    .parking(parking)
-                    .visibility(visibility)
-                    .publicStatus(publicStatus)
-                    .chargingSummary(chargingSummary)
-                    .trustScore(trustScore)
-                    .build());
-        }
+        return new PageImpl<>(mapListItems(results), pageable, total);
+    }
 
-        return new PageImpl<>(stations, pageable, total);
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 }
-
@@ -0,0 +1,109 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Renders Mapbox Vector Tiles of published stations with ST_AsMVT.
+ *
+ * Layer "stations", one point per station with attributes:
+ * station_id, name, total_ports, max_power_kw, power_class (AC | DC | FAST | ULTRA),
+ * trust_band (LOW | MEDIUM | HIGH).
+ */
+@Repository
+@RequiredArgsConstructor
+public class StationTileRepository {
+
+    public static final String LAYER_NAME = "stations";
+    public static final int EXTENT = 4096;
+    public static final int BUFFER = 64;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    /**
+     * Tile bounds in 3857 and the area stations are selected from: the tile envelope grown by the
+     * render buffer, clipped to the Web Mercator extent (at low zoom the margin would otherwise run past
+     * +/-180 degrees) and transformed to 4326, where a Mercator rectangle is still a lon/lat rectangle.
+     * Compared in geometry so the box edges stay parallels and meridians.
+     */
+    private static final String BOUNDS = """
+            WITH bounds AS (
+                SELECT
+                    ST_TileEnvelope(:z, :x, :y) AS geom,
+                    ST_Transform(ST_Intersection(
+                        ST_TileEnvelope(:z, :x, :y, margin => :margin),
+                        ST_TileEnvelope(0, 0, 0)
+                    ), 4326) AS search_area
+            )
+            """;
+
+    public byte[] renderTile(int z, int x, int y) {
+        String query = BOUNDS + """
+            SELECT ST_AsMVT(tile, :layer, :extent, 'geom')
+            FROM (
+                SELECT
+                    ST_AsMVTGeom(ST_Transform(CAST(ps.location AS geometry), 3857), bounds.geom, :extent, :buffer, true)
+                        AS geom,
+                    CAST(ps.station_id AS TEXT) AS station_id,
+                    ps.name,
+                    ps.total_ports,
+                    CAST(ps.max_dc_kw AS DOUBLE PRECISION) AS max_power_kw,
+                    CASE
+                        WHEN ps.max_dc_kw >= 150 THEN 'ULTRA'
+                        WHEN ps.max_dc_kw >= 50 THEN 'FAST'
+                        WHEN ps.max_dc_kw IS NOT NULL THEN 'DC'
+                        ELSE 'AC'
+                    END AS power_class,
+                    CASE
+                        WHEN ps.trust_score >= 80 THEN 'HIGH'
+                        WHEN ps.trust_score >= 50 THEN 'MEDIUM'
+                        ELSE 'LOW'
+                    END AS trust_band
+                FROM published_station ps, bounds
+                WHERE CAST(ps.location AS geometry) && bounds.search_area
+            ) tile
+            WHERE tile.geom IS NOT NULL
+            """;
+
+        Object result = bind(entityManager.createNativeQuery(query), z, x, y)
+                .setParameter("layer", LAYER_NAME)
+                .setParameter("extent", EXTENT)
+                .setParameter("buffer", BUFFER)
+                .getSingleResult();
+
+        return result != null ? (byte[]) result : new byte[0];
+    }
+
+    /**
+     * Location of a published station as {lat, lng}, empty if it is not published
+     */
+    public Optional<double[]> findStationLocation(UUID stationId) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+            SELECT ST_Y(CAST(ps.location AS geometry)), ST_X(CAST(ps.location AS geometry))
+            FROM published_station ps
+            WHERE ps.station_id = :stationId
+            """)
+                .setParameter("stationId", stationId)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new double[]{((Number) row[0]).doubleValue(), ((Number) row[1]).doubleValue()});
+    }
+
+    private static Query bind(Query query, int z, int x, int y) {
+        return query
+                .setParameter("z", z)
+                .setParameter("x", x)
+                .setParameter("y", y)
+                .setParameter("margin", (double) BUFFER / EXTENT);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vehicle model with its DC charge curve (V113), maintained through migrations
+ */
+@Entity
+@Immutable
+@Table(name = "vehicle_profile")
+@Data
+@NoArgsConstructor
+public class VehicleProfileEntity {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "battery_capacity_kwh", nullable = false)
+    private BigDecimal batteryCapacityKwh;
+
+    @Column(name = "max_ac_kw", nullable = false)
+    private BigDecimal maxAcKw;
+
+    @Column(name = "max_dc_kw", nullable = false)
+    private BigDecimal maxDcKw;
+
+    /**
+     * [{soc, kw}] ordered by soc
+     */
+    @Column(name = "charge_curve", nullable = false, columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private List<Map<String, Number>> chargeCurve;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,12 @@
+package com.example.evstation.station.infrastructure.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface VehicleProfileJpaRepository extends JpaRepository<VehicleProfileEntity, String> {
+
+    List<VehicleProfileEntity> findByActiveTrue();
+}
@@ -0,0 +1,382 @@
+package com.example.evstation.station.infrastructure.memory;
+
+import com.example.evstation.station.application.event.StationChangedEvent;
+import com.example.evstation.station.infrastructure.NearbyCursor;
+import com.example.evstation.station.infrastructure.jpa.PortSummaryJson;
+import com.example.evstation.station.infrastructure.jpa.StationChangeLogEntity;
+import com.example.evstation.station.infrastructure.jpa.StationChangeLogJpaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-JVM read model of all published stations.
+ *
+ * Stations are bucketed into a fixed lat/lng grid (~5.5 km cells), each cell holding
+ * primitive coordinate arrays. Radius queries visit only the cells overlapping the search
+ * circle and compute haversine distances on the arrays.
+ *
+ * The index is loaded on startup and patched per station (publish, delete, trust change):
+ * only the station's old and new cells are rebuilt, and a copy of the cell table holding
+ * them is swapped in, so readers never block and never see a half-patched grid. Patches
+ * come from {@link StationChangedEvent} on the node that made the change, and from the
+ * station change log, polled every sync-interval, on every node.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.station-query.repository", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryStationIndex {
+
+    private static final double CELL_SIZE_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_METERS = 6371008.8;
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+    private static final int SYNC_BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    private final StationChangeLogJpaRepository changeLogRepository;
+
+    private final Map<UUID, IndexedStation> stations = new ConcurrentHashMap<>();
+    private volatile Map<Long, Cell> cells = Map.of();
+    private volatile long syncedSeq = -1; // last change log entry applied, -1 until loaded
+
+    /**
+     * Load all published stations (startup)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // Token first: entries committed during the load are replayed by the next sync
+        long seq = changeLogRepository.findLatestSeq();
+        Map<UUID, IndexedStation> loaded = loadStations(null);
+
+        Map<Long, List<IndexedStation>> buckets = new HashMap<>();
+        for (IndexedStation station : loaded.values()) {
+            buckets.computeIfAbsent(cellKeyOf(station), k -> new ArrayList<>()).add(station);
+        }
+        Map<Long, Cell> built = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, members) -> built.put(key, Cell.of(members)));
+
+        synchronized (stations) {
+            stations.clear();
+            stations.putAll(loaded);
+            cells = built;
+            syncedSeq = seq;
+        }
+        log.info("In-memory station index built: {} published stations", loaded.size());
+    }
+
+    /**
+     * Patch a single station after the publishing transaction commits on this node
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStationChanged(StationChangedEvent event) {
+        log.debug("Patching in-memory station index: {}", event);
+        reload(event.getStationId(), event.getChangeType());
+    }
+
+    /**
+     * Apply the station changes committed on any node since the last sync
+     */
+    @Scheduled(initialDelayString = "${app.station-query.memory-sync-interval-ms:5000}",
+            fixedDelayString = "${app.station-query.memory-sync-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public void syncFromChangeLog() {
+        if (syncedSeq < 0) {
+            return; // not loaded yet
+        }
+        int applied = 0;
+        List<StationChangeLogEntity> entries;
+        do {
+            entries = changeLogRepository.findAfter(syncedSeq, PageRequest.of(0, SYNC_BATCH_SIZE));
+            for (StationChangeLogEntity entry : entries) {
+                reload(entry.getStationId(), entry.getChangeType());
+                syncedSeq = entry.getSeq();
+                applied++;
+            }
+        } while (entries.size() == SYNC_BATCH_SIZE);
+
+        if (applied > 0) {
+            log.debug("In-memory station index synced: {} changes, seq={}", applied, syncedSeq);
+        }
+    }
+
+    public Optional<IndexedStation> get(UUID stationId) {
+        return Optional.ofNullable(stations.get(stationId));
+    }
+
+    public int size() {
+        return stations.size();
+    }
+
+    /**
+     * Find stations within radius, sorted by distance then station ID.
+     * @param minDcKw Minimum DC power, NaN for no filter
+     * @param requireAC Only stations with AC ports
+     */
+    public List<Hit> findWithinRadius(double lat, double lng, double radiusKm, double minDcKw, boolean requireAC) {
+        Map<Long, Cell> current = cells;
+        double radiusMeters = radiusKm * 1000;
+
+        // Bounding box of the search circle in grid cells
+        double latDelta = radiusMeters / METERS_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double lngDelta = cosLat > 1e-6 ? Math.min(180.0, latDelta / cosLat) : 180.0;
+        int minLatCell = cellOf(lat - latDelta);
+        int maxLatCell = cellOf(lat + latDelta);
+        int minLngCell = cellOf(lng - lngDelta);
+        int maxLngCell = cellOf(lng + lngDelta);
+
+        List<Hit> hits = new ArrayList<>();
+        long cellsInBox = (long) (maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1);
+
+        if (cellsInBox > current.size()) {
+            // Sparse grid: cheaper to walk the occupied cells than the bounding box
+            for (Cell cell : current.values()) {
+                collectHits(cell, lat, lng, radiusMeters, minDcKw, requireAC, hits);
+            }
+        } else {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                    Cell cell = current.get(cellKey(latCell, lngCell));
+                    if (cell != null) {
+                        collectHits(cell, lat, lng, radiusMeters, minDcKw, requireAC, hits);
+                    }
+                }
+            }
+        }
+
+        hits.sort(HIT_ORDER);
+        return hits;
+    }
+
+    /**
+     * Case- and accent-insensitive partial match on station name or address.
+     * Name matches rank before address-only matches, then by distance from (lat, lng) when given,
+     * then by name.
+     */
+    public List<IndexedStation> findByName(String nameQuery, Double lat, Double lng) {
+        String needle = IndexedStation.normalize(nameQuery.trim());
+        boolean hasOrigin = lat != null && lng != null;
+
+        List<IndexedStation> matches = new ArrayList<>();
+        for (IndexedStation station : stations.values()) {
+            if (station.getNormalizedName().contains(needle) || station.getNormalizedAddress().contains(needle)) {
+                matches.add(station);
+            }
+        }
+
+        Comparator<IndexedStation> order = Comparator.comparing(
+                (IndexedStation station) -> !station.getNormalizedName().contains(needle));
+        if (hasOrigin) {
+            order = order.thenComparingDouble(station -> haversineMeters(lat, lng, station.getLat(), station.getLng()));
+        }
+        matches.sort(order.thenComparing(IndexedStation::getName));
+        return matches;
+    }
+
+    /**
+     * Reload one station from the projection and move it between grid cells.
+     * Only the station's old and new cells are rebuilt; the cell table is copied so the swap is atomic.
+     */
+    private void reload(UUID stationId, StationChangedEvent.ChangeType changeType) {
+        IndexedStation reloaded = changeType == StationChangedEvent.ChangeType.DELETED
+                ? null : loadStations(stationId).get(stationId);
+
+        synchronized (stations) {
+            IndexedStation previous = reloaded != null
+                    ? stations.put(stationId, reloaded) : stations.remove(stationId);
+            if (previous == null && reloaded == null) {
+                return;
+            }
+            Map<Long, Cell> next = new HashMap<>(cells);
+            if (previous != null) {
+                long key = cellKeyOf(previous);
+                Cell cell = next.containsKey(key) ? next.get(key).without(stationId) : null;
+                if (cell != null) {
+                    next.put(key, cell);
+                } else {
+                    next.remove(key);
+                }
+            }
+            if (reloaded != null) {
+                long key = cellKeyOf(reloaded);
+                next.put(key, Cell.with(next.get(key), reloaded));
+            }
+            cells = next;
+        }
+    }
+
+    private static void collectHits(Cell cell, double lat, double lng,
+                                    double radiusMeters, double minDcKw, boolean requireAC, List<Hit> hits) {
+        for (int i = 0; i < cell.stations.length; i++) {
+            double distance = haversineMeters(lat, lng, cell.lats[i], cell.lngs[i]);
+            if (distance > radiusMeters) {
+                continue;
+            }
+            IndexedStation station = cell.stations[i];
+            if (!Double.isNaN(minDcKw) && !(station.getMaxDcKw() >= minDcKw)) {
+                continue;
+            }
+            if (requireAC && !station.isHasAC()) {
+                continue;
+            }
+            hits.add(new Hit(station, distance));
+        }
+    }
+
+    static double haversineMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private static long cellKeyOf(IndexedStation station) {
+        return cellKey(cellOf(station.getLat()), cellOf(station.getLng()));
+    }
+
+    /**
+     * Load published stations from the published_station projection (all stations when stationId is null)
+     */
+    private Map<UUID, IndexedStation> loadStations(UUID stationId) {
+        String stationFilter = stationId != null ? " WHERE ps.station_id = :stationId" : "";
+
+        Query stationQuery = entityManager.createNativeQuery("""
+            SELECT
+                ps.station_id,
+                ps.name,
+                ps.address,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+                ps.operating_hours,
+                ps.parking,
+                ps.visibility,
+                ps.public_status,
+                ps.published_at,
+                CAST(ps.ports AS TEXT) as ports,
+                ps.trust_score,
+                ps.station_version_id,
+                ps.updated_at
+            FROM published_station ps
+            """ + stationFilter);
+
+        if (stationId != null) {
+            stationQuery.setParameter("stationId", stationId);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> stationRows = stationQuery.getResultList();
+        Map<UUID, IndexedStation> loaded = new HashMap<>();
+        for (Object[] row : stationRows) {
+            UUID id = (UUID) row[0];
+            Instant publishedAt = row[9] != null ? ((java.sql.Timestamp) row[9]).toInstant() : null;
+            loaded.put(id, new IndexedStation(
+                    id,
+                    (UUID) row[12],
+                    ((java.sql.Timestamp) row[13]).toInstant(),
+                    (String) row[1],
+                    (String) row[2],
+                    ((Number) row[3]).doubleValue(),
+                    ((Number) row[4]).doubleValue(),
+                    (String) row[5],
+                    (String) row[6],
+                    (String) row[7],
+                    (String) row[8],
+                    publishedAt,
+                    PortSummaryJson.parse((String) row[10]),
+                    ((Number) row[11]).intValue()));
+        }
+        return loaded;
+    }
+
+    private static final Comparator<Hit> HIT_ORDER = (a, b) -> {
+        int compare = Double.compare(a.distanceMeters(), b.distanceMeters());
+        return compare != 0 ? compare
+                : NearbyCursor.compareStationIds(a.station().getStationId(), b.station().getStationId());
+    };
+
+    public record Hit(IndexedStation station, double distanceMeters) {
+    }
+
+    /**
+     * Immutable grid cell: its stations over primitive coordinate arrays
+     */
+    private static final class Cell {
+
+        final IndexedStation[] stations;
+        final double[] lats;
+        final double[] lngs;
+
+        private Cell(IndexedStation[] stations) {
+            this.stations = stations;
+            this.lats = new double[stations.length];
+            this.lngs = new double[stations.length];
+            for (int i = 0; i < stations.length; i++) {
+                lats[i] = stations[i].getLat();
+                lngs[i] = stations[i].getLng();
+            }
+        }
+
+        static Cell of(List<IndexedStation> stations) {
+            return new Cell(stations.toArray(new IndexedStation[0]));
+        }
+
+        /**
+         * Cell with the station added (or replaced), cell null if there is none yet
+         */
+        static Cell with(Cell cell, IndexedStation station) {
+            List<IndexedStation> members = new ArrayList<>(cell != null ? cell.stations.length + 1 : 1);
+            if (cell != null) {
+                for (IndexedStation member : cell.stations) {
+                    if (!member.getStationId().equals(station.getStationId())) {
+                        members.add(member);
+                    }
+                }
+            }
+            members.add(station);
+            return of(members);
+        }
+
+        /**
+         * Cell without the station, null if it was the last one
+         */
+        Cell without(UUID stationId) {
+            List<IndexedStation> members = new ArrayList<>(stations.length);
+            for (IndexedStation member : stations) {
+                if (!member.getStationId().equals(stationId)) {
+                    members.add(member);
+                }
+            }
+            return members.isEmpty() ? null : of(members);
+        }
+    }
+}
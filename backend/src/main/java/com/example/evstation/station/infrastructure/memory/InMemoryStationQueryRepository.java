@@ -0,0 +1,197 @@
+package com.example.evstation.station.infrastructure.memory;
+
+import com.example.evstation.api.ev_user_mobile.dto.ChargingSummaryDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationDetailDTO;
+import com.example.evstation.api.ev_user_mobile.dto.StationListItemDTO;
+import com.example.evstation.common.web.CursorPaginationResponse;
+import com.example.evstation.station.application.port.StationDetailVersion;
+import com.example.evstation.station.application.port.StationQueryRepository;
+import com.example.evstation.station.application.port.StationVersionStamp;
+import com.example.evstation.station.infrastructure.NearbyCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * StationQueryRepository served entirely from {@link InMemoryStationIndex}.
+ * Enabled with app.station-query.repository=memory.
+ *
+ * Distances are haversine on a sphere, so ordering can differ from PostGIS
+ * spheroid distances by a few meters.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.station-query.repository", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryStationQueryRepository implements StationQueryRepository {
+
+    private final InMemoryStationIndex index;
+
+    @Override
+    public Page<StationVersionStamp> findPublishedStationStampsWithinRadius(
+            double lat,
+            double lng,
+            double radiusKm,
+            BigDecimal minPowerKw,
+            Boolean hasAC,
+            Pageable pageable) {
+
+        List<InMemoryStationIndex.Hit> hits = index.findWithinRadius(
+                lat, lng, radiusKm, toMinDcKw(minPowerKw), Boolean.TRUE.equals(hasAC));
+
+        List<StationVersionStamp> content = new ArrayList<>();
+        long from = Math.min(pageable.getOffset(), hits.size());
+        int to = (int) Math.min(from + pageable.getPageSize(), hits.size());
+        for (int i = (int) from; i < to; i++) {
+            content.add(toStamp(hits.get(i).station(), hits.get(i).distanceMeters()));
+        }
+
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    @Override
+    public CursorPaginationResponse<StationVersionStamp> findPublishedStationStampsWithinRadiusAfter(
+            double lat,
+            double lng,
+            double radiusKm,
+            BigDecimal minPowerKw,
+            Boolean hasAC,
+            String cursor,
+            int size,
+            boolean withTotal) {
+
+        NearbyCursor after = cursor != null && !cursor.isBlank() ? NearbyCursor.decode(cursor) : null;
+        List<InMemoryStationIndex.Hit> hits = index.findWithinRadius(
+                lat, lng, radiusKm, toMinDcKw(minPowerKw), Boolean.TRUE.equals(hasAC));
+
+        int start = 0;
+        if (after != null) {
+            while (start < hits.size()
+                    && !after.isBefore(hits.get(start).distanceMeters(), hits.get(start).station().getStationId())) {
+                start++;
+            }
+        }
+
+        int end = Math.min(start + size, hits.size());
+        boolean hasNext = end < hits.size();
+
+        List<StationVersionStamp> content = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            content.add(toStamp(hits.get(i).station(), hits.get(i).distanceMeters()));
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            InMemoryStationIndex.Hit last = hits.get(end - 1);
+            nextCursor = new NearbyCursor(last.distanceMeters(), last.station().getStationId()).encode();
+        }
+
+        return CursorPaginationResponse.<StationVersionStamp>builder()
+                .content(content)
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .totalElements(withTotal && after == null ? (long) hits.size() : null)
+                .build();
+    }
+
+    @Override
+    public List<StationListItemDTO> findPublishedStationListItems(List<UUID> stationIds) {
+        List<StationListItemDTO> items = new ArrayList<>(stationIds.size());
+        for (UUID stationId : stationIds) {
+            index.get(stationId).ifPresent(station -> items.add(toListItem(station)));
+        }
+        return items;
+    }
+
+    @Override
+    public Optional<StationDetailVersion> findPublishedStationDetail(UUID stationId) {
+        return index.get(stationId).map(InMemoryStationQueryRepository::toDetailVersion);
+    }
+
+    @Override
+    public List<StationDetailVersion> findPublishedStationDetails(List<UUID> stationIds) {
+        List<StationDetailVersion> details = new ArrayList<>(stationIds.size());
+        for (UUID stationId : stationIds) {
+            index.get(stationId).ifPresent(station -> details.add(toDetailVersion(station)));
+        }
+        return details;
+    }
+
+    @Override
+    public Page<StationListItemDTO> searchPublishedStationsByName(
+            String nameQuery,
+            Double lat,
+            Double lng,
+            Pageable pageable) {
+
+        List<IndexedStation> matches = index.findByName(nameQuery, lat, lng);
+
+        List<StationListItemDTO> content = new ArrayList<>();
+        long from = Math.min(pageable.getOffset(), matches.size());
+        int to = (int) Math.min(from + pageable.getPageSize(), matches.size());
+        for (int i = (int) from; i < to; i++) {
+            content.add(toListItem(matches.get(i)));
+        }
+
+        return new PageImpl<>(content, pageable, matches.size());
+    }
+
+    private static double toMinDcKw(BigDecimal minPowerKw) {
+        return minPowerKw != null ? minPowerKw.doubleValue() : Double.NaN;
+    }
+
+    private static StationVersionStamp toStamp(IndexedStation station, Double distanceMeters) {
+        return new StationVersionStamp(station.getStationId(), station.getStationVersionId(),
+                station.getUpdatedAt(), distanceMeters);
+    }
+
+    private static StationDetailVersion toDetailVersion(IndexedStation station) {
+        return new StationDetailVersion(toStamp(station, null), toDetail(station));
+    }
+
+    private static StationDetailDTO toDetail(IndexedStation station) {
+        return StationDetailDTO.builder()
+                .stationId(station.getStationId().toString())
+                .name(station.getName())
+                .address(station.getAddress())
+                .lat(station.getLat())
+                .lng(station.getLng())
+                .operatingHours(station.getOperatingHours())
+                .parking(station.getParking())
+                .visibility(station.getVisibility())
+                .publicStatus(station.getPublicStatus())
+                .publishedAt(station.getPublishedAt())
+                .ports(station.getPorts())
+                .trustScore(station.getTrustScore())
+                .build();
+    }
+
+    private static StationListItemDTO toListItem(IndexedStation station) {
+        return StationListItemDTO.builder()
+                .stationId(station.getStationId().toString())
+                .name(station.getName())
+                .address(station.getAddress())
+                .lat(station.getLat())
+                .lng(station.getLng())
+                .operatingHours(station.getOperatingHours())
+                .parking(station.getParking())
+                .visibility(station.getVisibility())
+                .publicStatus(station.getPublicStatus())
+                .chargingSummary(ChargingSummaryDTO.builder()
+                        .totalPorts(station.getTotalPorts())
+                        .maxPowerKw(station.getMaxPowerKw())
+                        .ports(station.getPorts())
+                        .build())
+                .trustScore(station.getTrustScore())
+                .build();
+    }
+}
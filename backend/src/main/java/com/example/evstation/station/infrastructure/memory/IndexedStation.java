@@ -0,0 +1,95 @@
+package com.example.evstation.station.infrastructure.memory;
+
+import com.example.evstation.api.ev_user_mobile.dto.PortInfoDTO;
+import com.example.evstation.station.domain.PowerType;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of one published station held by {@link InMemoryStationIndex}.
+ * Port summary and trust score are kept inline so queries never touch the database.
+ */
+@Getter
+public final class IndexedStation {
+
+    private final UUID stationId;
+    private final UUID stationVersionId;
+    private final Instant updatedAt; // published_station.updated_at
+    private final String name;
+    private final String address;
+    private final double lat;
+    private final double lng;
+    private final String operatingHours;
+    private final String parking;
+    private final String visibility;
+    private final String publicStatus;
+    private final Instant publishedAt;
+    private final List<PortInfoDTO> ports;
+    private final int trustScore;
+
+    // Derived from ports, precomputed for filtering
+    private final int totalPorts;
+    private final BigDecimal maxPowerKw; // DC only, null if no DC ports
+    private final double maxDcKw;        // NaN if no DC ports
+    private final boolean hasAC;
+    private final String normalizedName;
+    private final String normalizedAddress;
+
+    public IndexedStation(UUID stationId, UUID stationVersionId, Instant updatedAt,
+                          String name, String address, double lat, double lng, String operatingHours,
+                          String parking, String visibility, String publicStatus, Instant publishedAt,
+                          List<PortInfoDTO> ports, int trustScore) {
+        this.stationId = stationId;
+        this.stationVersionId = stationVersionId;
+        this.updatedAt = updatedAt;
+        this.name = name;
+        this.address = address;
+        this.lat = lat;
+        this.lng = lng;
+        this.operatingHours = operatingHours;
+        this.parking = parking;
+        this.visibility = visibility;
+        this.publicStatus = publicStatus;
+        this.publishedAt = publishedAt;
+        this.ports = List.copyOf(ports);
+        this.trustScore = trustScore;
+
+        int total = 0;
+        BigDecimal maxDc = null;
+        boolean ac = false;
+        for (PortInfoDTO port : this.ports) {
+            total += port.getCount();
+            if (PowerType.DC.name().equals(port.getPowerType()) && port.getPowerKw() != null) {
+                if (maxDc == null || port.getPowerKw().compareTo(maxDc) > 0) {
+                    maxDc = port.getPowerKw();
+                }
+            } else if (PowerType.AC.name().equals(port.getPowerType())) {
+                ac = true;
+            }
+        }
+        this.totalPorts = total;
+        this.maxPowerKw = maxDc;
+        this.maxDcKw = maxDc != null ? maxDc.doubleValue() : Double.NaN;
+        this.hasAC = ac;
+        this.normalizedName = normalize(name);
+        this.normalizedAddress = normalize(address);
+    }
+
+    /**
+     * Lower-case and strip diacritics, mirroring LOWER(immutable_unaccent(...)) in SQL
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replace('\u0111', 'd')
+                .replace('\u0110', 'D');
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase();
+    }
+}
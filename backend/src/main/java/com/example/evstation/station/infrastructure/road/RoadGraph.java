@@ -0,0 +1,424 @@
+package com.example.evstation.station.infrastructure.road;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Immutable directed road network, read from a preprocessed file.
+ *
+ * File layout (big-endian, optionally gzip-compressed when the name ends in .gz):
+ * <pre>
+ * magic "EVRG" | int formatVersion (1) | int n | int m
+ * n x int     node lat * 1e6
+ * n x int     node lng * 1e6
+ * (n+1) x int first edge of each node (CSR, ascending, last = m)
+ * m x int     edge target node
+ * m x int     edge length in meters
+ * m x int     edge drive time in tenths of a second
+ * </pre>
+ * The reverse adjacency (for many-to-one queries) and a lat/lng grid for snapping points to
+ * nodes are built at load time.
+ *
+ * Searches label nodes in a {@link SearchSpace} of about 20 bytes per node, borrowed from a pool of
+ * at most maxConcurrentSearches spaces: further concurrent searches wait for one to be returned, so
+ * memory stays bounded however many request threads route.
+ */
+public final class RoadGraph {
+
+    static final int FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = "EVRG".getBytes(StandardCharsets.US_ASCII);
+    private static final double CELL_DEGREES = 0.01;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final int[] latE6;
+    private final int[] lngE6;
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final int[] edgeMeters;
+    private final int[] edgeTenths;
+    private final int[] reverseStart;
+    private final int[] reverseEdge; // forward edge index of each incoming edge
+    private final int[] reverseSource;
+    private final long[] cellKeys;
+    private final int[] cellStart;
+    private final int[] cellNodes;
+    private final double maxSpeedKmph;
+
+    private final BlockingQueue<SearchSpace> idleSearchSpaces;
+    private final AtomicInteger createdSearchSpaces = new AtomicInteger();
+    private final int maxConcurrentSearches;
+
+    private RoadGraph(int[] latE6, int[] lngE6, int[] edgeStart, int[] edgeTarget, int[] edgeMeters, int[] edgeTenths,
+                      int maxConcurrentSearches) {
+        this.latE6 = latE6;
+        this.lngE6 = lngE6;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeMeters = edgeMeters;
+        this.edgeTenths = edgeTenths;
+
+        int n = latE6.length;
+        int m = edgeTarget.length;
+
+        // Transpose the edges: incoming edges of each node
+        reverseStart = new int[n + 1];
+        for (int edge = 0; edge < m; edge++) {
+            reverseStart[edgeTarget[edge] + 1]++;
+        }
+        for (int node = 0; node < n; node++) {
+            reverseStart[node + 1] += reverseStart[node];
+        }
+        reverseEdge = new int[m];
+        reverseSource = new int[m];
+        int[] fill = Arrays.copyOf(reverseStart, n);
+        double fastest = 0;
+        for (int node = 0; node < n; node++) {
+            for (int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++) {
+                int slot = fill[edgeTarget[edge]]++;
+                reverseEdge[slot] = edge;
+                reverseSource[slot] = node;
+                if (edgeTenths[edge] > 0) {
+                    fastest = Math.max(fastest, edgeMeters[edge] / (edgeTenths[edge] / 10.0) * 3.6);
+                }
+            }
+        }
+        maxSpeedKmph = fastest;
+
+        // Grid: nodes sorted by cell, cells found by binary search
+        long[] nodeCells = new long[n];
+        Integer[] order = new Integer[n];
+        for (int node = 0; node < n; node++) {
+            nodeCells[node] = cellKey(cellIndex(lat(node)), cellIndex(lng(node)));
+            order[node] = node;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(nodeCells[a], nodeCells[b]));
+        cellNodes = new int[n];
+        long[] keys = new long[n];
+        int[] starts = new int[n + 1];
+        int cells = 0;
+        for (int i = 0; i < n; i++) {
+            int node = order[i];
+            cellNodes[i] = node;
+            if (cells == 0 || keys[cells - 1] != nodeCells[node]) {
+                keys[cells] = nodeCells[node];
+                starts[cells] = i;
+                cells++;
+            }
+        }
+        starts[cells] = n;
+        cellKeys = Arrays.copyOf(keys, cells);
+        cellStart = Arrays.copyOf(starts, cells + 1);
+
+        this.maxConcurrentSearches = Math.max(1, maxConcurrentSearches);
+        idleSearchSpaces = new ArrayBlockingQueue<>(this.maxConcurrentSearches);
+    }
+
+    public static RoadGraph read(Path file, int maxConcurrentSearches) throws IOException {
+        InputStream raw = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            raw = new GZIPInputStream(raw, 64 * 1024);
+        }
+        try (DataInputStream in = new DataInputStream(raw)) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a road graph file: " + file);
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported road graph format version " + version + ": " + file);
+            }
+            int n = in.readInt();
+            int m = in.readInt();
+            int[] latE6 = readInts(in, n);
+            int[] lngE6 = readInts(in, n);
+            int[] edgeStart = readInts(in, n + 1);
+            int[] edgeTarget = readInts(in, m);
+            int[] edgeMeters = readInts(in, m);
+            int[] edgeTenths = readInts(in, m);
+
+            if (edgeStart[n] != m) {
+                throw new IOException("Corrupt road graph edge offsets: " + file);
+            }
+            for (int node = 0; node < n; node++) {
+                if (edgeStart[node] > edgeStart[node + 1]) {
+                    throw new IOException("Corrupt road graph edge offsets: " + file);
+                }
+            }
+            for (int target : edgeTarget) {
+                if (target < 0 || target >= n) {
+                    throw new IOException("Corrupt road graph edge target: " + file);
+                }
+            }
+            return new RoadGraph(latE6, lngE6, edgeStart, edgeTarget, edgeMeters, edgeTenths, maxConcurrentSearches);
+        }
+    }
+
+    public int size() {
+        return latE6.length;
+    }
+
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    public double lat(int node) {
+        return latE6[node] / 1e6;
+    }
+
+    public double lng(int node) {
+        return lngE6[node] / 1e6;
+    }
+
+    /**
+     * Fastest edge speed (km/h)
+     */
+    public double getMaxSpeedKmph() {
+        return maxSpeedKmph;
+    }
+
+    /**
+     * Nearest node within maxKm of the point
+     * @return Node, -1 if none
+     */
+    public int nearestNode(double lat, double lng, double maxKm) {
+        int row = cellIndex(lat);
+        int col = cellIndex(lng);
+        int rowSpan = (int) Math.ceil(maxKm / (KM_PER_DEGREE_LAT * CELL_DEGREES));
+        double kmPerDegreeLng = KM_PER_DEGREE_LAT * Math.max(0.05, Math.cos(Math.toRadians(Math.min(89, Math.abs(lat)))));
+        int colSpan = (int) Math.ceil(maxKm / (kmPerDegreeLng * CELL_DEGREES));
+
+        int nearest = -1;
+        double nearestKm = maxKm;
+        for (int r = row - rowSpan; r <= row + rowSpan; r++) {
+            for (int c = col - colSpan; c <= col + colSpan; c++) {
+                int cell = Arrays.binarySearch(cellKeys, cellKey(r, c));
+                if (cell < 0) {
+                    continue;
+                }
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int node = cellNodes[i];
+                    double km = greatCircleKm(lat, lng, lat(node), lng(node));
+                    if (km <= nearestKm) {
+                        nearest = node;
+                        nearestKm = km;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Fastest paths between one node and many, in a single Dijkstra search that stops once every
+     * target is settled. Paths longer than maxMeters are not followed.
+     *
+     * @param reverse    false: from source to each target; true: from each target to source
+     * @param targets    target nodes (-1 entries are skipped)
+     * @param outSeconds drive seconds per target index, NaN if not reached
+     * @param outMeters  length per target index, NaN if not reached
+     */
+    public void search(int source, boolean reverse, int[] targets, double maxMeters,
+                       float[] outSeconds, float[] outMeters) {
+        SearchSpace space = acquireSearchSpace();
+        try {
+            search(space, source, reverse, targets, maxMeters, outSeconds, outMeters);
+        } finally {
+            idleSearchSpaces.add(space);
+        }
+    }
+
+    private void search(SearchSpace space, int source, boolean reverse, int[] targets, double maxMeters,
+                        float[] outSeconds, float[] outMeters) {
+        int epoch = space.nextEpoch();
+
+        int remaining = 0;
+        for (int target : targets) {
+            if (target >= 0 && space.targetEpoch[target] != epoch) {
+                space.targetEpoch[target] = epoch;
+                remaining++;
+            }
+        }
+
+        int[] start = reverse ? reverseStart : edgeStart;
+        space.label(source, epoch, 0, 0);
+        space.push(source, 0);
+
+        while (remaining > 0 && space.heapSize > 0) {
+            float seconds = space.heapKey[0];
+            int node = space.pop();
+            if (space.settledEpoch[node] == epoch || seconds > space.seconds[node]) {
+                continue; // stale entry
+            }
+            space.settledEpoch[node] = epoch;
+            if (space.targetEpoch[node] == epoch) {
+                remaining--;
+            }
+
+            for (int i = start[node]; i < start[node + 1]; i++) {
+                int edge = reverse ? reverseEdge[i] : i;
+                int next = reverse ? reverseSource[i] : edgeTarget[edge];
+                float meters = space.meters[node] + edgeMeters[edge];
+                if (meters > maxMeters || space.settledEpoch[next] == epoch) {
+                    continue;
+                }
+                float nextSeconds = seconds + edgeTenths[edge] / 10f;
+                if (space.labelEpoch[next] != epoch || nextSeconds < space.seconds[next]) {
+                    space.label(next, epoch, nextSeconds, meters);
+                    space.push(next, nextSeconds);
+                }
+            }
+        }
+        space.heapSize = 0;
+
+        for (int i = 0; i < targets.length; i++) {
+            int target = targets[i];
+            boolean reached = target >= 0 && space.settledEpoch[target] == epoch;
+            outSeconds[i] = reached ? space.seconds[target] : Float.NaN;
+            outMeters[i] = reached ? space.meters[target] : Float.NaN;
+        }
+    }
+
+    /**
+     * An idle search space, a new one while fewer than maxConcurrentSearches exist, else the next returned
+     */
+    private SearchSpace acquireSearchSpace() {
+        SearchSpace space = idleSearchSpaces.poll();
+        if (space != null) {
+            return space;
+        }
+        if (createdSearchSpaces.getAndUpdate(count -> count < maxConcurrentSearches ? count + 1 : count)
+                < maxConcurrentSearches) {
+            return new SearchSpace(size());
+        }
+        try {
+            return idleSearchSpaces.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a road graph search space", e);
+        }
+    }
+
+    static double greatCircleKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static int[] readInts(DataInputStream in, int count) throws IOException {
+        if (count < 0) {
+            throw new IOException("Corrupt road graph header");
+        }
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Dijkstra labels of one search at a time, reset in O(1) between searches by bumping the epoch
+     */
+    private static final class SearchSpace {
+        final float[] seconds;
+        final float[] meters;
+        final int[] labelEpoch;
+        final int[] settledEpoch;
+        final int[] targetEpoch;
+        int epoch;
+
+        int[] heapNode = new int[1024];
+        float[] heapKey = new float[1024];
+        int heapSize;
+
+        SearchSpace(int n) {
+            seconds = new float[n];
+            meters = new float[n];
+            labelEpoch = new int[n];
+            settledEpoch = new int[n];
+            targetEpoch = new int[n];
+        }
+
+        int nextEpoch() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(labelEpoch, 0);
+                Arrays.fill(settledEpoch, 0);
+                Arrays.fill(targetEpoch, 0);
+                epoch = 1;
+            }
+            return epoch;
+        }
+
+        void label(int node, int epoch, float nodeSeconds, float nodeMeters) {
+            labelEpoch[node] = epoch;
+            seconds[node] = nodeSeconds;
+            meters[node] = nodeMeters;
+        }
+
+        void push(int node, float key) {
+            if (heapSize == heapNode.length) {
+                heapNode = Arrays.copyOf(heapNode, heapSize * 2);
+                heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+            }
+            int slot = heapSize++;
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (heapKey[parent] <= key) {
+                    break;
+                }
+                heapNode[slot] = heapNode[parent];
+                heapKey[slot] = heapKey[parent];
+                slot = parent;
+            }
+            heapNode[slot] = node;
+            heapKey[slot] = key;
+        }
+
+        int pop() {
+            int top = heapNode[0];
+            int lastNode = heapNode[--heapSize];
+            float lastKey = heapKey[heapSize];
+            int slot = 0;
+            while (true) {
+                int child = 2 * slot + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) {
+                    child++;
+                }
+                if (heapKey[child] >= lastKey) {
+                    break;
+                }
+                heapNode[slot] = heapNode[child];
+                heapKey[slot] = heapKey[child];
+                slot = child;
+            }
+            heapNode[slot] = lastNode;
+            heapKey[slot] = lastKey;
+            return top;
+        }
+    }
+}
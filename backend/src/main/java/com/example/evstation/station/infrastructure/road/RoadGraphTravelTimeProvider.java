@@ -0,0 +1,102 @@
+package com.example.evstation.station.infrastructure.road;
+
+import com.example.evstation.station.application.port.TravelLegs;
+import com.example.evstation.station.application.port.TravelTimeProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Routes legs over the {@link RoadGraph} in app.road-graph.path, loaded once at startup.
+ *
+ * Points are snapped to the nearest road node within max-snap-km; the straight line between a point
+ * and its node is driven at access-speed-kmph. Points without a node nearby, and targets not reached
+ * within the leg limit, are left unrouted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.travel-time.provider", havingValue = "road-graph")
+public class RoadGraphTravelTimeProvider implements TravelTimeProvider {
+
+    private final RoadGraph graph;
+    private final double maxSnapKm;
+    private final double accessSpeedKmph;
+
+    public RoadGraphTravelTimeProvider(@Value("${app.road-graph.path}") Path path,
+                                       @Value("${app.road-graph.max-snap-km:1.0}") double maxSnapKm,
+                                       @Value("${app.road-graph.access-speed-kmph:20.0}") double accessSpeedKmph,
+                                       @Value("${app.road-graph.max-concurrent-searches:4}") int maxConcurrentSearches) {
+        long started = System.nanoTime();
+        try {
+            this.graph = RoadGraph.read(path, maxConcurrentSearches);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load road graph " + path, e);
+        }
+        this.maxSnapKm = maxSnapKm;
+        this.accessSpeedKmph = accessSpeedKmph;
+        log.info("Road graph loaded: {} nodes, {} edges, {} ms", graph.size(), graph.edgeCount(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public boolean isRouting() {
+        return true;
+    }
+
+    @Override
+    public double maxSpeedKmph() {
+        return Math.max(graph.getMaxSpeedKmph(), accessSpeedKmph);
+    }
+
+    @Override
+    public TravelLegs fromOrigin(double originLat, double originLng, double[] targetLats, double[] targetLngs,
+                                 double maxKm) {
+        return route(originLat, originLng, targetLats, targetLngs, maxKm, false);
+    }
+
+    @Override
+    public TravelLegs toDestination(double[] sourceLats, double[] sourceLngs, double destLat, double destLng,
+                                    double maxKm) {
+        return route(destLat, destLng, sourceLats, sourceLngs, maxKm, true);
+    }
+
+    private TravelLegs route(double lat, double lng, double[] otherLats, double[] otherLngs, double maxKm,
+                             boolean reverse) {
+        int count = otherLats.length;
+        int node = graph.nearestNode(lat, lng, maxSnapKm);
+        if (node < 0) {
+            return TravelLegs.unrouted(count);
+        }
+        double accessKm = RoadGraph.greatCircleKm(lat, lng, graph.lat(node), graph.lng(node));
+
+        int[] otherNodes = new int[count];
+        for (int i = 0; i < count; i++) {
+            otherNodes[i] = graph.nearestNode(otherLats[i], otherLngs[i], maxSnapKm);
+        }
+
+        float[] seconds = new float[count];
+        float[] meters = new float[count];
+        graph.search(node, reverse, otherNodes, maxKm * 1000, seconds, meters);
+
+        float[] km = new float[count];
+        float[] minutes = new float[count];
+        for (int i = 0; i < count; i++) {
+            if (Float.isNaN(seconds[i])) {
+                km[i] = Float.NaN;
+                minutes[i] = Float.NaN;
+                continue;
+            }
+            int other = otherNodes[i];
+            double legAccessKm = accessKm
+                    + RoadGraph.greatCircleKm(otherLats[i], otherLngs[i], graph.lat(other), graph.lng(other));
+            km[i] = (float) (meters[i] / 1000.0 + legAccessKm);
+            minutes[i] = (float) (seconds[i] / 60.0 + legAccessKm / accessSpeedKmph * 60);
+        }
+        return new TravelLegs(km, minutes);
+    }
+}
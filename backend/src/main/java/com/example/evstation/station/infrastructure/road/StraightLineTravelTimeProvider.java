@@ -0,0 +1,36 @@
+package com.example.evstation.station.infrastructure.road;
+
+import com.example.evstation.station.application.port.TravelLegs;
+import com.example.evstation.station.application.port.TravelTimeProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leaves every leg unrouted: callers use great-circle distance at their average speed
+ */
+@Component
+@ConditionalOnProperty(name = "app.travel-time.provider", havingValue = "straight-line", matchIfMissing = true)
+public class StraightLineTravelTimeProvider implements TravelTimeProvider {
+
+    @Override
+    public boolean isRouting() {
+        return false;
+    }
+
+    @Override
+    public double maxSpeedKmph() {
+        return 0;
+    }
+
+    @Override
+    public TravelLegs fromOrigin(double originLat, double originLng, double[] targetLats, double[] targetLngs,
+                                 double maxKm) {
+        return TravelLegs.unrouted(targetLats.length);
+    }
+
+    @Override
+    public TravelLegs toDestination(double[] sourceLats, double[] sourceLngs, double destLat, double destLng,
+                                    double maxKm) {
+        return TravelLegs.unrouted(sourceLats.length);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.evstation.station.infrastructure.snapshot;
+
+import java.nio.file.Path;
+
+/**
+ * A snapshot file written by {@link StationSnapshotWriter}
+ * @param syncToken Last station_change_log seq included in the snapshot
+ * @param etag Quoted strong ETag (sync token + content hash)
+ */
+public record StationSnapshotFile(Path path, long syncToken, String etag, long sizeBytes, int stationCount) {
+}
@@ -0,0 +1,161 @@
+package com.example.evstation.station.infrastructure.snapshot;
+
+import com.example.evstation.api.ev_user_mobile.dto.PortInfoDTO;
+import com.example.evstation.station.domain.PowerType;
+import com.example.evstation.station.infrastructure.jpa.PortSummaryJson;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the gzip-compressed binary snapshot of all published stations.
+ *
+ * Layout (big-endian, column by column so similar values compress together):
+ * <pre>
+ * magic "EVSS" | int formatVersion (1) | long syncToken | int n
+ * n x (long mostSigBits, long leastSigBits)   station ids, ascending
+ * n x int   lat * 1e6
+ * n x int   lng * 1e6
+ * n x byte  trust score (0-100)
+ * n x short max DC kW * 10 (-1 if no DC ports)
+ * n x byte  port group count g
+ * sum(g) x (byte powerType 0=AC 1=DC, short powerKw * 10 (-1 if unknown), short count)
+ * n x UTF   name
+ * n x UTF   address
+ * </pre>
+ * syncToken is the last station_change_log seq included: clients continue with
+ * /api/ev/stations/changes?since=syncToken.
+ *
+ * The content only depends on the data, so every node produces the same bytes and ETag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StationSnapshotWriter {
+
+    static final int FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = "EVSS".getBytes(StandardCharsets.US_ASCII);
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    /**
+     * Write a new snapshot file into directory.
+     * Runs in one REPEATABLE READ transaction so the stations match the sync token exactly.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public StationSnapshotFile write(Path directory) throws IOException {
+        long syncToken = ((Number) entityManager
+                .createNativeQuery("SELECT COALESCE(MAX(seq), 0) FROM station_change_log")
+                .getSingleResult()).longValue();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+            SELECT
+                ps.station_id,
+                ST_Y(CAST(ps.location AS geometry)) as lat,
+                ST_X(CAST(ps.location AS geometry)) as lng,
+                ps.trust_score,
+                ps.max_dc_kw,
+                CAST(ps.ports AS TEXT) as ports,
+                ps.name,
+                ps.address
+            FROM published_station ps
+            ORDER BY ps.station_id
+            """).getResultList();
+
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, "stations-", ".tmp");
+        MessageDigest digest = sha256();
+
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(
+                new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)), digest), 64 * 1024))) {
+            writeStations(out, syncToken, rows);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        Path file = directory.resolve("stations-" + syncToken + "-" + hash + ".bin.gz");
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return new StationSnapshotFile(file, syncToken, "\"" + syncToken + "-" + hash + "\"",
+                Files.size(file), rows.size());
+    }
+
+    private static void writeStations(DataOutputStream out, long syncToken, List<Object[]> rows) throws IOException {
+        out.write(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(syncToken);
+        out.writeInt(rows.size());
+
+        for (Object[] row : rows) {
+            UUID stationId = (UUID) row[0];
+            out.writeLong(stationId.getMostSignificantBits());
+            out.writeLong(stationId.getLeastSignificantBits());
+        }
+        for (Object[] row : rows) {
+            out.writeInt((int) Math.round(((Number) row[1]).doubleValue() * 1e6));
+        }
+        for (Object[] row : rows) {
+            out.writeInt((int) Math.round(((Number) row[2]).doubleValue() * 1e6));
+        }
+        for (Object[] row : rows) {
+            out.writeByte(((Number) row[3]).intValue());
+        }
+        for (Object[] row : rows) {
+            out.writeShort(tenthsOfKw((BigDecimal) row[4]));
+        }
+
+        // Parse each station's ports once; counts first, then the groups
+        List<List<PortInfoDTO>> ports = rows.stream().map(row -> PortSummaryJson.parse((String) row[5])).toList();
+        for (List<PortInfoDTO> stationPorts : ports) {
+            out.writeByte(stationPorts.size());
+        }
+        for (List<PortInfoDTO> stationPorts : ports) {
+            for (PortInfoDTO port : stationPorts) {
+                out.writeByte(PowerType.DC.name().equals(port.getPowerType()) ? 1 : 0);
+                out.writeShort(tenthsOfKw(port.getPowerKw()));
+                out.writeShort(port.getCount());
+            }
+        }
+
+        for (Object[] row : rows) {
+            out.writeUTF((String) row[6]);
+        }
+        for (Object[] row : rows) {
+            out.writeUTF((String) row[7]);
+        }
+    }
+
+    private static int tenthsOfKw(BigDecimal powerKw) {
+        return powerKw != null ? powerKw.movePointRight(1).intValue() : -1;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
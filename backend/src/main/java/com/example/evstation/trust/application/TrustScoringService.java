@@ -1,5 +1,6 @@
 package com.example.evstation.trust.application;
 
+import com.example.evstation.station.application.event.StationChangedEvent;
 import com.example.evstation.station.domain.ChangeRequestStatus;
 import com.example.evstation.station.infrastructure.jpa.ChangeRequestEntity;
 import com.example.evstation.station.infrastructure.jpa.ChangeRequestJpaRepository;
@@ -13,6 +14,7 @@ import com.example.evstation.verification.infrastructure.jpa.VerificationReviewE
 import com.example.evstation.verification.infrastructure.jpa.VerificationReviewJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -53,6 +55,7 @@ public class TrustScoringService {
     private final ChangeRequestJpaRepository changeRequestRepository;
     private final VerificationReviewJpaRepository verificationReviewRepository;
     private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Recalculate trust score for a station.
@@ -66,6 +69,21 @@ public class TrustScoringService {
      */
     @Transactional
     public int recalculate(UUID stationId) {
+        int score = recalculateWithoutNotification(stationId);
+        eventPublisher.publishEvent(new StationChangedEvent(stationId, StationChangedEvent.ChangeType.TRUST_UPDATED));
+        return score;
+    }
+
+    /**
+     * Recalculate trust score without publishing TRUST_UPDATED.
+     * For callers that publish their own StationChangedEvent for the station in the same transaction
+     * (e.g. publishing a version), so read models are refreshed once.
+     *
+     * @param stationId The station ID to recalculate
+     * @return The updated trust score
+     */
+    @Transactional
+    public int recalculateWithoutNotification(UUID stationId) {
         log.info("Recalculating trust score for station: {}", stationId);
         
         Instant now = Instant.now(clock);
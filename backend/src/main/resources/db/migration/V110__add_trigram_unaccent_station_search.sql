@@ -0,0 +1,16 @@
+-- Accent-insensitive, index-backed station name/address search
+-- Lets "Long Bien" match "Long Biên" and keeps '%q%' searches off sequential scans.
+-- The trigram indexes themselves are on published_station (V111), which search reads.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE (depends on search_path), so it cannot be used in an index.
+-- Wrap it with an explicit dictionary so the expression is IMMUTABLE.
+CREATE OR REPLACE FUNCTION immutable_unaccent(text)
+RETURNS text AS $$
+    SELECT public.unaccent('public.unaccent'::regdictionary, $1)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+-- Comments
+COMMENT ON FUNCTION immutable_unaccent(text) IS 'IMMUTABLE wrapper of unaccent() for expression indexes';
@@ -0,0 +1,99 @@
+-- Denormalized projection of PUBLISHED stations for user-facing reads
+-- One row per station: location, port summary, max DC kW, AC flag and trust score,
+-- so radius/name/detail queries are single-table index scans instead of
+-- station_version -> station_service -> charging_port (+ station_trust) joins.
+-- Maintained by refresh_published_station(), called by the application on publish,
+-- delete and trust recalculation (same transaction).
+
+CREATE TABLE published_station (
+    station_id UUID PRIMARY KEY REFERENCES station(id) ON DELETE CASCADE,
+    station_version_id UUID NOT NULL REFERENCES station_version(id) ON DELETE CASCADE,
+    name TEXT NOT NULL,
+    address TEXT NOT NULL,
+    location geography(Point,4326) NOT NULL,
+    operating_hours TEXT,
+    parking parking_type NOT NULL,
+    visibility visibility_type NOT NULL,
+    public_status public_status_type NOT NULL,
+    published_at TIMESTAMP NOT NULL,
+    ports JSONB NOT NULL DEFAULT '[]'::jsonb,
+    total_ports INTEGER NOT NULL DEFAULT 0,
+    max_dc_kw NUMERIC,
+    has_ac BOOLEAN NOT NULL DEFAULT FALSE,
+    trust_score INTEGER NOT NULL DEFAULT 50,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Indexes
+CREATE INDEX idx_published_station_location_gist ON published_station USING GIST(location);
+CREATE INDEX idx_published_station_max_dc_kw ON published_station(max_dc_kw) WHERE max_dc_kw IS NOT NULL;
+CREATE INDEX idx_published_station_has_ac ON published_station(station_id) WHERE has_ac;
+CREATE INDEX idx_published_station_name_trgm
+    ON published_station USING GIN (LOWER(immutable_unaccent(name)) gin_trgm_ops);
+CREATE INDEX idx_published_station_address_trgm
+    ON published_station USING GIN (LOWER(immutable_unaccent(address)) gin_trgm_ops);
+
+-- Rebuild the projection row of one station from the source tables.
+-- Removes the row when the station has no PUBLISHED version. Returns number of rows written (0 or 1).
+CREATE OR REPLACE FUNCTION refresh_published_station(p_station_id UUID)
+RETURNS INTEGER AS $$
+DECLARE
+    written INTEGER;
+BEGIN
+    DELETE FROM published_station WHERE station_id = p_station_id;
+
+    INSERT INTO published_station (
+        station_id, station_version_id, name, address, location, operating_hours,
+        parking, visibility, public_status, published_at,
+        ports, total_ports, max_dc_kw, has_ac, trust_score, updated_at
+    )
+    SELECT
+        sv.station_id,
+        sv.id,
+        sv.name,
+        sv.address,
+        sv.location,
+        sv.operating_hours,
+        sv.parking,
+        sv.visibility,
+        sv.public_status,
+        sv.published_at,
+        COALESCE(p.ports, '[]'::jsonb),
+        COALESCE(p.total_ports, 0),
+        p.max_dc_kw,
+        COALESCE(p.has_ac, FALSE),
+        COALESCE(st.score, 50),
+        NOW()
+    FROM station_version sv
+    LEFT JOIN LATERAL (
+        SELECT
+            jsonb_agg(
+                jsonb_build_object('powerType', cp.power_type, 'powerKw', cp.power_kw, 'count', cp.port_count)
+                ORDER BY cp.power_type, cp.power_kw DESC NULLS LAST
+            ) AS ports,
+            SUM(cp.port_count)::INTEGER AS total_ports,
+            MAX(cp.power_kw) FILTER (WHERE cp.power_type = 'DC') AS max_dc_kw,
+            BOOL_OR(cp.power_type = 'AC') AS has_ac
+        FROM station_service ss
+        JOIN charging_port cp ON ss.id = cp.station_service_id
+        WHERE ss.station_version_id = sv.id
+    ) p ON TRUE
+    LEFT JOIN station_trust st ON st.station_id = sv.station_id
+    WHERE sv.station_id = p_station_id
+    AND sv.workflow_status = 'PUBLISHED';
+
+    GET DIAGNOSTICS written = ROW_COUNT;
+    RETURN written;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Backfill from currently published versions
+SELECT refresh_published_station(sv.station_id)
+FROM station_version sv
+WHERE sv.workflow_status = 'PUBLISHED';
+
+-- Comments
+COMMENT ON TABLE published_station IS 'Read-only projection of PUBLISHED stations (ports + trust inline), maintained by refresh_published_station()';
+COMMENT ON COLUMN published_station.ports IS 'JSON array: [{powerType, powerKw, count}] ordered by power_type, power_kw DESC';
+COMMENT ON COLUMN published_station.max_dc_kw IS 'Max DC power_kw across ports, NULL if no DC ports';
+COMMENT ON FUNCTION refresh_published_station(UUID) IS 'Rebuild published_station row of one station from station_version/charging_port/station_trust';
@@ -0,0 +1,27 @@
+-- Append-only log of published station changes for mobile delta sync
+-- seq is the sync token: clients ask for everything with seq > last token they applied.
+-- Writers take a transaction-level advisory lock before appending, so seq order equals
+-- commit order and a reader never skips a row that commits later with a smaller seq.
+
+CREATE TABLE station_change_log (
+    seq BIGSERIAL PRIMARY KEY,
+    station_id UUID NOT NULL, -- no FK: entries of deleted stations must survive the delete
+    change_type VARCHAR(20) NOT NULL CHECK (change_type IN ('PUBLISHED', 'DELETED', 'TRUST_UPDATED')),
+    station_version_id UUID, -- published version after the change, NULL if none
+    changed_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Indexes
+CREATE INDEX idx_station_change_log_station_seq ON station_change_log(station_id, seq DESC);
+
+-- Seed with the current catalog so since=0 returns every published station
+INSERT INTO station_change_log (station_id, change_type, station_version_id, changed_at)
+SELECT sv.station_id, 'PUBLISHED', sv.id, COALESCE(sv.published_at, NOW())
+FROM station_version sv
+WHERE sv.workflow_status = 'PUBLISHED'
+ORDER BY sv.published_at, sv.station_id;
+
+-- Comments
+COMMENT ON TABLE station_change_log IS 'Append-only feed of station publish/delete/trust changes (delta sync). Superseded entries are compacted';
+COMMENT ON COLUMN station_change_log.seq IS 'Monotonic sync token, in commit order';
+COMMENT ON COLUMN station_change_log.station_version_id IS 'PUBLISHED version after the change (the previous one is archived), NULL if the station is no longer published';
@@ -0,0 +1,40 @@
+-- Catalog of vehicle models with their DC charge curves, used by the recommendation estimate
+-- charge_curve: JSON array [{soc, kw}] ordered by soc (0..100), max DC power the battery accepts at that SoC.
+-- Power between points is interpolated linearly. AC charging is limited by max_ac_kw (on-board charger).
+
+CREATE TABLE vehicle_profile (
+    id VARCHAR(64) PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    battery_capacity_kwh NUMERIC NOT NULL CHECK (battery_capacity_kwh > 0),
+    max_ac_kw NUMERIC NOT NULL CHECK (max_ac_kw > 0),
+    max_dc_kw NUMERIC NOT NULL CHECK (max_dc_kw > 0),
+    charge_curve JSONB NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Seed: typical published curves of models common in Vietnam (approximate)
+INSERT INTO vehicle_profile (id, name, battery_capacity_kwh, max_ac_kw, max_dc_kw, charge_curve) VALUES
+('vinfast-vf3', 'VinFast VF 3', 18.64, 6.6, 30,
+ '[{"soc":0,"kw":28},{"soc":20,"kw":30},{"soc":60,"kw":30},{"soc":80,"kw":20},{"soc":90,"kw":10},{"soc":100,"kw":4}]'),
+('vinfast-vf5', 'VinFast VF 5 Plus', 37.23, 7.4, 50,
+ '[{"soc":0,"kw":40},{"soc":10,"kw":50},{"soc":50,"kw":48},{"soc":70,"kw":38},{"soc":80,"kw":28},{"soc":90,"kw":14},{"soc":100,"kw":5}]'),
+('vinfast-vfe34', 'VinFast VF e34', 41.9, 7.4, 60,
+ '[{"soc":0,"kw":45},{"soc":10,"kw":60},{"soc":50,"kw":55},{"soc":70,"kw":42},{"soc":80,"kw":30},{"soc":90,"kw":15},{"soc":100,"kw":5}]'),
+('vinfast-vf6', 'VinFast VF 6', 59.6, 7.4, 100,
+ '[{"soc":0,"kw":70},{"soc":10,"kw":100},{"soc":40,"kw":95},{"soc":60,"kw":75},{"soc":80,"kw":45},{"soc":90,"kw":22},{"soc":100,"kw":7}]'),
+('vinfast-vf8', 'VinFast VF 8 Plus', 87.7, 11, 150,
+ '[{"soc":0,"kw":110},{"soc":10,"kw":150},{"soc":40,"kw":140},{"soc":60,"kw":110},{"soc":80,"kw":65},{"soc":90,"kw":30},{"soc":100,"kw":10}]'),
+('vinfast-vf9', 'VinFast VF 9 Plus', 123, 11, 150,
+ '[{"soc":0,"kw":110},{"soc":10,"kw":150},{"soc":50,"kw":145},{"soc":70,"kw":110},{"soc":80,"kw":70},{"soc":90,"kw":35},{"soc":100,"kw":10}]'),
+('hyundai-ioniq5-lr', 'Hyundai Ioniq 5 Long Range', 77.4, 11, 220,
+ '[{"soc":0,"kw":180},{"soc":10,"kw":220},{"soc":50,"kw":215},{"soc":75,"kw":150},{"soc":80,"kw":100},{"soc":90,"kw":45},{"soc":100,"kw":10}]'),
+('tesla-model3-lr', 'Tesla Model 3 Long Range', 78.1, 11, 250,
+ '[{"soc":0,"kw":240},{"soc":10,"kw":250},{"soc":30,"kw":200},{"soc":50,"kw":140},{"soc":70,"kw":90},{"soc":80,"kw":65},{"soc":90,"kw":35},{"soc":100,"kw":10}]'),
+('byd-atto3', 'BYD Atto 3', 60.48, 7, 88,
+ '[{"soc":0,"kw":70},{"soc":10,"kw":88},{"soc":50,"kw":85},{"soc":70,"kw":70},{"soc":80,"kw":50},{"soc":90,"kw":25},{"soc":100,"kw":7}]');
+
+-- Comments
+COMMENT ON TABLE vehicle_profile IS 'Vehicle models with charge curves for charge-time estimates (recommendations)';
+COMMENT ON COLUMN vehicle_profile.charge_curve IS 'JSON array [{soc, kw}] ordered by soc: DC power accepted by the battery at that state of charge';
+COMMENT ON COLUMN vehicle_profile.max_ac_kw IS 'On-board charger limit for AC ports';
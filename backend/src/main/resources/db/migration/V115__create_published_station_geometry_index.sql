@@ -0,0 +1,4 @@
+-- Vector tiles select stations by a lon/lat box in geometry (a Web Mercator tile is a rectangle in
+-- 4326 but not on the sphere), so they need a GiST index on the geometry cast of the location
+CREATE INDEX idx_published_station_location_geom_gist
+    ON published_station USING GIST ((CAST(location AS geometry)));
@@ -0,0 +1,96 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.booking.domain.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.example.evstation.booking.application.UnitOccupancyFixtures.booking;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NextFreeSlotServiceTest {
+
+    private static final Instant FROM = Instant.parse("2026-05-01T09:00:00Z");
+    private static final Instant NOW = FROM.minusSeconds(3600);
+    private static final long MINUTE = 60_000L;
+    private static final long STEP = 15 * MINUTE;
+    private static final long DURATION = 30 * MINUTE;
+    private static final long HORIZON = 24 * 60 * MINUTE;
+    private static final Instant HOLD_EXPIRES_AT = NOW.plusSeconds(600);
+
+    private static long earliestStart(List<UnitOccupancy> bookings, long latestStartMinutes) {
+        long from = FROM.toEpochMilli();
+        return NextFreeSlotService.earliestStart(bookings, from, from + latestStartMinutes * MINUTE, DURATION,
+                ZoneOffset.UTC, STEP, NOW);
+    }
+
+    private static long minutesAfterFrom(long start) {
+        return (start - FROM.toEpochMilli()) / MINUTE;
+    }
+
+    @Test
+    void freeUnitStartsAtFrom() {
+        assertEquals(0, minutesAfterFrom(earliestStart(List.of(), HORIZON / MINUTE)));
+    }
+
+    @Test
+    void gapBeforeFirstBookingIsUsedWhenDurationFits() {
+        long start = earliestStart(List.of(booking(FROM, 30, 90, BookingStatus.CONFIRMED, null)), HORIZON / MINUTE);
+
+        assertEquals(0, minutesAfterFrom(start));
+    }
+
+    @Test
+    void startsAtNextStepAfterBlockingBooking() {
+        long start = earliestStart(List.of(booking(FROM, 10, 40, BookingStatus.CONFIRMED, null)), HORIZON / MINUTE);
+
+        assertEquals(45, minutesAfterFrom(start));
+    }
+
+    @Test
+    void skipsGapsShorterThanDuration() {
+        long start = earliestStart(List.of(
+                booking(FROM, 0, 20, BookingStatus.CONFIRMED, null),
+                booking(FROM, 40, 60, BookingStatus.HOLD, HOLD_EXPIRES_AT),
+                booking(FROM, 90, 120, BookingStatus.CONFIRMED, null)), HORIZON / MINUTE);
+
+        assertEquals(60, minutesAfterFrom(start));
+    }
+
+    @Test
+    void ignoresBookingsThatDoNotBlock() {
+        UnitOccupancy expiredHold = booking(FROM, 0, 60, BookingStatus.HOLD, NOW.minusSeconds(1));
+
+        long start = earliestStart(List.of(expiredHold, booking(FROM, 0, 60, BookingStatus.CANCELLED, null)),
+                HORIZON / MINUTE);
+
+        assertEquals(0, minutesAfterFrom(start));
+    }
+
+    @Test
+    void returnsMinusOneWhenNoStartBeforeLatestStart() {
+        assertEquals(-1, earliestStart(List.of(booking(FROM, 0, 120, BookingStatus.CONFIRMED, null)), 60));
+    }
+
+    @Test
+    void acceptsStartExactlyAtLatestStart() {
+        long start = earliestStart(List.of(booking(FROM, 0, 60, BookingStatus.CONFIRMED, null)), 60);
+
+        assertEquals(60, minutesAfterFrom(start));
+    }
+
+    @Test
+    void alignsToStepsCountedFromLocalMidnight() {
+        // Kolkata is UTC+5:30: 09:00Z is 14:30 local, so hourly steps fall on :30 in UTC
+        long from = FROM.toEpochMilli();
+        UnitOccupancy booking = booking(FROM, 0, 10, BookingStatus.CONFIRMED, null);
+
+        long start = NextFreeSlotService.earliestStart(List.of(booking), from, from + HORIZON, DURATION,
+                ZoneId.of("Asia/Kolkata"), 60 * MINUTE, NOW);
+
+        assertEquals(30, minutesAfterFrom(start));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.api.ev_user_mobile.dto.AvailabilitySlotDTO;
+import com.example.evstation.booking.domain.BookingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.evstation.booking.application.UnitOccupancyFixtures.booking;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotGridTest {
+
+    private static final Instant DAY = Instant.parse("2026-05-01T00:00:00Z");
+    private static final Instant NOW = DAY.minusSeconds(3600);
+
+    /**
+     * 8 slots of 30 minutes from 08:00
+     */
+    private static SlotGrid grid() {
+        List<Instant> starts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            starts.add(at(8 * 60 + i * 30));
+        }
+        return new SlotGrid(starts, 30);
+    }
+
+    private static Instant at(int minuteOfDay) {
+        return DAY.plusSeconds(minuteOfDay * 60L);
+    }
+
+    private static List<String> statuses(SlotGrid grid, SlotGrid.UnitSlots slots) {
+        List<String> statuses = new ArrayList<>();
+        for (int i = 0; i < grid.size(); i++) {
+            statuses.add(slots.status(i));
+        }
+        return statuses;
+    }
+
+    @Test
+    void marksEverySlotABookingOverlaps() {
+        SlotGrid grid = grid();
+        // 08:45-09:45 overlaps the 08:30, 09:00 and 09:30 slots
+        SlotGrid.UnitSlots slots = grid.sweep(List.of(booking(DAY, 525, 585, BookingStatus.CONFIRMED, null)), NOW);
+
+        assertEquals(List.of("AVAILABLE", "BOOKED", "BOOKED", "BOOKED", "AVAILABLE", "AVAILABLE", "AVAILABLE",
+                "AVAILABLE"), statuses(grid, slots));
+    }
+
+    @Test
+    void bookingEndingOnSlotBoundaryLeavesNextSlotFree() {
+        SlotGrid grid = grid();
+        SlotGrid.UnitSlots slots = grid.sweep(List.of(booking(DAY, 480, 540, BookingStatus.CONFIRMED, null)), NOW);
+
+        assertEquals("BOOKED", slots.status(1));
+        assertEquals("AVAILABLE", slots.status(2));
+    }
+
+    @Test
+    void unexpiredHoldIsHeldAndBookedWinsOverlap() {
+        SlotGrid grid = grid();
+        SlotGrid.UnitSlots slots = grid.sweep(List.of(
+                booking(DAY, 480, 570, BookingStatus.HOLD, NOW.plusSeconds(600)),
+                booking(DAY, 540, 600, BookingStatus.CONFIRMED, null)), NOW);
+
+        assertEquals(List.of("HELD", "HELD", "BOOKED", "BOOKED", "AVAILABLE", "AVAILABLE", "AVAILABLE",
+                "AVAILABLE"), statuses(grid, slots));
+    }
+
+    @Test
+    void expiredHoldsAndCancelledBookingsDoNotBlock() {
+        SlotGrid grid = grid();
+        SlotGrid.UnitSlots slots = grid.sweep(List.of(
+                booking(DAY, 480, 540, BookingStatus.HOLD, NOW.minusSeconds(1)),
+                booking(DAY, 540, 600, BookingStatus.CANCELLED, null),
+                booking(DAY, 600, 660, BookingStatus.EXPIRED, null)), NOW);
+
+        for (int i = 0; i < grid.size(); i++) {
+            assertEquals("AVAILABLE", slots.status(i));
+        }
+    }
+
+    @Test
+    void skipsBookingsOutsideTheGrid() {
+        SlotGrid grid = grid();
+        SlotGrid.UnitSlots slots = grid.sweep(List.of(
+                booking(DAY, 360, 420, BookingStatus.CONFIRMED, null),
+                booking(DAY, 700, 750, BookingStatus.CONFIRMED, null),
+                booking(DAY, 900, 960, BookingStatus.CONFIRMED, null)), NOW);
+
+        assertEquals(List.of("AVAILABLE", "AVAILABLE", "AVAILABLE", "AVAILABLE", "AVAILABLE", "AVAILABLE",
+                "AVAILABLE", "BOOKED"), statuses(grid, slots));
+    }
+
+    @Test
+    void lastSlotEndsAfterSlotDuration() {
+        SlotGrid grid = grid();
+        List<AvailabilitySlotDTO> slots = grid.toSlots(grid.sweep(List.of(), NOW));
+
+        assertEquals(8, slots.size());
+        assertEquals(at(480), slots.get(0).getStartTime());
+        assertEquals(at(510), slots.get(0).getEndTime());
+        assertEquals(at(720), slots.get(7).getEndTime());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.evstation.booking.application;
+
+import com.example.evstation.booking.domain.BookingStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Bookings of one charger unit for the availability and next-free-slot tests
+ */
+final class UnitOccupancyFixtures {
+
+    static final UUID UNIT = UUID.randomUUID();
+
+    private UnitOccupancyFixtures() {
+    }
+
+    /**
+     * Booking of {@link #UNIT} over [origin + startMinutes, origin + endMinutes)
+     */
+    static UnitOccupancy booking(Instant origin, long startMinutes, long endMinutes, BookingStatus status,
+                                 Instant holdExpiresAt) {
+        return new UnitOccupancy(UUID.randomUUID(), UNIT, origin.plusSeconds(startMinutes * 60),
+                origin.plusSeconds(endMinutes * 60), status, holdExpiresAt);
+    }
+}
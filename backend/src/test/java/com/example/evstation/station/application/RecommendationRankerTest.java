@@ -0,0 +1,63 @@
+package com.example.evstation.station.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationRankerTest {
+
+    @Test
+    void keepsBestCandidatesBestFirst() {
+        RecommendationRanker<String> ranker = new RecommendationRanker<>(3);
+        ranker.offer(40, 10, 30, 50, "d");
+        ranker.offer(20, 10, 10, 50, "b");
+        ranker.offer(50, 20, 30, 50, "e");
+        ranker.offer(10, 5, 5, 50, "a");
+        ranker.offer(30, 10, 20, 50, "c");
+
+        assertEquals(List.of("a", "b", "c"), ranker.drainBestFirst());
+    }
+
+    @Test
+    void rejectsCandidateWorseThanFullTopK() {
+        RecommendationRanker<String> ranker = new RecommendationRanker<>(2);
+        assertTrue(ranker.offer(10, 5, 5, 50, "a"));
+        assertTrue(ranker.offer(20, 10, 10, 50, "b"));
+
+        assertFalse(ranker.offer(30, 10, 20, 50, "c"));
+        assertTrue(ranker.offer(15, 5, 10, 50, "d"));
+        assertEquals(List.of("a", "d"), ranker.drainBestFirst());
+    }
+
+    @Test
+    void breaksTiesByTravelThenChargeThenTrustThenArrival() {
+        RecommendationRanker<String> ranker = new RecommendationRanker<>(5);
+        ranker.offer(30, 10, 20, 50, "first-arrival");
+        ranker.offer(30, 10, 20, 90, "higher-trust");
+        ranker.offer(30, 10, 20, 50, "second-arrival");
+        ranker.offer(30, 20, 10, 50, "longer-travel");
+        ranker.offer(30, 5, 25, 50, "shorter-travel");
+
+        assertEquals(List.of("shorter-travel", "higher-trust", "first-arrival", "second-arrival", "longer-travel"),
+                ranker.drainBestFirst());
+    }
+
+    @Test
+    void drainEmptiesRanker() {
+        RecommendationRanker<String> ranker = new RecommendationRanker<>(2);
+        ranker.offer(10, 5, 5, 50, "a");
+
+        assertEquals(List.of("a"), ranker.drainBestFirst());
+        assertEquals(List.of(), ranker.drainBestFirst());
+    }
+
+    @Test
+    void zeroCapacityKeepsNothing() {
+        RecommendationRanker<String> ranker = new RecommendationRanker<>(0);
+
+        assertFalse(ranker.offer(10, 5, 5, 50, "a"));
+        assertEquals(List.of(), ranker.drainBestFirst());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.evstation.station.infrastructure.road;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoadGraphTest {
+
+    /**
+     * 0 -> 1 -> 2 and a slower direct edge 0 -> 2; node 3 is unreachable
+     */
+    private static RoadGraph lineGraph(Path dir, int maxConcurrentSearches) throws IOException {
+        Path file = dir.resolve("graph.bin");
+        int[] latE6 = {10_000_000, 10_010_000, 10_020_000, 11_000_000};
+        int[] lngE6 = {106_000_000, 106_000_000, 106_000_000, 106_000_000};
+        int[] edgeStart = {0, 2, 3, 3, 3};
+        int[] edgeTarget = {1, 2, 2};
+        int[] edgeMeters = {1000, 2500, 1000};
+        int[] edgeTenths = {600, 3000, 600};
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.write("EVRG".getBytes(StandardCharsets.US_ASCII));
+            out.writeInt(RoadGraph.FORMAT_VERSION);
+            out.writeInt(latE6.length);
+            out.writeInt(edgeTarget.length);
+            for (int[] values : List.of(latE6, lngE6, edgeStart, edgeTarget, edgeMeters, edgeTenths)) {
+                for (int value : values) {
+                    out.writeInt(value);
+                }
+            }
+        }
+        return RoadGraph.read(file, maxConcurrentSearches);
+    }
+
+    @Test
+    void findsFastestPathsFromSource(@TempDir Path dir) throws IOException {
+        RoadGraph graph = lineGraph(dir, 1);
+        float[] seconds = new float[3];
+        float[] meters = new float[3];
+
+        graph.search(0, false, new int[] {1, 2, 3}, 10_000, seconds, meters);
+
+        assertEquals(60f, seconds[0]);
+        assertEquals(120f, seconds[1]); // via node 1, not the slower direct edge
+        assertEquals(2000f, meters[1]);
+        assertTrue(Float.isNaN(seconds[2]));
+    }
+
+    @Test
+    void reverseSearchFollowsIncomingEdges(@TempDir Path dir) throws IOException {
+        RoadGraph graph = lineGraph(dir, 1);
+        float[] seconds = new float[2];
+        float[] meters = new float[2];
+
+        graph.search(2, true, new int[] {0, 1}, 10_000, seconds, meters);
+
+        assertEquals(120f, seconds[0]);
+        assertEquals(60f, seconds[1]);
+    }
+
+    @Test
+    void stopsFollowingPathsBeyondMaxMeters(@TempDir Path dir) throws IOException {
+        RoadGraph graph = lineGraph(dir, 1);
+        float[] seconds = new float[1];
+        float[] meters = new float[1];
+
+        graph.search(0, false, new int[] {2}, 1500, seconds, meters);
+
+        assertTrue(Float.isNaN(seconds[0]));
+    }
+
+    @Test
+    void concurrentSearchesShareBoundedSearchSpaces(@TempDir Path dir) throws Exception {
+        RoadGraph graph = lineGraph(dir, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Float>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> {
+                    float[] seconds = new float[1];
+                    graph.search(0, false, new int[] {2}, 10_000, seconds, new float[1]);
+                    return seconds[0];
+                }));
+            }
+            for (Future<Float> result : results) {
+                assertEquals(120f, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void snapsToNearestNodeWithinDistance(@TempDir Path dir) throws IOException {
+        RoadGraph graph = lineGraph(dir, 1);
+
+        assertEquals(1, graph.nearestNode(10.0101, 106.0, 1.0));
+        assertEquals(-1, graph.nearestNode(12.0, 106.0, 1.0));
+    }
+}